@@ -0,0 +1,73 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.benchmark;
+
+import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
+import dev.mmussatto.expensetracker.entities.tag.Tag;
+import dev.mmussatto.expensetracker.entities.transaction.RequestTransactionDTO;
+import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
+import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
+import dev.mmussatto.expensetracker.entities.vendor.physicalstore.PhysicalStore;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Entities and requests shaped like the ones the API handles, built without a database.
+ */
+final class BenchmarkData {
+
+    static final LocalDateTime DATE = LocalDateTime.of(2023, 4, 24, 8, 30, 0);
+
+    private BenchmarkData() {
+    }
+
+    static Transaction transaction(int id, int tagCount) {
+        Category category = new Category("Category " + id % 10, Color.BLUE);
+        category.setId(id % 10 + 1);
+
+        PaymentMethod paymentMethod = new PaymentMethod("Payment Method " + id % 5, PaymentType.CREDIT_CARD);
+        paymentMethod.setId(id % 5 + 1);
+
+        Transaction transaction = new Transaction(Money.ofMinor(1000 + id * 100L), DATE.plusMinutes(id), "Transaction " + id,
+                category, paymentMethod, vendor(id), tags(tagCount));
+        transaction.setId(id);
+
+        return transaction;
+    }
+
+    static Vendor vendor(int id) {
+        Vendor vendor = id % 2 == 0
+                ? new OnlineStore("Online Store " + id, "www.store" + id + ".com")
+                : new PhysicalStore("Physical Store " + id, id + " Main Street");
+        vendor.setId(id + 1);
+
+        return vendor;
+    }
+
+    static Set<Tag> tags(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    Tag tag = new Tag("Tag " + i, Color.values()[i % Color.values().length]);
+                    tag.setId(i + 1);
+                    return tag;
+                })
+                .collect(Collectors.toSet());
+    }
+
+    static RequestTransactionDTO request() {
+        return new RequestTransactionDTO(new BigDecimal("25.50"), DATE, "Request", 1, 1, 1, new HashSet<>(Arrays.asList(1, 2, 3)));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mmussatto.expensetracker.entities.helpers.PageDTO;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionDTO;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Writing a page of transactions as the response body of GET /api/transactions, with an ObjectMapper built
+ * the way Spring Boot builds it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PageDTO<TransactionDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        page = new PageDTO<>();
+        page.setContent(IntStream.range(0, pageSize)
+                .mapToObj(i -> {
+                    TransactionDTO transactionDTO = TransactionMapper.INSTANCE.convertToDTO(BenchmarkData.transaction(i, 2));
+                    transactionDTO.setPath("/api/transactions/" + i);
+                    return transactionDTO;
+                })
+                .collect(Collectors.toList()));
+        page.setPageNo(1);
+        page.setPageSize(pageSize);
+        page.setTotalElements(pageSize * 10L);
+        page.setTotalPages(10);
+        page.setNextPage("/api/transactions?page=2&size=" + pageSize);
+        page.setPreviousPage("/api/transactions?page=0&size=" + pageSize);
+    }
+
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.benchmark;
+
+import dev.mmussatto.expensetracker.ExpenseTrackerApplication;
+import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.category.CategoryRepository;
+import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethodRepository;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
+import dev.mmussatto.expensetracker.entities.tag.Tag;
+import dev.mmussatto.expensetracker.entities.tag.TagRepository;
+import dev.mmussatto.expensetracker.entities.transaction.RequestTransactionDTO;
+import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionMapper;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionReferenceResolver;
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
+import dev.mmussatto.expensetracker.entities.vendor.VendorRepository;
+import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Checking that the category, payment method, vendor and tags of a new transaction exist, against the embedded
+ * database with the application's schema. Compares the lookups with cold and warm reference caches, and the
+ * constraint-only validation that skips them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReferenceResolutionBenchmark {
+
+    @Param({"false", "true"})
+    private boolean constraintOnlyValidation;
+
+    @Param({"cold", "warm"})
+    private String cache;
+
+    private ConfigurableApplicationContext context;
+    private TransactionReferenceResolver referenceResolver;
+    private CacheManager cacheManager;
+    private TransactionTemplate transactionTemplate;
+    private RequestTransactionDTO request;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = new SpringApplicationBuilder(ExpenseTrackerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--expensetracker.transactions.constraint-only-validation=" + constraintOnlyValidation,
+                        "--spring.jmx.enabled=false",
+                        "--logging.level.root=WARN");
+
+        referenceResolver = context.getBean(TransactionReferenceResolver.class);
+        cacheManager = context.getBean(CacheManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        Category category = context.getBean(CategoryRepository.class).save(new Category("Benchmark", Color.BLUE));
+        PaymentMethod paymentMethod = context.getBean(PaymentMethodRepository.class)
+                .save(new PaymentMethod("Benchmark", PaymentType.CASH));
+        Vendor vendor = ((VendorRepository<Vendor>) context.getBean(VendorRepository.class))
+                .save(new OnlineStore("Benchmark", "www.benchmark.com"));
+        TagRepository tagRepository = context.getBean(TagRepository.class);
+        HashSet<Integer> tagIds = Arrays.asList(Color.RED, Color.GREEN, Color.BLUE).stream()
+                .map(color -> tagRepository.save(new Tag("Benchmark " + color, color)).getId())
+                .collect(Collectors.toCollection(HashSet::new));
+
+        request = new RequestTransactionDTO(new BigDecimal("25.50"), BenchmarkData.DATE, "Benchmark",
+                category.getId(), paymentMethod.getId(), vendor.getId(), tagIds);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+
+    @Benchmark
+    public Transaction resolve() {
+        if ("cold".equals(cache))
+            cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        //Resolving replaces the references, so every invocation starts from a fresh id-only transaction.
+        //Runs in a transaction like the service methods, the proxies of constraint-only validation need the session
+        return transactionTemplate.execute(status -> {
+            Transaction transaction = TransactionMapper.INSTANCE.convertRequestToEntity(request);
+            referenceResolver.resolve(transaction);
+            return transaction;
+        });
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.benchmark;
+
+import dev.mmussatto.expensetracker.entities.transaction.RequestTransactionDTO;
+import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionDTO;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping done for every transaction in a response, and the request mapping done on every write.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionMapperBenchmark {
+
+    @Param({"0", "3"})
+    private int tagCount;
+
+    private Transaction transaction;
+    private RequestTransactionDTO request;
+
+    @Setup
+    public void setUp() {
+        transaction = BenchmarkData.transaction(1, tagCount);
+        request = BenchmarkData.request();
+    }
+
+
+    @Benchmark
+    public TransactionDTO convertToDTO() {
+        return TransactionMapper.INSTANCE.convertToDTO(transaction);
+    }
+
+    @Benchmark
+    public Transaction convertRequestToEntity() {
+        return TransactionMapper.INSTANCE.convertRequestToEntity(request);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.benchmark;
+
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
+import dev.mmussatto.expensetracker.entities.vendor.VendorDTO;
+import dev.mmussatto.expensetracker.entities.vendor.VendorMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The instanceof dispatch of VendorMapper, on a single vendor type and on a mix of online and physical stores,
+ * where the type checks can't be predicted.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VendorMapperBenchmark {
+
+    private static final int VENDOR_COUNT = 64;
+
+    private Vendor onlineStore;
+    private Vendor[] vendors;
+    private VendorDTO[] vendorDTOs;
+
+    @Setup
+    public void setUp() {
+        onlineStore = BenchmarkData.vendor(0);
+
+        vendors = new Vendor[VENDOR_COUNT];
+        vendorDTOs = new VendorDTO[VENDOR_COUNT];
+        for (int i = 0; i < VENDOR_COUNT; i++) {
+            vendors[i] = BenchmarkData.vendor(i);
+            vendorDTOs[i] = VendorMapper.INSTANCE.convertToDTO(vendors[i]);
+        }
+    }
+
+
+    @Benchmark
+    public VendorDTO convertToDTO_OnlineStore() {
+        return VendorMapper.INSTANCE.convertToDTO(onlineStore);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VENDOR_COUNT)
+    public void convertToDTO_Mixed(Blackhole blackhole) {
+        for (Vendor vendor : vendors)
+            blackhole.consume(VendorMapper.INSTANCE.convertToDTO(vendor));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VENDOR_COUNT)
+    public void convertToEntity_Mixed(Blackhole blackhole) {
+        for (VendorDTO vendorDTO : vendorDTOs)
+            blackhole.consume(VendorMapper.INSTANCE.convertToEntity(vendorDTO));
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.DataLoader;
+
+import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.category.CategoryRepository;
+import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethodRepository;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
+import dev.mmussatto.expensetracker.entities.summary.SpendingRollup;
+import dev.mmussatto.expensetracker.entities.tag.Tag;
+import dev.mmussatto.expensetracker.entities.tag.TagRepository;
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
+import dev.mmussatto.expensetracker.entities.vendor.VendorRepository;
+import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
+import dev.mmussatto.expensetracker.entities.vendor.physicalstore.PhysicalStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.PostgresSequenceMaxValueIncrementer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Generates a realistic dataset of any size: references named after everyday spending, and transactions
+ * whose categories, payment methods, vendors and tags follow a Zipf distribution, so a few of each take most
+ * of the traffic. Amounts are log-normal around a typical price per category, purchases lean towards
+ * weekends and daytime, and most transactions carry zero to two tags.
+ * <p>
+ * Transactions are written with plain JDBC batches by several threads, each committing its own chunk. Every
+ * chunk draws from a random seeded by the generation seed and the chunk number, so the same settings always
+ * produce the same data no matter how the chunks are scheduled.
+ */
+@Slf4j
+@Component
+public class SampleDataGenerator {
+
+    //Must match the allocation size of the transaction id generator
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final double[] TAG_COUNT_WEIGHTS = {0.35, 0.35, 0.2, 0.1};
+
+    private static final String[] CATEGORY_NAMES = {"Food", "Groceries", "Recreation", "Games", "Transport",
+            "School", "Health", "Housing", "Utilities", "Clothing", "Travel", "Gifts"};
+    private static final String[] PAYMENT_METHOD_NAMES = {"Nubank", "DebNubank", "Peter Parker", "Wallet", "Visa"};
+    private static final String[] ONLINE_STORE_NAMES = {"IFood", "Steam", "PlaystationStore", "Amazon", "Netflix",
+            "Spotify", "Mercado Livre", "Uber"};
+    private static final String[] PHYSICAL_STORE_NAMES = {"McDonald's", "Cinemark", "Carrefour", "Drogasil",
+            "Shell", "Renner", "Starbucks", "Pão de Açúcar"};
+    private static final String[] STREETS = {"Av. Mogi Mirim", "Av. Big Bom", "Rua Augusta", "Av. Paulista"};
+    private static final String[] TAG_NAMES = {"Happy", "Movies", "Videogames", "Work", "Family", "Friends",
+            "Weekend", "Subscription", "Impulse", "Birthday", "Vacation", "Essential", "Delivery", "Night", "Gift"};
+
+    private static final String INSERT_TRANSACTION = "insert into transaction " +
+            "(id, amount, date, description, category_id, payment_method_id, vendor_id) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TRANSACTION_TAG = "insert into transaction_tags (transaction_id, tag_id) values (?, ?)";
+
+    private final CategoryRepository categoryRepository;
+    private final PaymentMethodRepository paymentMethodRepository;
+    private final VendorRepository<Vendor> vendorRepository;
+    private final TagRepository tagRepository;
+    private final SpendingRollup spendingRollup;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DataFieldMaxValueIncrementer transactionIds;
+
+    public SampleDataGenerator(CategoryRepository categoryRepository,
+                               PaymentMethodRepository paymentMethodRepository,
+                               VendorRepository<Vendor> vendorRepository,
+                               TagRepository tagRepository,
+                               SpendingRollup spendingRollup,
+                               DataSource dataSource,
+                               PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.paymentMethodRepository = paymentMethodRepository;
+        this.vendorRepository = vendorRepository;
+        this.tagRepository = tagRepository;
+        this.spendingRollup = spendingRollup;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionIds = transactionIdIncrementer(dataSource);
+    }
+
+
+    /**
+     * Adds the references and transactions described by the properties, and rebuilds the spending rollup.
+     * Reference names are fixed, so it's meant for a database without sample data yet.
+     *
+     * @return number of transactions written
+     */
+    public int generate(SampleDataProperties properties) {
+
+        long started = System.nanoTime();
+        Random random = new Random(properties.getSeed());
+
+        List<Category> categories = categoryRepository.saveAll(IntStream.range(0, properties.getCategories())
+                .mapToObj(i -> new Category(name(CATEGORY_NAMES, i), Color.values()[i % Color.values().length]))
+                .collect(Collectors.toList()));
+
+        List<PaymentMethod> paymentMethods = paymentMethodRepository.saveAll(IntStream.range(0, properties.getPaymentMethods())
+                .mapToObj(i -> new PaymentMethod(name(PAYMENT_METHOD_NAMES, i), PaymentType.values()[i % PaymentType.values().length]))
+                .collect(Collectors.toList()));
+
+        List<Vendor> vendors = vendorRepository.saveAll(IntStream.range(0, properties.getVendors())
+                .mapToObj(this::vendor)
+                .collect(Collectors.toList()));
+
+        List<Tag> tags = tagRepository.saveAll(IntStream.range(0, properties.getTags())
+                .mapToObj(i -> new Tag(name(TAG_NAMES, i), Color.values()[i % Color.values().length]))
+                .collect(Collectors.toList()));
+
+        //Typical price of each category, between 5 and 300
+        double[] medianAmounts = categories.stream()
+                .mapToDouble(category -> Math.exp(Math.log(5) + random.nextDouble() * (Math.log(300) - Math.log(5))))
+                .toArray();
+
+        Dataset dataset = new Dataset(properties, categories, paymentMethods, vendors, tags, medianAmounts);
+
+        writeTransactions(dataset);
+
+        //The rows were written around the incremental rollup updates
+        spendingRollup.rebuild();
+
+        log.info("Generated {} transactions in {} s", properties.getTransactions(),
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+
+        return properties.getTransactions();
+    }
+
+
+    // -------------- Transactions ----------------------------
+    private void writeTransactions(Dataset dataset) {
+
+        int total = dataset.properties.getTransactions();
+        int batchSize = dataset.properties.getBatchSize();
+        int chunks = (total + batchSize - 1) / batchSize;
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, dataset.properties.getThreads()));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int first = chunk * batchSize;
+                int count = Math.min(batchSize, total - first);
+                int chunkNumber = chunk;
+
+                futures.add(executor.submit(() -> writeChunk(dataset, chunkNumber, first, count)));
+            }
+
+            for (Future<?> future : futures)
+                future.get();
+
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sample data generation was interrupted", exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Sample data generation failed", exception.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void writeChunk(Dataset dataset, int chunkNumber, int first, int count) {
+
+        Random random = new Random(dataset.properties.getSeed() * 31 + chunkNumber);
+        int[] ids = reserveIds(count);
+
+        long[] amounts = new long[count];
+        Timestamp[] dates = new Timestamp[count];
+        String[] descriptions = new String[count];
+        int[] categoryIds = new int[count];
+        int[] paymentMethodIds = new int[count];
+        int[] vendorIds = new int[count];
+        List<int[]> transactionTags = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            int category = dataset.categoryDistribution.sample(random);
+            int vendor = dataset.vendorDistribution.sample(random);
+
+            //In cents, as stored
+            amounts[i] = Math.max(50, Math.round(dataset.medianAmounts[category] * Math.exp(0.75 * random.nextGaussian()) * 100));
+            dates[i] = Timestamp.valueOf(date(random, dataset.start, dataset.days));
+            descriptions[i] = dataset.categories.get(category).getName() + " at " + dataset.vendors.get(vendor).getName()
+                    + " #" + (first + i + 1);
+            categoryIds[i] = dataset.categories.get(category).getId();
+            paymentMethodIds[i] = dataset.paymentMethods.get(dataset.paymentMethodDistribution.sample(random)).getId();
+            vendorIds[i] = dataset.vendors.get(vendor).getId();
+
+            Set<Integer> tagIds = new HashSet<>();
+            int tagCount = Math.min(sample(random, TAG_COUNT_WEIGHTS), dataset.tags.size());
+            while (tagIds.size() < tagCount)
+                tagIds.add(dataset.tags.get(dataset.tagDistribution.sample(random)).getId());
+            for (Integer tagId : tagIds)
+                transactionTags.add(new int[]{ids[i], tagId});
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    statement.setInt(1, ids[i]);
+                    statement.setLong(2, amounts[i]);
+                    statement.setTimestamp(3, dates[i]);
+                    statement.setString(4, descriptions[i]);
+                    statement.setInt(5, categoryIds[i]);
+                    statement.setInt(6, paymentMethodIds[i]);
+                    statement.setInt(7, vendorIds[i]);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return count;
+                }
+            });
+
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION_TAG, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    statement.setInt(1, transactionTags.get(i)[0]);
+                    statement.setInt(2, transactionTags.get(i)[1]);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return transactionTags.size();
+                }
+            });
+        });
+    }
+
+    /*
+     * Takes whole blocks from the transaction sequence the way Hibernate's pooled optimizer reads them, each value
+     * being the last id of its block, so the ids never overlap with transactions saved through JPA
+     */
+    private int[] reserveIds(int count) {
+        int[] ids = new int[count];
+        int reserved = 0;
+
+        while (reserved < count) {
+            long last = transactionIds.nextLongValue();
+
+            //The first values of the sequence belong to the block Hibernate starts from
+            if (last < ID_BLOCK_SIZE)
+                continue;
+
+            for (long id = last - ID_BLOCK_SIZE + 1; id <= last && reserved < count; id++)
+                ids[reserved++] = (int) id;
+        }
+
+        return ids;
+    }
+
+    //Any day in the range, with weekend days twice as likely, at a time around the early afternoon
+    private static LocalDateTime date(Random random, LocalDate start, int days) {
+        LocalDate day;
+        do {
+            day = start.plusDays(random.nextInt(days));
+        } while (!isWeekend(day) && random.nextBoolean());
+
+        int hour = (int) Math.max(0, Math.min(23, Math.round(14 + 4 * random.nextGaussian())));
+        return day.atTime(hour, random.nextInt(60), random.nextInt(60));
+    }
+
+    private static boolean isWeekend(LocalDate day) {
+        return day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+
+
+    // -------------- References ----------------------------
+    private Vendor vendor(int i) {
+        int round = i / 2 / ONLINE_STORE_NAMES.length;
+
+        if (i % 2 == 0) {
+            String name = name(ONLINE_STORE_NAMES, i / 2);
+            String host = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+            return new OnlineStore(name, "https://www." + host + (round == 0 ? "" : round) + ".com");
+        }
+
+        return new PhysicalStore(name(PHYSICAL_STORE_NAMES, i / 2),
+                STREETS[i % STREETS.length] + ", " + (100 + i * 7));
+    }
+
+    //Names repeat with a number once the list runs out, "Food", ..., "Food 2"
+    private static String name(String[] names, int i) {
+        int round = i / names.length;
+        return round == 0 ? names[i] : names[i % names.length] + " " + (round + 1);
+    }
+
+    private static int sample(Random random, double[] weights) {
+        double value = random.nextDouble();
+        for (int i = 0; i < weights.length; i++) {
+            value -= weights[i];
+            if (value < 0)
+                return i;
+        }
+        return weights.length - 1;
+    }
+
+    private static DataFieldMaxValueIncrementer transactionIdIncrementer(DataSource dataSource) {
+        String product;
+        try {
+            product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException exception) {
+            throw new IllegalStateException("Could not detect the database for sample data", exception);
+        }
+
+        if ("PostgreSQL".equals(product))
+            return new PostgresSequenceMaxValueIncrementer(dataSource, "transaction_seq");
+
+        return new H2SequenceMaxValueIncrementer(dataSource, "transaction_seq");
+    }
+
+
+    /*
+     * References and distributions shared by every chunk of one generation
+     */
+    private static class Dataset {
+
+        private final SampleDataProperties properties;
+        private final List<Category> categories;
+        private final List<PaymentMethod> paymentMethods;
+        private final List<Vendor> vendors;
+        private final List<Tag> tags;
+        private final double[] medianAmounts;
+        private final ZipfDistribution categoryDistribution;
+        private final ZipfDistribution paymentMethodDistribution;
+        private final ZipfDistribution vendorDistribution;
+        private final ZipfDistribution tagDistribution;
+        private final LocalDate start;
+        private final int days;
+
+        Dataset(SampleDataProperties properties, List<Category> categories, List<PaymentMethod> paymentMethods,
+                List<Vendor> vendors, List<Tag> tags, double[] medianAmounts) {
+            this.properties = properties;
+            this.categories = categories;
+            this.paymentMethods = paymentMethods;
+            this.vendors = vendors;
+            this.tags = tags;
+            this.medianAmounts = medianAmounts;
+            this.categoryDistribution = new ZipfDistribution(categories.size());
+            this.paymentMethodDistribution = new ZipfDistribution(paymentMethods.size());
+            this.vendorDistribution = new ZipfDistribution(vendors.size());
+            this.tagDistribution = new ZipfDistribution(tags.size());
+
+            LocalDate end = properties.getEndDate() != null ? properties.getEndDate() : LocalDate.now();
+            this.start = end.minusYears(properties.getYears()).plusDays(1);
+            this.days = (int) ChronoUnit.DAYS.between(start, end) + 1;
+        }
+    }
+
+    /*
+     * Rank i is picked with a weight of 1 / (i + 1)^s
+     */
+    private static class ZipfDistribution {
+
+        private final double[] cumulative;
+
+        ZipfDistribution(int size) {
+            cumulative = new double[size];
+
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += 1 / Math.pow(i + 1, ZIPF_EXPONENT);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < size; i++)
+                cumulative[i] /= sum;
+        }
+
+        int sample(Random random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+}
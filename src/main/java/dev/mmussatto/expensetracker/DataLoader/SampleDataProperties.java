@@ -0,0 +1,41 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.DataLoader;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+/**
+ * Size and shape of the generated sample data. Bound from expensetracker.sample-data for the DataLoader, and
+ * created directly by tests and benchmarks that generate their own dataset.
+ */
+@Data
+@ConfigurationProperties(prefix = "expensetracker.sample-data")
+public class SampleDataProperties {
+
+    //Fills an empty database at startup
+    private boolean enabled;
+
+    private int transactions = 10_000;
+
+    //Same seed, same data
+    private long seed = 42L;
+
+    //Transactions are spread over this many years up to the end date, today when it isn't set
+    private int years = 5;
+    private LocalDate endDate;
+
+    private int categories = 12;
+    private int paymentMethods = 5;
+    private int vendors = 50;
+    private int tags = 15;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    //Rows written per JDBC batch and committed per database transaction
+    private int batchSize = 5_000;
+}
@@ -2,8 +2,10 @@ package dev.mmussatto.expensetracker;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+//The reactive API builds its own R2DBC pool, an auto-configured one would replace the JDBC DataSource
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class ExpenseTrackerApplication {
 
     public static void main(String[] args) {
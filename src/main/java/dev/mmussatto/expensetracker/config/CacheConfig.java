@@ -0,0 +1,46 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Arrays;
+
+/**
+ * Caches for the reference entities (categories, tags, payment methods and vendors), looked up by id and by name.
+ * They hold detached copies that no session manages, so nothing cached is ever written through or lazily loaded.
+ * The caches are bounded by spring.cache.caffeine.spec and registered at startup, so their hit, miss and eviction
+ * counts are published as the cache.gets and cache.evictions metrics.
+ * <p>
+ * The caching advice runs outside the transaction advice, so an eviction happens once the write has committed
+ * and the next miss reads the new row instead of the one the write is about to replace.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORIES_BY_NAME = "categoriesByName";
+    public static final String TAGS = "tags";
+    public static final String TAGS_BY_NAME = "tagsByName";
+    public static final String PAYMENT_METHODS = "paymentMethods";
+    public static final String PAYMENT_METHODS_BY_NAME = "paymentMethodsByName";
+    public static final String VENDORS = "vendors";
+    public static final String VENDORS_BY_NAME = "vendorsByName";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> referenceCachesCustomizer() {
+        return cacheManager -> cacheManager.setCacheNames(Arrays.asList(
+                CATEGORIES, CATEGORIES_BY_NAME,
+                TAGS, TAGS_BY_NAME,
+                PAYMENT_METHODS, PAYMENT_METHODS_BY_NAME,
+                VENDORS, VENDORS_BY_NAME));
+    }
+}
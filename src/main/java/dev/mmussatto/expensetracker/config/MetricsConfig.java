@@ -0,0 +1,133 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodClassKey;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Observes every call to the application's service interfaces (CategoryService, TransactionService, ...) and
+ * repositories. Each call is timed as expensetracker.service or expensetracker.repository, tagged with the
+ * interface, the method and the exception it threw, if any, and becomes a span when tracing is on. Controller
+ * endpoints are observed by Spring as http.server.requests, and both it and the service timer publish percentile
+ * histograms so latency percentiles can be aggregated across instances from the Prometheus scrape.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "expensetracker.service";
+    public static final String REPOSITORY_TIMER = "expensetracker.repository";
+
+    private static final String APPLICATION_PACKAGE = "dev.mmussatto.expensetracker";
+
+    //The registry is only resolved on the first call, so the advisor doesn't pull it in early
+    @Bean
+    public static Advisor observationAdvisor(ObjectProvider<ObservationRegistry> observationRegistry) {
+
+        //Repository methods are mostly inherited, so the same method belongs to a different repository per target
+        Map<MethodClassKey, Optional<Layer>> layers = new ConcurrentHashMap<>();
+
+        MethodInterceptor interceptor = invocation -> {
+            Class<?> targetClass = invocation.getThis().getClass();
+            Optional<Layer> layer = layers.computeIfAbsent(new MethodClassKey(invocation.getMethod(), targetClass),
+                    key -> findLayer(targetClass, invocation.getMethod()));
+            ObservationRegistry registry = observationRegistry.getIfAvailable();
+            if (!layer.isPresent() || registry == null)
+                return invocation.proceed();
+
+            Observation observation = Observation.createNotStarted(layer.get().name, registry)
+                    .contextualName(layer.get().type.getSimpleName() + "." + invocation.getMethod().getName())
+                    .lowCardinalityKeyValue(layer.get().key, layer.get().type.getSimpleName())
+                    .lowCardinalityKeyValue("method", invocation.getMethod().getName())
+                    .start();
+
+            String exception = "none";
+            try (Observation.Scope scope = observation.openScope()) {
+                return invocation.proceed();
+            } catch (Throwable throwable) {
+                exception = throwable.getClass().getSimpleName();
+                observation.error(throwable);
+                throw throwable;
+            } finally {
+                observation.lowCardinalityKeyValue("exception", exception);
+                observation.stop();
+            }
+        };
+
+        return new DefaultPointcutAdvisor(new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return findLayer(targetClass, method).isPresent();
+            }
+        }, interceptor);
+    }
+
+    @Bean
+    public MeterFilter serviceTimerHistogram() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!SERVICE_TIMER.equals(id.getName()))
+                    return config;
+
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    //The service or repository interface of the application that declares the method
+    private static Optional<Layer> findLayer(Class<?> targetClass, Method method) {
+        if (!Modifier.isPublic(method.getModifiers()))
+            return Optional.empty();
+
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+            if (!type.getName().startsWith(APPLICATION_PACKAGE)
+                    || !ClassUtils.hasMethod(type, method.getName(), method.getParameterTypes()))
+                continue;
+
+            if (type.getSimpleName().endsWith("Service"))
+                return Optional.of(new Layer(SERVICE_TIMER, "service", type));
+            if (type.getSimpleName().endsWith("Repository"))
+                return Optional.of(new Layer(REPOSITORY_TIMER, "repository", type));
+        }
+
+        return Optional.empty();
+    }
+
+
+    private static class Layer {
+
+        private final String name;
+        private final String key;
+        private final Class<?> type;
+
+        Layer(String name, String key, Class<?> type) {
+            this.name = name;
+            this.key = key;
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionStreamHandler;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionStreamRepository;
+import dev.mmussatto.expensetracker.exceptions.InvalidCursorException;
+import dev.mmussatto.expensetracker.exceptions.InvalidMonthException;
+import dev.mmussatto.expensetracker.exceptions.ResourceNotFoundException;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.*;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-only reactive API, served by Netty on its own port (expensetracker.reactive.port) next to the servlet
+ * API and disabled until that port is set. It reads the same database over R2DBC, configured with the
+ * spring.r2dbc properties, so slow clients wait on non-blocking streams instead of servlet threads and
+ * JDBC connections.
+ * <p>
+ * The R2DBC connection factory is kept out of the context on purpose: the JDBC DataSource auto-configuration
+ * backs off as soon as a ConnectionFactory bean exists.
+ */
+@Configuration
+@ConditionalOnProperty(name = "expensetracker.reactive.port")
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveApiConfig implements DisposableBean {
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public TransactionStreamRepository transactionStreamRepository(R2dbcProperties properties) {
+
+        if (!StringUtils.hasText(properties.getUrl()))
+            throw new IllegalStateException("spring.r2dbc.url must be set to enable the reactive API");
+
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration.Builder configuration = ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxAcquireTime(pool.getMaxAcquireTime());
+        if (StringUtils.hasText(pool.getValidationQuery()))
+            configuration.validationQuery(pool.getValidationQuery());
+
+        connectionPool = new ConnectionPool(configuration.build());
+
+        return new TransactionStreamRepository(DatabaseClient.create(connectionPool));
+    }
+
+    @Bean
+    public ReactiveApiServer reactiveApiServer(@Value("${expensetracker.reactive.port}") int port,
+                                               TransactionStreamRepository transactionStreamRepository,
+                                               ObjectMapper objectMapper) {
+
+        TransactionStreamHandler transactionHandler = new TransactionStreamHandler(transactionStreamRepository);
+
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .GET("/api/transactions", transactionHandler::getTransactions)
+                .GET("/api/categories/{id}/transactions", transactionHandler::getTransactionsByCategoryId)
+                .GET("/api/payment-methods/{id}/transactions", transactionHandler::getTransactionsByPaymentMethodId)
+                .GET("/api/vendors/{id}/transactions", transactionHandler::getTransactionsByVendorId)
+                .GET("/api/tags/{id}/transactions", transactionHandler::getTransactionsByTagId)
+                .onError(ResourceNotFoundException.class, (exception, request) ->
+                        error(HttpStatus.NOT_FOUND, request, exception.getMessage()))
+                .onError(exception -> exception instanceof InvalidMonthException
+                                || exception instanceof InvalidCursorException,
+                        (exception, request) -> error(HttpStatus.BAD_REQUEST, request, exception.getMessage()))
+                .onError(ServerWebInputException.class, (exception, request) ->
+                        error(HttpStatus.BAD_REQUEST, request, exception.getReason()))
+                .build();
+
+        //Same JSON as the servlet API
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+
+        return new ReactiveApiServer(port, RouterFunctions.toHttpHandler(routes, strategies));
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null)
+            connectionPool.dispose();
+    }
+
+
+    private static Mono<ServerResponse> error(HttpStatus status, ServerRequest request, String message) {
+
+        Map<String, Object> responseBody = new LinkedHashMap<>();
+        responseBody.put("timestamp", LocalDateTime.now()
+                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss")));
+        responseBody.put("status", status.value());
+        responseBody.put("error", status.getReasonPhrase());
+        responseBody.put("path", request.path());
+        responseBody.put("message", message);
+
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(responseBody);
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the background jobs, such as the spending rollup rebuild. Each job is disabled until its cron
+ * expression is set.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,120 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the SQL statements of each request and logs the requests that go over the statement or time budget, the
+ * usual sign of an N+1 query. With response headers on, the counts are added as headers when the body starts,
+ * since headers can't follow it and holding the body back would buffer whole exports in memory. They cover the
+ * statements run before the response was written, while the log covers the whole request.
+ */
+@Slf4j
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time";
+
+    private final SqlStatementProperties properties;
+
+    public SqlStatementBudgetFilter(SqlStatementProperties properties) {
+        this.properties = properties;
+    }
+
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        SqlStatementCounter counter = SqlStatementCounter.start();
+        CountHeadersResponse headersResponse = properties.isResponseHeaders()
+                ? new CountHeadersResponse(response, counter)
+                : null;
+
+        try {
+            filterChain.doFilter(request, headersResponse != null ? headersResponse : response);
+        } finally {
+            counter = SqlStatementCounter.stop();
+        }
+
+        if (counter.getStatements() > properties.getStatementBudget()
+                || counter.getElapsedMillis() > properties.getTimeBudget().toMillis())
+            log.warn("{} {} ran {} SQL statements in {} ms, over the budget of {} statements in {} ms",
+                    request.getMethod(), request.getRequestURI(), counter.getStatements(), counter.getElapsedMillis(),
+                    properties.getStatementBudget(), properties.getTimeBudget().toMillis());
+
+        //Responses without a body
+        if (headersResponse != null)
+            headersResponse.addCountHeaders();
+    }
+
+
+    private static class CountHeadersResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementCounter counter;
+        private boolean headersAdded;
+
+        CountHeadersResponse(HttpServletResponse response, SqlStatementCounter counter) {
+            super(response);
+            this.counter = counter;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addCountHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addCountHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addCountHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addCountHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addCountHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addCountHeaders();
+            super.sendRedirect(location);
+        }
+
+        void addCountHeaders() {
+            if (headersAdded || isCommitted())
+                return;
+
+            headersAdded = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(counter.getStatements()));
+            setHeader(TIME_HEADER, String.valueOf(counter.getElapsedMillis()));
+        }
+    }
+}
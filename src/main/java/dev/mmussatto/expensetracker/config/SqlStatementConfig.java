@@ -0,0 +1,85 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import net.ttddyy.observation.tracing.DataSourceObservationListener;
+import net.ttddyy.observation.tracing.JdbcObservationDocumentation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps the DataSource in a datasource-proxy that counts the statements of the current request for
+ * {@link SqlStatementCounter}, logs statements slower than expensetracker.sql.slow-query-threshold, and reports
+ * connections and statements as observations, traced by {@link TracingConfig}.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlStatementProperties.class)
+public class SqlStatementConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatementDataSourceProxy(ObjectProvider<SqlStatementProperties> properties,
+                                                                ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource)
+                    return bean;
+
+                //Result sets are read within the statement spans, they don't get their own
+                DataSourceObservationListener observationListener = new DataSourceObservationListener(
+                        () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+                observationListener.setSupportedTypes(EnumSet.of(JdbcObservationDocumentation.CONNECTION,
+                        JdbcObservationDocumentation.QUERY));
+
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(beanName)
+                        .listener(new CountingListener())
+                        .listener(observationListener)
+                        .methodListener(observationListener)
+                        .logSlowQueryBySlf4j(properties.getObject().getSlowQueryThreshold().toMillis(),
+                                TimeUnit.MILLISECONDS, SLF4JLogLevel.WARN)
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementBudgetFilter> sqlStatementBudgetFilter(SqlStatementProperties properties) {
+        FilterRegistrationBean<SqlStatementBudgetFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementBudgetFilter(properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+
+    private static class CountingListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlStatementCounter.record(execInfo.getElapsedTime());
+        }
+    }
+}
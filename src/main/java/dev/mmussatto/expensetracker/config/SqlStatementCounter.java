@@ -0,0 +1,69 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+/**
+ * Counts the SQL statements executed by the current thread, and the time the database took to run them, between
+ * {@link #start()} and {@link #stop()}. Statements of threads that haven't started counting are ignored, so work
+ * handed to another thread isn't added to the request that started it.
+ * <p>
+ * Counters nest: one started while another is counting has its counts added to the outer one when it stops.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<SqlStatementCounter> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatementCounter outer;
+    private int statements;
+    private long elapsedMillis;
+
+    private SqlStatementCounter(SqlStatementCounter outer) {
+        this.outer = outer;
+    }
+
+
+    public static SqlStatementCounter start() {
+        SqlStatementCounter counter = new SqlStatementCounter(CURRENT.get());
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    public static SqlStatementCounter stop() {
+        SqlStatementCounter counter = CURRENT.get();
+        if (counter == null)
+            return new SqlStatementCounter(null);
+
+        if (counter.outer != null) {
+            counter.outer.statements += counter.statements;
+            counter.outer.elapsedMillis += counter.elapsedMillis;
+            CURRENT.set(counter.outer);
+        } else {
+            CURRENT.remove();
+        }
+        return counter;
+    }
+
+    //The counter of the current thread, if it's counting
+    public static SqlStatementCounter current() {
+        return CURRENT.get();
+    }
+
+    static void record(long elapsedMillis) {
+        SqlStatementCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.statements++;
+            counter.elapsedMillis += elapsedMillis;
+        }
+    }
+
+    //A batch is sent as one statement
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
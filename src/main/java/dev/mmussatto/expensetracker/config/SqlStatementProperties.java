@@ -0,0 +1,27 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limits of the SQL issued while serving one request, bound from expensetracker.sql. Requests going over either
+ * budget are logged with their counts, and any single statement slower than the threshold is logged with its SQL.
+ */
+@Data
+@ConfigurationProperties(prefix = "expensetracker.sql")
+public class SqlStatementProperties {
+
+    private int statementBudget = 20;
+    private Duration timeBudget = Duration.ofMillis(500);
+
+    private Duration slowQueryThreshold = Duration.ofMillis(300);
+
+    //Adds the X-SQL-Statements and X-SQL-Time headers to every response, meant for development only
+    private boolean responseHeaders;
+}
@@ -0,0 +1,49 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import io.micrometer.tracing.Tracer;
+import net.ttddyy.observation.tracing.ConnectionTracingObservationHandler;
+import net.ttddyy.observation.tracing.QueryTracingObservationHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Tracing of requests down to the JDBC statements. Spring traces the HTTP requests, continuing the W3C trace context
+ * of the caller, {@link MetricsConfig} adds spans for the services and repositories, and the datasource-proxy of
+ * {@link SqlStatementConfig} reports each connection and statement, which the handlers here turn into spans.
+ * <p>
+ * Spans go to any SpanExporter bean, such as the file exporter enabled with expensetracker.tracing.file.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "management.tracing", name = "enabled", matchIfMissing = true)
+public class TracingConfig {
+
+    //Ahead of Spring's default tracing handlers, which would otherwise claim the JDBC observations
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public QueryTracingObservationHandler queryTracingObservationHandler(Tracer tracer) {
+        return new QueryTracingObservationHandler(tracer);
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public ConnectionTracingObservationHandler connectionTracingObservationHandler(Tracer tracer) {
+        return new ConnectionTracingObservationHandler(tracer);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "expensetracker.tracing.file")
+    public FileSpanExporter fileSpanExporter(@Value("${expensetracker.tracing.file}") String file) throws IOException {
+        return new FileSpanExporter(Paths.get(file));
+    }
+}
@@ -8,6 +8,7 @@ import dev.mmussatto.expensetracker.entities.helpers.PageDTO;
 import dev.mmussatto.expensetracker.entities.transaction.Transaction;
 import dev.mmussatto.expensetracker.entities.transaction.TransactionDTO;
 import dev.mmussatto.expensetracker.entities.transaction.TransactionMapper;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionSummaryDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -185,6 +186,51 @@ public class CategoryController {
     }
 
 
+    @Operation(summary = "Get all transactions from a category as compact summaries")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the category's transactions", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "404", description = "Category not found", content = @Content)
+    })
+    @GetMapping(value = "/{id}/transactions", params = "view=compact")
+    @ResponseStatus(HttpStatus.OK)
+    public PageDTO<TransactionSummaryDTO> getTransactionSummariesByCategoryId(@PathVariable final Integer id,
+                                                                              @RequestParam(value = "page", defaultValue = "0", required = false) int page,
+                                                                              @RequestParam(value = "size", defaultValue = "1", required = false) int size) {
+
+        //Get page of transactions
+        Page<TransactionSummaryDTO> paginatedTransactions = categoryService.getTransactionSummariesByCategoryId(id, page, size);
+
+        //Create PageDTO object
+        PageDTO<TransactionSummaryDTO> returnPage = new PageDTO<>();
+
+        //Add paths to the summaries
+        returnPage.setContent(paginatedTransactions.getContent()
+                .stream()
+                .map(summary -> {
+                    summary.setPath("/api/transactions/" + summary.getId());
+                    return summary;
+                })
+                .collect(Collectors.toList()));
+
+        //Add page information
+        returnPage.setPageNo(paginatedTransactions.getNumber());
+        returnPage.setPageSize(paginatedTransactions.getSize());
+        returnPage.setTotalElements(paginatedTransactions.getTotalElements());
+        returnPage.setTotalPages(paginatedTransactions.getTotalPages());
+
+        //Add links to previous and next pages
+        if (paginatedTransactions.hasNext())
+            returnPage.setNextPage(String.format("/api/categories/%d/transactions?view=compact&page=%d&size=%d",
+                    id, paginatedTransactions.getNumber()+1, paginatedTransactions.getSize()));
+
+        if (paginatedTransactions.hasPrevious())
+            returnPage.setPreviousPage(String.format("/api/categories/%d/transactions?view=compact&page=%d&size=%d",
+                    id, paginatedTransactions.getNumber()-1, paginatedTransactions.getSize()));
+
+        return returnPage;
+    }
+
+
     // -------------- Mappers ----------------------------
     private CategoryDTO convertToDTO(Category category) {
         CategoryDTO dto = categoryMapper.convertToDTO(category);
@@ -4,10 +4,11 @@
 
 package dev.mmussatto.expensetracker.entities.category;
 
+import dev.mmussatto.expensetracker.entities.helpers.LazyCollections;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
-@Mapper
+@Mapper(uses = LazyCollections.class)
 public interface CategoryMapper {
 
     CategoryMapper INSTANCE = Mappers.getMapper(CategoryMapper.class);
@@ -15,4 +16,7 @@ public interface CategoryMapper {
     CategoryDTO convertToDTO(Category category);
 
     Category convertToEntity(CategoryDTO categoryDTO);
+
+    //Detached copy for the caches, which never hold an entity of a session
+    Category copy(Category category);
 }
@@ -5,6 +5,7 @@
 package dev.mmussatto.expensetracker.entities.category;
 
 import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionSummaryDTO;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -26,4 +27,6 @@ public interface CategoryService {
     void deleteCategoryById (Integer id);
 
     Page<Transaction> getTransactionsByCategoryId (Integer id, int page, int size);
+
+    Page<TransactionSummaryDTO> getTransactionSummariesByCategoryId (Integer id, int page, int size);
 }
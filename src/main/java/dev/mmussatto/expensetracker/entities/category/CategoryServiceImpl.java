@@ -4,11 +4,19 @@
 
 package dev.mmussatto.expensetracker.entities.category;
 
+import dev.mmussatto.expensetracker.config.CacheConfig;
+import dev.mmussatto.expensetracker.entities.summary.MonthlySpendingRepository;
 import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionRepository;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionSummaryDTO;
 import dev.mmussatto.expensetracker.exceptions.ResourceAlreadyExistsException;
 import dev.mmussatto.expensetracker.exceptions.ResourceNotFoundException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -16,9 +24,14 @@ import java.util.List;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final TransactionRepository transactionRepository;
+    private final MonthlySpendingRepository monthlySpendingRepository;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, TransactionRepository transactionRepository,
+                               MonthlySpendingRepository monthlySpendingRepository) {
         this.categoryRepository = categoryRepository;
+        this.transactionRepository = transactionRepository;
+        this.monthlySpendingRepository = monthlySpendingRepository;
     }
 
     @Override
@@ -27,47 +40,49 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Cacheable(CacheConfig.CATEGORIES)
     public Category getCategoryById(Integer id) {
         return categoryRepository.findById(id)
+                .map(CategoryMapper.INSTANCE::copy)
                 .orElseThrow(() -> new ResourceNotFoundException("Category " + id + " not found!"));
     }
 
     @Override
+    @Cacheable(CacheConfig.CATEGORIES_BY_NAME)
     public Category getCategoryByName(String name) {
         return categoryRepository.findByName(name)
+                .map(CategoryMapper.INSTANCE::copy)
                 .orElseThrow(() -> new ResourceNotFoundException("Category " + name + " not found!"));
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORIES, CacheConfig.CATEGORIES_BY_NAME}, allEntries = true)
     public Category createNewCategory(Category category) {
 
-        checkIfNameIsAlreadyInUse(category);
-
-        return categoryRepository.save(category) ;
+        return save(category);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORIES, CacheConfig.CATEGORIES_BY_NAME}, allEntries = true)
     public Category updateCategoryById(Integer id, Category category) {
 
         categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category " + id + " not found!"));
 
 
-        checkIfNameIsAlreadyInUse(category);
-
         category.setId(id);
 
-        return categoryRepository.save(category);
+        return save(category);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORIES, CacheConfig.CATEGORIES_BY_NAME}, allEntries = true)
     public Category patchCategoryById (Integer id, Category category) {
 
         return categoryRepository.findById(id).map(savedCategory -> {
 
             //Update name
             if (category.getName() != null) {
-                checkIfNameIsAlreadyInUse(category);
                 savedCategory.setName(category.getName());
             }
 
@@ -76,37 +91,54 @@ public class CategoryServiceImpl implements CategoryService {
                 savedCategory.setColor(category.getColor());
 
             //Save
-            return categoryRepository.save(savedCategory);
+            return save(savedCategory);
 
         }).orElseThrow(() -> new ResourceNotFoundException("Category " + id + " not found!"));
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORIES, CacheConfig.CATEGORIES_BY_NAME}, allEntries = true)
+    @Transactional
     public void deleteCategoryById(Integer id) {
         categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category " + id + " not found!"));
 
+        //Its transactions are deleted with it
+        monthlySpendingRepository.deleteByCategoryId(id);
+
         categoryRepository.deleteById(id);
     }
 
     @Override
     public Page<Transaction> getTransactionsByCategoryId(Integer id, int page, int size) {
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Category " + id + " not found!"));
+        if (!categoryRepository.existsById(id))
+            throw new ResourceNotFoundException("Category " + id + " not found!");
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("date"));
 
-        List<Transaction>  transactions = category.getTransactions();
+        return transactionRepository.findByCategoryId(pageable, id);
+    }
+
+    @Override
+    public Page<TransactionSummaryDTO> getTransactionSummariesByCategoryId(Integer id, int page, int size) {
+        if (!categoryRepository.existsById(id))
+            throw new ResourceNotFoundException("Category " + id + " not found!");
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("date"));
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), transactions.size());
 
-        return new PageImpl<Transaction>(transactions.subList(start, end), pageable, transactions.size());
+        return transactionRepository.attachTagIds(transactionRepository.findSummariesByCategoryId(pageable, id));
     }
 
-    private void checkIfNameIsAlreadyInUse(Category category) {
-        categoryRepository.findByName(category.getName()).ifPresent(savedCategory -> {
+    //The unique index on name rejects duplicates, the existing category is only looked up once that happens
+    private Category save(Category category) {
+        try {
+            return categoryRepository.saveAndFlush(category);
+        } catch (DataIntegrityViolationException exception) {
+            Category savedCategory = categoryRepository.findByName(category.getName())
+                    .orElseThrow(() -> exception);
+
             throw new ResourceAlreadyExistsException("Category " + category.getName() + " already exists.",
-                    "/api/categories/" + savedCategory.getId());
-        });
+                    exception, "/api/categories/" + savedCategory.getId());
+        }
     }
 }
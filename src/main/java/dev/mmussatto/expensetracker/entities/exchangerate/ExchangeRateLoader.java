@@ -0,0 +1,117 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.exchangerate;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * Loads the exchange rates file at startup, a CSV with a date,currency,rate header and one line per quote, where
+ * rate is the value of one unit of the currency in BRL on that date. Quotes already stored for the same currency
+ * and date are replaced, so the file can be reloaded with corrections or appended to.
+ */
+@Slf4j
+@Component
+public class ExchangeRateLoader implements ApplicationRunner {
+
+    private static final String HEADER = "date,currency,rate";
+    private static final String DELETE_RATE = "delete from exchange_rate where currency = ? and rate_date = ?";
+    private static final String INSERT_RATE = "insert into exchange_rate (currency, rate_date, rate) values (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExchangeRates exchangeRates;
+
+    @Value("${expensetracker.exchange-rates.file:}")
+    private String file;
+
+    public ExchangeRateLoader(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              ExchangeRates exchangeRates) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.exchangeRates = exchangeRates;
+    }
+
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (file.isEmpty())
+            return;
+
+        int loaded = load(Paths.get(file));
+        log.info("Loaded {} exchange rates from {}", loaded, file);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a line isn't a valid date, currency code and positive rate
+     */
+    public int load(Path path) throws IOException {
+        List<Object[]> rates = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.equalsIgnoreCase(HEADER))
+                    continue;
+
+                rates.add(parse(line, lineNumber));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object[]> keys = new ArrayList<>(rates.size());
+            rates.forEach(rate -> keys.add(new Object[]{rate[0], rate[1]}));
+
+            jdbcTemplate.batchUpdate(DELETE_RATE, keys);
+            jdbcTemplate.batchUpdate(INSERT_RATE, rates);
+        });
+
+        exchangeRates.refresh();
+        return rates.size();
+    }
+
+
+    private static Object[] parse(String line, int lineNumber) {
+        String[] fields = line.split(",");
+        if (fields.length != 3)
+            throw new IllegalArgumentException("Line " + lineNumber + " of the exchange rates doesn't match " + HEADER);
+
+        try {
+            LocalDate date = LocalDate.parse(fields[0].trim());
+            Currency currency = Currency.getInstance(fields[1].trim().toUpperCase());
+            BigDecimal rate = new BigDecimal(fields[2].trim());
+            if (rate.signum() <= 0)
+                throw new IllegalArgumentException("the rate must be positive");
+
+            return new Object[]{currency.getCurrencyCode(), Date.valueOf(date), rate};
+
+        } catch (RuntimeException exception) {
+            throw new IllegalArgumentException("Invalid exchange rate on line " + lineNumber + ": " + line, exception);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.exchangerate;
+
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import dev.mmussatto.expensetracker.exceptions.MissingExchangeRateException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * In-memory copy of the exchange_rate table with one array of daily rates per currency, so converting an amount
+ * is an array lookup instead of a query. A rate is the value of one unit of the currency in
+ * {@link Money#DEFAULT_CURRENCY}, and a day without a quote (a weekend, a holiday, or any day after the last
+ * one loaded) uses the latest rate before it. Rates are kept exactly, as longs at the scale of the rate column,
+ * and each conversion rounds half even once. Read on first use and again after every load of the rates file.
+ */
+@Component
+public class ExchangeRates {
+
+    private static final String SELECT_RATES = "select currency, rate_date, rate from exchange_rate " +
+            "order by currency, rate_date";
+
+    //Decimal places of exchange_rate.rate
+    private static final int RATE_SCALE = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Map<Currency, DailyRates> rates;
+
+    public ExchangeRates(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    /**
+     * @throws MissingExchangeRateException if either currency has no rate on or before the date
+     */
+    public Money convert(Money amount, LocalDate date, Currency currency) {
+        return to(currency).convert(amount, date);
+    }
+
+    //For converting many amounts to the same currency, the rates of each currency are only looked up once
+    public Conversion to(Currency currency) {
+        return new Conversion(getRates(), currency);
+    }
+
+    public void refresh() {
+        rates = load();
+    }
+
+
+    private Map<Currency, DailyRates> getRates() {
+        Map<Currency, DailyRates> current = rates;
+        if (current == null) {
+            current = load();
+            rates = current;
+        }
+        return current;
+    }
+
+    private Map<Currency, DailyRates> load() {
+        Map<Currency, List<LocalDate>> dates = new HashMap<>();
+        Map<Currency, List<Long>> values = new HashMap<>();
+
+        jdbcTemplate.query(SELECT_RATES, resultSet -> {
+            Currency currency = Currency.getInstance(resultSet.getString("currency"));
+            dates.computeIfAbsent(currency, key -> new ArrayList<>()).add(resultSet.getDate("rate_date").toLocalDate());
+            values.computeIfAbsent(currency, key -> new ArrayList<>()).add(resultSet.getBigDecimal("rate")
+                    .setScale(RATE_SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+        });
+
+        Map<Currency, DailyRates> loaded = new HashMap<>();
+        dates.forEach((currency, currencyDates) -> loaded.put(currency,
+                DailyRates.of(currency, currencyDates, values.get(currency))));
+        return loaded;
+    }
+
+
+    public static class Conversion {
+
+        private final Map<Currency, DailyRates> rates;
+        private final Currency currency;
+        private final DailyRates targetRates;
+
+        private final Map<Currency, DailyRates> sourceRates = new HashMap<>();
+
+        private Conversion(Map<Currency, DailyRates> rates, Currency currency) {
+            this.rates = rates;
+            this.currency = currency;
+            this.targetRates = ratesOf(currency);
+        }
+
+        public Currency getCurrency() {
+            return currency;
+        }
+
+        public Money convert(Money amount, LocalDate date) {
+            return Money.ofMinor(convert(amount.getMinorUnits(), amount.getCurrency(), date.toEpochDay()), currency);
+        }
+
+        /**
+         * Converts minor units of a currency at the rates of the day, rounded half even to a whole minor unit.
+         *
+         * @param epochDay the day as {@link LocalDate#toEpochDay()}
+         * @throws MissingExchangeRateException if either currency has no rate on or before the day
+         */
+        public long convert(long minorUnits, Currency from, long epochDay) {
+            if (from.equals(currency))
+                return minorUnits;
+
+            DailyRates fromRates = sourceRates.computeIfAbsent(from, this::ratesOf);
+
+            //The scale of the rates cancels out in the ratio
+            return BigDecimal.valueOf(minorUnits)
+                    .multiply(BigDecimal.valueOf(fromRates.on(epochDay)))
+                    .scaleByPowerOfTen(fromRates.digitsTo(targetRates))
+                    .divide(BigDecimal.valueOf(targetRates.on(epochDay)), 0, RoundingMode.HALF_EVEN)
+                    .longValueExact();
+        }
+
+        private DailyRates ratesOf(Currency currency) {
+            if (currency.equals(Money.DEFAULT_CURRENCY))
+                return DailyRates.base();
+
+            DailyRates currencyRates = rates.get(currency);
+            if (currencyRates == null)
+                throw new MissingExchangeRateException("No exchange rates for " + currency.getCurrencyCode());
+            return currencyRates;
+        }
+    }
+
+
+    private static class DailyRates {
+
+        private final Currency currency;
+        private final long firstDay;
+        private final long[] rates;
+
+        private DailyRates(Currency currency, long firstDay, long[] rates) {
+            this.currency = currency;
+            this.firstDay = firstDay;
+            this.rates = rates;
+        }
+
+        static DailyRates base() {
+            return new DailyRates(Money.DEFAULT_CURRENCY, LocalDate.MIN.toEpochDay(), new long[]{BigDecimal.ONE.movePointRight(RATE_SCALE).longValueExact()});
+        }
+
+        //Days between two quotes repeat the earlier one
+        static DailyRates of(Currency currency, List<LocalDate> dates, List<Long> values) {
+            long firstDay = dates.get(0).toEpochDay();
+            long[] rates = new long[(int) (dates.get(dates.size() - 1).toEpochDay() - firstDay + 1)];
+
+            for (int i = 0; i < dates.size(); i++) {
+                int from = (int) (dates.get(i).toEpochDay() - firstDay);
+                int to = i + 1 < dates.size() ? (int) (dates.get(i + 1).toEpochDay() - firstDay) : rates.length;
+                Arrays.fill(rates, from, to, values.get(i));
+            }
+
+            return new DailyRates(currency, firstDay, rates);
+        }
+
+        long on(long epochDay) {
+            if (epochDay < firstDay)
+                throw new MissingExchangeRateException(String.format("No exchange rate for %s on or before %s",
+                        currency.getCurrencyCode(), LocalDate.ofEpochDay(epochDay)));
+
+            return rates[(int) Math.min(epochDay - firstDay, rates.length - 1)];
+        }
+
+        //Minor units of this currency to minor units of the other, 0 between BRL and USD, -2 from BRL to JPY
+        int digitsTo(DailyRates other) {
+            return other.currency.getDefaultFractionDigits() - currency.getDefaultFractionDigits();
+        }
+    }
+}
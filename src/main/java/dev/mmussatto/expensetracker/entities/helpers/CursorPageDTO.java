@@ -0,0 +1,20 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.helpers;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CursorPageDTO<T> {
+
+
+    private int pageSize;
+    private String nextCursor;
+    private String nextPage;
+
+    private List<T> content;
+}
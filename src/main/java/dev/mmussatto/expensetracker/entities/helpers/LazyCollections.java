@@ -0,0 +1,24 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.helpers;
+
+import org.hibernate.Hibernate;
+import org.mapstruct.Condition;
+
+import java.util.Collection;
+
+/**
+ * Mapper condition that skips lazy collections that were never loaded, so mapping an entity neither triggers
+ * a query nor fails once the entity is detached (e.g. when it comes from a cache).
+ */
+public class LazyCollections {
+
+    private LazyCollections() {}
+
+    @Condition
+    public static boolean isInitialized(Collection<?> collection) {
+        return Hibernate.isInitialized(collection);
+    }
+}
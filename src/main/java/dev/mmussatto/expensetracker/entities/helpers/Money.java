@@ -0,0 +1,176 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.helpers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * An exact amount of money, held as a whole number of the currency's minor units (cents), so sums never drift and
+ * adding amounts up is plain long arithmetic. In JSON it's a decimal number with the currency's scale, 12.50, and
+ * amounts with more decimal places than the currency has are rejected rather than rounded.
+ */
+@JsonSerialize(using = Money.Serializer.class)
+@JsonDeserialize(using = Money.Deserializer.class)
+public final class Money implements Comparable<Money> {
+
+    //The currency the exchange rates are quoted in and amounts without one are read in
+    public static final String DEFAULT_CURRENCY_CODE = "BRL";
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance(DEFAULT_CURRENCY_CODE);
+
+    public static final Money ZERO = new Money(0L, DEFAULT_CURRENCY);
+
+    private final long minorUnits;
+    private final Currency currency;
+
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+
+    public static Money ofMinor(long minorUnits) {
+        return ofMinor(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * @throws ArithmeticException if the amount has more decimal places than the currency
+     */
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_CURRENCY);
+    }
+
+    public static Money of(BigDecimal amount, Currency currency) {
+        return new Money(amount.movePointRight(currency.getDefaultFractionDigits()).longValueExact(), currency);
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    /**
+     * The same amount in another currency's minor units, 12.00 BRL is 12.00 USD or 12 JPY. Not a conversion.
+     *
+     * @throws ArithmeticException if the amount has more decimal places than the currency
+     */
+    public Money withCurrency(Currency currency) {
+        return this.currency.equals(currency) ? this : of(toBigDecimal(), currency);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+
+    public Money plus(Money other) {
+        checkCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        checkCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    //Rounded half even to a whole minor unit
+    public Money divide(long divisor) {
+        return new Money(BigDecimal.valueOf(minorUnits)
+                .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_EVEN)
+                .longValueExact(), currency);
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof Money))
+            return false;
+
+        Money money = (Money) o;
+        return minorUnits == money.minorUnits && currency.equals(money.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private void checkCurrency(Money other) {
+        if (!currency.equals(other.currency))
+            throw new IllegalArgumentException("Can't combine " + currency + " and " + other.currency + " amounts");
+    }
+
+
+    public static class Serializer extends JsonSerializer<Money> {
+
+        @Override
+        public void serialize(Money value, JsonGenerator generator, SerializerProvider serializers) throws IOException {
+            generator.writeNumber(value.toBigDecimal());
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<Money> {
+
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+
+            BigDecimal amount;
+            try {
+                if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT)
+                    amount = parser.getDecimalValue();
+                else if (token == JsonToken.VALUE_STRING)
+                    amount = new BigDecimal(parser.getText().trim());
+                else
+                    return (Money) context.handleUnexpectedToken(Money.class, parser);
+
+                return of(amount);
+
+            } catch (NumberFormatException | ArithmeticException exception) {
+                throw context.weirdStringException(parser.getText(), Money.class,
+                        "amounts have at most " + DEFAULT_CURRENCY.getDefaultFractionDigits() + " decimal places");
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@
 package dev.mmussatto.expensetracker.entities.paymentmethod;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
 import dev.mmussatto.expensetracker.entities.transaction.Transaction;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -12,13 +13,21 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
+import java.util.Currency;
 import java.util.List;
 
 @Data
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "ux_payment_method_name", columnList = "name", unique = true))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@BatchSize(size = 100)
 public class PaymentMethod {
 
     @Id
@@ -32,6 +41,10 @@ public class PaymentMethod {
     @Enumerated(value = EnumType.STRING)
     private PaymentType type;
 
+    //The currency the account or card is billed in
+    @NotNull
+    private Currency currency = Money.DEFAULT_CURRENCY;
+
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "paymentMethod")
     @ToString.Exclude
     @JsonIgnore
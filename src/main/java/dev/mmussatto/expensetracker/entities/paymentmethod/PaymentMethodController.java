@@ -8,6 +8,7 @@ import dev.mmussatto.expensetracker.entities.helpers.PageDTO;
 import dev.mmussatto.expensetracker.entities.transaction.Transaction;
 import dev.mmussatto.expensetracker.entities.transaction.TransactionDTO;
 import dev.mmussatto.expensetracker.entities.transaction.TransactionMapper;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionSummaryDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -180,6 +181,46 @@ public class PaymentMethodController {
     }
 
 
+    @Operation(summary = "Get all transactions from a payment method as compact summaries")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the payment method's transactions", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "404", description = "Payment method not found", content = @Content)
+    })
+    @GetMapping(value = "/{id}/transactions", params = "view=compact")
+    @ResponseStatus(HttpStatus.OK)
+    public PageDTO<TransactionSummaryDTO> getPaymentMethodTransactionSummariesById (@PathVariable final Integer id,
+                                                                                    @RequestParam(value = "page", defaultValue = "0", required = false) int page,
+                                                                                    @RequestParam(value = "size", defaultValue = "1", required = false) int size) {
+
+        Page<TransactionSummaryDTO> paginatedTransactions = paymentMethodService.getPaymentMethodTransactionSummariesById(id, page, size);
+
+        PageDTO<TransactionSummaryDTO> returnPage = new PageDTO<>();
+
+        returnPage.setContent(paginatedTransactions.getContent()
+                .stream()
+                .map(summary -> {
+                    summary.setPath("/api/transactions/" + summary.getId());
+                    return summary;
+                })
+                .collect(Collectors.toList()));
+
+        returnPage.setPageNo(paginatedTransactions.getNumber());
+        returnPage.setPageSize(paginatedTransactions.getSize());
+        returnPage.setTotalElements(paginatedTransactions.getTotalElements());
+        returnPage.setTotalPages(paginatedTransactions.getTotalPages());
+
+        if (paginatedTransactions.hasNext())
+            returnPage.setNextPage(String.format("/api/payment-methods/%d/transactions?view=compact&page=%d&size=%d",
+                    id, paginatedTransactions.getNumber()+1, paginatedTransactions.getSize()));
+
+        if (paginatedTransactions.hasPrevious())
+            returnPage.setPreviousPage(String.format("/api/payment-methods/%d/transactions?view=compact&page=%d&size=%d",
+                    id, paginatedTransactions.getNumber()-1, paginatedTransactions.getSize()));
+
+        return returnPage;
+    }
+
+
     // -------------- Helpers ----------------------------
     private PaymentMethodDTO convertToDTO (PaymentMethod entity) {
         PaymentMethodDTO paymentMethodDTO = paymentMethodMapper.convertToDTO(entity);
@@ -15,6 +15,7 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 import java.util.ArrayList;
+import java.util.Currency;
 import java.util.List;
 
 @Data
@@ -38,6 +39,9 @@ public class PaymentMethodDTO {
     @NotNull(message = "type must not be null",  groups = allFieldsValidation.class)
     private PaymentType type;
 
+    @Schema(type = "string", example = "BRL", description = "ISO 4217 code, BRL when left out")
+    private Currency currency;
+
     @ToString.Exclude
     @JsonIgnore //for transactions, use the /transactions endpoint (returns a TransactionDTO)
     private List<Transaction> transactions = new ArrayList<>();
@@ -4,10 +4,11 @@
 
 package dev.mmussatto.expensetracker.entities.paymentmethod;
 
+import dev.mmussatto.expensetracker.entities.helpers.LazyCollections;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
-@Mapper
+@Mapper(uses = LazyCollections.class)
 public interface PaymentMethodMapper {
 
     PaymentMethodMapper INSTANCE = Mappers.getMapper(PaymentMethodMapper.class);
@@ -15,4 +16,7 @@ public interface PaymentMethodMapper {
     PaymentMethodDTO convertToDTO(PaymentMethod paymentMethod);
 
     PaymentMethod convertToEntity(PaymentMethodDTO paymentMethodDTO);
+
+    //Detached copy for the caches, which never hold an entity of a session
+    PaymentMethod copy(PaymentMethod paymentMethod);
 }
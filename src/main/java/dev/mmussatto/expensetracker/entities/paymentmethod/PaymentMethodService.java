@@ -5,6 +5,7 @@
 package dev.mmussatto.expensetracker.entities.paymentmethod;
 
 import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionSummaryDTO;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -26,4 +27,6 @@ public interface PaymentMethodService {
     void deletePaymentMethodById (Integer id);
 
     Page<Transaction> getPaymentMethodTransactionsById (Integer id, int page, int size);
+
+    Page<TransactionSummaryDTO> getPaymentMethodTransactionSummariesById (Integer id, int page, int size);
 }
@@ -4,11 +4,20 @@
 
 package dev.mmussatto.expensetracker.entities.paymentmethod;
 
+import dev.mmussatto.expensetracker.config.CacheConfig;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import dev.mmussatto.expensetracker.entities.summary.MonthlySpendingRepository;
 import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionRepository;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionSummaryDTO;
 import dev.mmussatto.expensetracker.exceptions.ResourceAlreadyExistsException;
 import dev.mmussatto.expensetracker.exceptions.ResourceNotFoundException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -16,9 +25,15 @@ import java.util.List;
 public class PaymentMethodServiceImpl implements PaymentMethodService {
 
     private final PaymentMethodRepository paymentMethodRepository;
+    private final TransactionRepository transactionRepository;
+    private final MonthlySpendingRepository monthlySpendingRepository;
 
-    public PaymentMethodServiceImpl(PaymentMethodRepository paymentMethodRepository) {
+    public PaymentMethodServiceImpl(PaymentMethodRepository paymentMethodRepository,
+                                    TransactionRepository transactionRepository,
+                                    MonthlySpendingRepository monthlySpendingRepository) {
         this.paymentMethodRepository = paymentMethodRepository;
+        this.transactionRepository = transactionRepository;
+        this.monthlySpendingRepository = monthlySpendingRepository;
     }
 
 
@@ -28,46 +43,54 @@ public class PaymentMethodServiceImpl implements PaymentMethodService {
     }
 
     @Override
+    @Cacheable(CacheConfig.PAYMENT_METHODS)
     public PaymentMethod getPaymentMethodById(Integer id) {
         return paymentMethodRepository.findById(id)
+                .map(PaymentMethodMapper.INSTANCE::copy)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment Method " + id + " not found!"));
     }
 
     @Override
+    @Cacheable(CacheConfig.PAYMENT_METHODS_BY_NAME)
     public PaymentMethod getPaymentMethodByName(String name) {
         return paymentMethodRepository.findByName(name)
+                .map(PaymentMethodMapper.INSTANCE::copy)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment Method " + name + " not found!"));
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.PAYMENT_METHODS, CacheConfig.PAYMENT_METHODS_BY_NAME}, allEntries = true)
     public PaymentMethod createNewPaymentMethod(PaymentMethod paymentMethod) {
 
-        checkIfNameIsAlreadyInUse(paymentMethod);
+        if (paymentMethod.getCurrency() == null)
+            paymentMethod.setCurrency(Money.DEFAULT_CURRENCY);
 
-        return paymentMethodRepository.save(paymentMethod);
+        return save(paymentMethod);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.PAYMENT_METHODS, CacheConfig.PAYMENT_METHODS_BY_NAME}, allEntries = true)
     public PaymentMethod updatePaymentMethodById(Integer id, PaymentMethod paymentMethod) {
 
         paymentMethodRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment Method " + id + " not found!"));
 
-        checkIfNameIsAlreadyInUse(paymentMethod);
-
         paymentMethod.setId(id);
 
-        return paymentMethodRepository.save(paymentMethod);
+        if (paymentMethod.getCurrency() == null)
+            paymentMethod.setCurrency(Money.DEFAULT_CURRENCY);
+
+        return save(paymentMethod);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.PAYMENT_METHODS, CacheConfig.PAYMENT_METHODS_BY_NAME}, allEntries = true)
     public PaymentMethod patchPaymentMethodById(Integer id, PaymentMethod paymentMethod) {
 
         return paymentMethodRepository.findById(id).map(savedEntity -> {
 
             //Update name
             if (paymentMethod.getName() != null) {
-                checkIfNameIsAlreadyInUse(paymentMethod);
                 savedEntity.setName(paymentMethod.getName());
             }
 
@@ -75,42 +98,64 @@ public class PaymentMethodServiceImpl implements PaymentMethodService {
             if (paymentMethod.getType() != null)
                 savedEntity.setType(paymentMethod.getType());
 
+            //Update currency
+            if (paymentMethod.getCurrency() != null)
+                savedEntity.setCurrency(paymentMethod.getCurrency());
+
             //Save
-            return paymentMethodRepository.save(savedEntity);
+            return save(savedEntity);
 
         }).orElseThrow(() -> new ResourceNotFoundException("Payment Method " + id + " not found!"));
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.PAYMENT_METHODS, CacheConfig.PAYMENT_METHODS_BY_NAME}, allEntries = true)
+    @Transactional
     public void deletePaymentMethodById(Integer id) {
 
         paymentMethodRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment Method " + id + " not found!"));
 
+        //Its transactions are deleted with it
+        monthlySpendingRepository.deleteByPaymentMethodId(id);
+
         paymentMethodRepository.deleteById(id);
     }
 
     @Override
     public Page<Transaction> getPaymentMethodTransactionsById(Integer id, int page, int size) {
 
-        PaymentMethod paymentMethod = paymentMethodRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Payment Method " + id + " not found!"));
+        if (!paymentMethodRepository.existsById(id))
+            throw new ResourceNotFoundException("Payment Method " + id + " not found!");
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("date"));
+
+        return transactionRepository.findByPaymentMethodId(pageable, id);
+    }
+
+    @Override
+    public Page<TransactionSummaryDTO> getPaymentMethodTransactionSummariesById(Integer id, int page, int size) {
 
-        List<Transaction>  transactions = paymentMethod.getTransactions();
+        if (!paymentMethodRepository.existsById(id))
+            throw new ResourceNotFoundException("Payment Method " + id + " not found!");
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("date"));
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), transactions.size());
 
-        return new PageImpl<>(transactions.subList(start, end), pageable, transactions.size());
+        return transactionRepository.attachTagIds(transactionRepository.findSummariesByPaymentMethodId(pageable, id));
     }
 
 
     // -------------- Helpers ----------------------------
-    private void checkIfNameIsAlreadyInUse(PaymentMethod paymentMethodDTO) {
-        paymentMethodRepository.findByName(paymentMethodDTO.getName()).ifPresent(paymentMethod -> {
-            throw new ResourceAlreadyExistsException("Payment Method " + paymentMethodDTO.getName() + " already exists.",
-                    "/api/payment-methods/" + paymentMethod.getId());
-        });
+    //The unique index on name rejects duplicates, the existing payment method is only looked up once that happens
+    private PaymentMethod save(PaymentMethod paymentMethod) {
+        try {
+            return paymentMethodRepository.saveAndFlush(paymentMethod);
+        } catch (DataIntegrityViolationException exception) {
+            PaymentMethod savedPaymentMethod = paymentMethodRepository.findByName(paymentMethod.getName())
+                    .orElseThrow(() -> exception);
+
+            throw new ResourceAlreadyExistsException("Payment Method " + paymentMethod.getName() + " already exists.",
+                    exception, "/api/payment-methods/" + savedPaymentMethod.getId());
+        }
     }
 }
@@ -0,0 +1,50 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.summary;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Currency;
+
+/**
+ * Spending of every transaction in one month with the same category, payment method, vendor and currency.
+ * Maintained by {@link SpendingRollup}, so the summaries read one row per cell instead of every transaction.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "monthly_spending")
+public class MonthlySpending {
+
+    @EmbeddedId
+    private MonthlySpendingKey id;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long count;
+
+    //Amounts are minor units of the cell's currency
+    @Column(name = "total_amount", nullable = false)
+    private Long total;
+
+    @Column(name = "min_amount")
+    private Long min;
+
+    @Column(name = "max_amount")
+    private Long max;
+
+
+    //Used by the aggregate queries over the transactions
+    public MonthlySpending(Integer year, Integer month, Integer categoryId, Integer paymentMethodId, Integer vendorId,
+                           Currency currency, Long count, Long total, Long min, Long max) {
+        this(new MonthlySpendingKey(year, month, categoryId, paymentMethodId, vendorId, currency), count, total, min, max);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.summary;
+
+import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Currency;
+
+/**
+ * Identifies one cell of the monthly spending rollup. The references are kept as plain ids so the rollup
+ * never has to load a category, payment method or vendor to be updated.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class MonthlySpendingKey implements Serializable {
+
+    @Column(name = "spending_year")
+    private Integer year;
+
+    @Column(name = "spending_month")
+    private Integer month;
+
+    @Column(name = "category_id")
+    private Integer categoryId;
+
+    @Column(name = "payment_method_id")
+    private Integer paymentMethodId;
+
+    @Column(name = "vendor_id")
+    private Integer vendorId;
+
+    //Amounts in different currencies never share a cell
+    @Column(name = "currency")
+    private Currency currency;
+
+
+    public static MonthlySpendingKey of(Transaction transaction) {
+        return new MonthlySpendingKey(
+                transaction.getDate().getYear(),
+                transaction.getDate().getMonthValue(),
+                transaction.getCategory().getId(),
+                transaction.getPaymentMethod().getId(),
+                transaction.getVendor().getId(),
+                transaction.getCurrency());
+    }
+}
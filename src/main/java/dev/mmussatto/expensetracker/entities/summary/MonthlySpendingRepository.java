@@ -0,0 +1,91 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.summary;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+
+public interface MonthlySpendingRepository extends JpaRepository<MonthlySpending, MonthlySpendingKey> {
+
+    String CELL = "new dev.mmussatto.expensetracker.entities.summary.MonthlySpending(" +
+            "year(t.date), month(t.date), t.category.id, t.paymentMethod.id, t.vendor.id, t.currency, " +
+            "count(t), sum(t.amount), min(t.amount), max(t.amount)) ";
+
+    String CELL_GROUPING = "group by year(t.date), month(t.date), t.category.id, t.paymentMethod.id, t.vendor.id, t.currency";
+
+    String ROLLUP_AGGREGATES = "s.id.currency, sum(s.count), sum(s.total), min(s.min), max(s.max)) ";
+
+    //Periods are compared as year * 100 + month, so a range of months is a single comparison
+    String ROLLUP_PERIOD = "(s.id.year * 100 + s.id.month) between :from and :to ";
+
+
+    // -------------- Maintenance ----------------------------
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from MonthlySpending s where s.id = :id")
+    Optional<MonthlySpending> findForUpdate(@Param("id") MonthlySpendingKey id);
+
+    @Query("select " + CELL + "from Transaction t " +
+            "where t.category.id = :categoryId and t.paymentMethod.id = :paymentMethodId and t.vendor.id = :vendorId " +
+            "and t.currency = :currency " +
+            "and t.date >= :from and t.date < :to and t.id <> :excludedId " + CELL_GROUPING)
+    Optional<MonthlySpending> aggregateCellExcluding(@Param("categoryId") Integer categoryId,
+                                                     @Param("paymentMethodId") Integer paymentMethodId,
+                                                     @Param("vendorId") Integer vendorId,
+                                                     @Param("currency") Currency currency,
+                                                     @Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to,
+                                                     @Param("excludedId") Integer excludedId);
+
+    @Query("select " + CELL + "from Transaction t " + CELL_GROUPING)
+    List<MonthlySpending> aggregateTransactions();
+
+    @Modifying
+    @Query("delete from MonthlySpending s where s.id.categoryId = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Integer categoryId);
+
+    @Modifying
+    @Query("delete from MonthlySpending s where s.id.paymentMethodId = :paymentMethodId")
+    int deleteByPaymentMethodId(@Param("paymentMethodId") Integer paymentMethodId);
+
+    @Modifying
+    @Query("delete from MonthlySpending s where s.id.vendorId = :vendorId")
+    int deleteByVendorId(@Param("vendorId") Integer vendorId);
+
+
+    // -------------- Summaries ----------------------------
+    @Query("select new dev.mmussatto.expensetracker.entities.summary.SpendingSummaryDTO(s.id.year, " + ROLLUP_AGGREGATES +
+            "from MonthlySpending s where " + ROLLUP_PERIOD +
+            "group by s.id.year, s.id.currency order by s.id.year")
+    List<SpendingSummaryDTO> summarizeByYear(@Param("from") int from, @Param("to") int to);
+
+    @Query("select new dev.mmussatto.expensetracker.entities.summary.SpendingSummaryDTO(s.id.year, s.id.month, " + ROLLUP_AGGREGATES +
+            "from MonthlySpending s where " + ROLLUP_PERIOD +
+            "group by s.id.year, s.id.month, s.id.currency order by s.id.year, s.id.month")
+    List<SpendingSummaryDTO> summarizeByMonth(@Param("from") int from, @Param("to") int to);
+
+    @Query("select new dev.mmussatto.expensetracker.entities.summary.SpendingSummaryDTO(c.id, c.name, " + ROLLUP_AGGREGATES +
+            "from MonthlySpending s join Category c on c.id = s.id.categoryId where " + ROLLUP_PERIOD +
+            "group by c.id, c.name, s.id.currency order by c.name")
+    List<SpendingSummaryDTO> summarizeByCategory(@Param("from") int from, @Param("to") int to);
+
+    @Query("select new dev.mmussatto.expensetracker.entities.summary.SpendingSummaryDTO(pm.id, pm.name, " + ROLLUP_AGGREGATES +
+            "from MonthlySpending s join PaymentMethod pm on pm.id = s.id.paymentMethodId where " + ROLLUP_PERIOD +
+            "group by pm.id, pm.name, s.id.currency order by pm.name")
+    List<SpendingSummaryDTO> summarizeByPaymentMethod(@Param("from") int from, @Param("to") int to);
+
+    @Query("select new dev.mmussatto.expensetracker.entities.summary.SpendingSummaryDTO(v.id, v.name, " + ROLLUP_AGGREGATES +
+            "from MonthlySpending s join Vendor v on v.id = s.id.vendorId where " + ROLLUP_PERIOD +
+            "group by v.id, v.name, s.id.currency order by v.name")
+    List<SpendingSummaryDTO> summarizeByVendor(@Param("from") int from, @Param("to") int to);
+}
@@ -0,0 +1,236 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.summary;
+
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the {@link MonthlySpending} rollup in step with the transactions. The incremental updates lock the
+ * affected cell and must run in the same transaction as the change they apply, so a rolled back write never
+ * reaches the rollup. A missing cell is first inserted empty, skipped if a concurrent write got there first, so
+ * there is always a row to lock, and the cells of one change are locked in key order so writes can't deadlock.
+ * Removing the smallest or largest amount of a cell recomputes that one cell, every other change is applied as
+ * a delta.
+ */
+@Component
+public class SpendingRollup {
+
+    private static final String CELL_COLUMNS = "spending_year, spending_month, category_id, payment_method_id, " +
+            "vendor_id, currency";
+
+    private static final String INSERT_CELL_POSTGRESQL = "insert into monthly_spending (" + CELL_COLUMNS +
+            ", transaction_count, total_amount) values (?1, ?2, ?3, ?4, ?5, ?6, 0, 0) on conflict do nothing";
+
+    private static final String INSERT_CELL_H2 = "merge into monthly_spending s " +
+            "using (values (?1, ?2, ?3, ?4, ?5, ?6)) k (" + CELL_COLUMNS + ") " +
+            "on s.spending_year = k.spending_year and s.spending_month = k.spending_month " +
+            "and s.category_id = k.category_id and s.payment_method_id = k.payment_method_id " +
+            "and s.vendor_id = k.vendor_id and s.currency = k.currency " +
+            "when not matched then insert (" + CELL_COLUMNS + ", transaction_count, total_amount) " +
+            "values (k.spending_year, k.spending_month, k.category_id, k.payment_method_id, k.vendor_id, " +
+            "k.currency, 0, 0)";
+
+    private static final Comparator<MonthlySpendingKey> LOCK_ORDER = Comparator
+            .comparing(MonthlySpendingKey::getYear)
+            .thenComparing(MonthlySpendingKey::getMonth)
+            .thenComparing(MonthlySpendingKey::getCategoryId)
+            .thenComparing(MonthlySpendingKey::getPaymentMethodId)
+            .thenComparing(MonthlySpendingKey::getVendorId)
+            .thenComparing(key -> key.getCurrency().getCurrencyCode());
+
+    private final MonthlySpendingRepository monthlySpendingRepository;
+    private final EntityManager entityManager;
+    private final int batchSize;
+    private final String insertCell;
+
+    public SpendingRollup(MonthlySpendingRepository monthlySpendingRepository,
+                          EntityManager entityManager,
+                          DataSource dataSource,
+                          @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.monthlySpendingRepository = monthlySpendingRepository;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+        this.insertCell = "PostgreSQL".equals(databaseProduct(dataSource)) ? INSERT_CELL_POSTGRESQL : INSERT_CELL_H2;
+    }
+
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Transaction transaction) {
+        long amount = transaction.getAmount().getMinorUnits();
+        include(MonthlySpendingKey.of(transaction), 1L, amount, amount, amount);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(List<Transaction> transactions) {
+
+        //One update per cell, however many transactions fall into it
+        Map<MonthlySpendingKey, LongSummaryStatistics> cells = transactions.stream()
+                .collect(Collectors.groupingBy(MonthlySpendingKey::of, () -> new TreeMap<>(LOCK_ORDER),
+                        Collectors.summarizingLong(transaction -> transaction.getAmount().getMinorUnits())));
+
+        cells.forEach((key, statistics) -> include(key, statistics.getCount(), statistics.getSum(),
+                statistics.getMin(), statistics.getMax()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Transaction transaction) {
+        removeFrom(MonthlySpendingKey.of(transaction), transaction.getId(), transaction.getAmount().getMinorUnits());
+    }
+
+    /**
+     * Moves a transaction that was saved with new values out of the cell and amount it had before.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void move(MonthlySpendingKey previousKey, Money previousAmount, Transaction transaction) {
+
+        MonthlySpendingKey key = MonthlySpendingKey.of(transaction);
+        long amount = transaction.getAmount().getMinorUnits();
+
+        if (key.equals(previousKey)) {
+            if (previousAmount.equals(transaction.getAmount()))
+                return;
+
+            //Kept when the transaction stays in it, so the row is updated instead of deleted and inserted again
+            MonthlySpending cell = monthlySpendingRepository.findForUpdate(key).orElse(null);
+            if (cell != null) {
+                exclude(cell, transaction.getId(), previousAmount.getMinorUnits());
+                addTo(cell, 1L, amount, amount, amount);
+                return;
+            }
+
+            add(transaction);
+            return;
+        }
+
+        if (LOCK_ORDER.compare(key, previousKey) < 0) {
+            add(transaction);
+            removeFrom(previousKey, transaction.getId(), previousAmount.getMinorUnits());
+        } else {
+            removeFrom(previousKey, transaction.getId(), previousAmount.getMinorUnits());
+            add(transaction);
+        }
+    }
+
+    /**
+     * Recomputes the whole rollup from the transactions. Meant to run while transactions are not being
+     * written, as changes committed during the rebuild can be missed.
+     */
+    @Transactional
+    @Scheduled(cron = "${expensetracker.rollup.rebuild-cron:-}")
+    public void rebuild() {
+        monthlySpendingRepository.deleteAllInBatch();
+
+        List<MonthlySpending> cells = monthlySpendingRepository.aggregateTransactions();
+
+        for (int i = 0; i < cells.size(); i++) {
+            entityManager.persist(cells.get(i));
+
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+
+    // -------------- Helpers ----------------------------
+    private void include(MonthlySpendingKey key, long count, long total, long min, long max) {
+
+        MonthlySpending cell = monthlySpendingRepository.findForUpdate(key).orElse(null);
+
+        //Concurrent first writes to a cell both insert it, one of them is a no-op and both then queue on the row
+        if (cell == null) {
+            entityManager.createNativeQuery(insertCell)
+                    .setParameter(1, key.getYear())
+                    .setParameter(2, key.getMonth())
+                    .setParameter(3, key.getCategoryId())
+                    .setParameter(4, key.getPaymentMethodId())
+                    .setParameter(5, key.getVendorId())
+                    .setParameter(6, key.getCurrency().getCurrencyCode())
+                    .executeUpdate();
+            cell = monthlySpendingRepository.findForUpdate(key)
+                    .orElseThrow(() -> new IllegalStateException("Rollup cell not created: " + key));
+        }
+
+        addTo(cell, count, total, min, max);
+    }
+
+    private void removeFrom(MonthlySpendingKey key, Integer transactionId, long amount) {
+
+        MonthlySpending cell = monthlySpendingRepository.findForUpdate(key).orElse(null);
+
+        //Nothing to remove from, the next rebuild brings the cell back in step
+        if (cell == null)
+            return;
+
+        exclude(cell, transactionId, amount);
+
+        if (cell.getCount() <= 0)
+            monthlySpendingRepository.delete(cell);
+    }
+
+    private void addTo(MonthlySpending cell, long count, long total, long min, long max) {
+        cell.setCount(cell.getCount() + count);
+        cell.setTotal(Math.addExact(cell.getTotal(), total));
+        cell.setMin(cell.getMin() == null ? min : Math.min(cell.getMin(), min));
+        cell.setMax(cell.getMax() == null ? max : Math.max(cell.getMax(), max));
+    }
+
+    private void exclude(MonthlySpending cell, Integer transactionId, long amount) {
+
+        if (cell.getCount() <= 1) {
+            cell.setCount(0L);
+            cell.setTotal(0L);
+            cell.setMin(null);
+            cell.setMax(null);
+            return;
+        }
+
+        //Only the extremes can't be undone with a delta
+        if (amount != cell.getMin() && amount != cell.getMax()) {
+            cell.setCount(cell.getCount() - 1);
+            cell.setTotal(Math.subtractExact(cell.getTotal(), amount));
+            return;
+        }
+
+        MonthlySpendingKey key = cell.getId();
+        LocalDateTime from = LocalDateTime.of(key.getYear(), key.getMonth(), 1, 0, 0, 0);
+
+        MonthlySpending remaining = monthlySpendingRepository.aggregateCellExcluding(key.getCategoryId(),
+                key.getPaymentMethodId(), key.getVendorId(), key.getCurrency(), from, from.plusMonths(1), transactionId)
+                .orElse(new MonthlySpending(key, 0L, 0L, null, null));
+
+        cell.setCount(remaining.getCount());
+        cell.setTotal(remaining.getTotal());
+        cell.setMin(remaining.getMin());
+        cell.setMax(remaining.getMax());
+    }
+
+    private static String databaseProduct(DataSource dataSource) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException exception) {
+            throw new IllegalStateException("Could not detect the database for the spending rollup", exception);
+        }
+    }
+}
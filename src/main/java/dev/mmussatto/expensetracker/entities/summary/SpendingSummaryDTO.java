@@ -0,0 +1,66 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.summary;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Currency;
+
+/**
+ * Aggregated spending of one group of transactions, either a period (year or year and month)
+ * or a referenced entity (category, payment method, vendor or tag). Fields of the other grouping are left out.
+ * The queries add amounts up as minor units of one currency, which the constructors turn back into money.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SpendingSummaryDTO {
+
+    private Integer year;
+    private Integer month;
+
+    private Integer id;
+    private String name;
+
+    private Currency currency;
+    private Long count;
+    private Money total;
+    private Money min;
+    private Money max;
+    private Money average;
+
+    //Per year
+    public SpendingSummaryDTO(Integer year, Currency currency, Long count, Long total, Long min, Long max) {
+        this.year = year;
+        setAggregates(currency, count, total, min, max);
+    }
+
+    //Per month
+    public SpendingSummaryDTO(Integer year, Integer month, Currency currency, Long count, Long total, Long min, Long max) {
+        this.year = year;
+        this.month = month;
+        setAggregates(currency, count, total, min, max);
+    }
+
+    //Per category, payment method, vendor or tag
+    public SpendingSummaryDTO(Integer id, String name, Currency currency, Long count, Long total, Long min, Long max) {
+        this.id = id;
+        this.name = name;
+        setAggregates(currency, count, total, min, max);
+    }
+
+    private void setAggregates(Currency currency, Long count, Long total, Long min, Long max) {
+        this.currency = currency;
+        this.count = count;
+        this.total = Money.ofMinor(total, currency);
+        this.min = Money.ofMinor(min, currency);
+        this.max = Money.ofMinor(max, currency);
+        //From the exact total rather than a floating point avg() in the database
+        this.average = this.total.divide(count);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.summary;
+
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+
+@Tag(name = "Summaries", description = "Spending totals, counts, min, max and average computed in the database, " +
+        "in the currency asked for, BRL by default")
+@RestController
+@RequestMapping("/api/summaries")
+public class SummaryController {
+
+    private final SummaryService summaryService;
+
+    public SummaryController(SummaryService summaryService) {
+        this.summaryService = summaryService;
+    }
+
+
+    @Operation(summary = "Get spending per year between two dates")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the yearly summaries", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Invalid date range", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Missing exchange rate", content = @Content)
+    })
+    @GetMapping("/years")
+    @ResponseStatus(HttpStatus.OK)
+    public List<SpendingSummaryDTO> getYearlySummaries (@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @RequestParam(value = "currency", defaultValue = Money.DEFAULT_CURRENCY_CODE, required = false) Currency currency) {
+        return summaryService.getYearlySummaries(from, to, currency);
+    }
+
+
+    @Operation(summary = "Get spending per month between two dates")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the monthly summaries", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Invalid date range", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Missing exchange rate", content = @Content)
+    })
+    @GetMapping("/months")
+    @ResponseStatus(HttpStatus.OK)
+    public List<SpendingSummaryDTO> getMonthlySummaries (@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                         @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                         @RequestParam(value = "currency", defaultValue = Money.DEFAULT_CURRENCY_CODE, required = false) Currency currency) {
+        return summaryService.getMonthlySummaries(from, to, currency);
+    }
+
+
+    @Operation(summary = "Get spending per category between two dates")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the category summaries", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Invalid date range", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Missing exchange rate", content = @Content)
+    })
+    @GetMapping("/categories")
+    @ResponseStatus(HttpStatus.OK)
+    public List<SpendingSummaryDTO> getCategorySummaries (@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                          @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                          @RequestParam(value = "currency", defaultValue = Money.DEFAULT_CURRENCY_CODE, required = false) Currency currency) {
+        return summaryService.getCategorySummaries(from, to, currency);
+    }
+
+
+    @Operation(summary = "Get spending per payment method between two dates")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the payment method summaries", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Invalid date range", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Missing exchange rate", content = @Content)
+    })
+    @GetMapping("/payment-methods")
+    @ResponseStatus(HttpStatus.OK)
+    public List<SpendingSummaryDTO> getPaymentMethodSummaries (@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                               @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                               @RequestParam(value = "currency", defaultValue = Money.DEFAULT_CURRENCY_CODE, required = false) Currency currency) {
+        return summaryService.getPaymentMethodSummaries(from, to, currency);
+    }
+
+
+    @Operation(summary = "Get spending per vendor between two dates")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the vendor summaries", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Invalid date range", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Missing exchange rate", content = @Content)
+    })
+    @GetMapping("/vendors")
+    @ResponseStatus(HttpStatus.OK)
+    public List<SpendingSummaryDTO> getVendorSummaries (@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @RequestParam(value = "currency", defaultValue = Money.DEFAULT_CURRENCY_CODE, required = false) Currency currency) {
+        return summaryService.getVendorSummaries(from, to, currency);
+    }
+
+
+    @Operation(summary = "Get spending per tag between two dates",
+            description = "A transaction with several tags counts towards each of them")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the tag summaries", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Invalid date range", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Missing exchange rate", content = @Content)
+    })
+    @GetMapping("/tags")
+    @ResponseStatus(HttpStatus.OK)
+    public List<SpendingSummaryDTO> getTagSummaries (@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                     @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                     @RequestParam(value = "currency", defaultValue = Money.DEFAULT_CURRENCY_CODE, required = false) Currency currency) {
+        return summaryService.getTagSummaries(from, to, currency);
+    }
+
+
+    @Operation(summary = "Rebuild the monthly spending rollup",
+            description = "Recomputes the rollup behind the summaries from every transaction")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Rollup rebuilt", content = @Content)
+    })
+    @PostMapping("/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void rebuildRollup () {
+        summaryService.rebuildRollup();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.summary;
+
+import dev.mmussatto.expensetracker.entities.exchangerate.ExchangeRates;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Turns summaries split by currency into one summary per group in a reporting currency. Groups already in the
+ * reporting currency are taken as aggregated, and only the transactions in the other currencies of the range
+ * are read again, each amount converted at the rate of its own day, so single currency data costs nothing extra
+ * and the min and max stay exact.
+ */
+@Component
+public class SummaryConverter {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExchangeRates exchangeRates;
+
+    public SummaryConverter(DataSource dataSource, ExchangeRates exchangeRates) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.exchangeRates = exchangeRates;
+    }
+
+
+    //The postgres driver only honors the fetch size inside a transaction
+    @Transactional(readOnly = true)
+    public List<SpendingSummaryDTO> convert(List<SpendingSummaryDTO> summaries, Grouping grouping,
+                                            LocalDateTime from, LocalDateTime to, Currency currency) {
+
+        Set<Currency> foreignCurrencies = summaries.stream()
+                .map(SpendingSummaryDTO::getCurrency)
+                .filter(summaryCurrency -> !summaryCurrency.equals(currency))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (foreignCurrencies.isEmpty())
+            return summaries;
+
+        Map<Long, Group> groups = new HashMap<>();
+        summaries.stream()
+                .filter(summary -> summary.getCurrency().equals(currency))
+                .forEach(summary -> groups.computeIfAbsent(grouping.keyOf(summary), key -> Group.of(key, summary))
+                        .add(summary));
+
+        ExchangeRates.Conversion conversion = exchangeRates.to(currency);
+
+        List<Object> arguments = new ArrayList<>();
+        foreignCurrencies.forEach(foreignCurrency -> arguments.add(foreignCurrency.getCurrencyCode()));
+        arguments.add(Timestamp.valueOf(from));
+        arguments.add(Timestamp.valueOf(to));
+
+        jdbcTemplate.query(grouping.scan(foreignCurrencies.size()), resultSet -> {
+            LocalDateTime date = resultSet.getTimestamp("date").toLocalDateTime();
+            long amount = conversion.convert(resultSet.getLong("amount"),
+                    Currency.getInstance(resultSet.getString("currency")), date.toLocalDate().toEpochDay());
+
+            Group group;
+            if (grouping.isPeriod()) {
+                group = groups.computeIfAbsent(grouping.keyOf(date), key -> Group.ofPeriod(key, grouping, date));
+            } else {
+                String name = resultSet.getString("group_name");
+                group = groups.computeIfAbsent((long) resultSet.getInt("group_id"), key -> Group.ofEntity(key, name));
+            }
+
+            group.add(amount);
+        }, arguments.toArray());
+
+        return groups.values().stream()
+                .sorted(grouping.isPeriod()
+                        ? Comparator.comparing((Group group) -> group.key)
+                        : Comparator.comparing((Group group) -> group.name).thenComparing(group -> group.key))
+                .map(group -> group.toSummary(currency))
+                .collect(Collectors.toList());
+    }
+
+
+    public enum Grouping {
+
+        YEAR(""),
+        MONTH(""),
+        CATEGORY("join category g on g.id = t.category_id "),
+        PAYMENT_METHOD("join payment_method g on g.id = t.payment_method_id "),
+        VENDOR("join vendor g on g.id = t.vendor_id "),
+        TAG("join transaction_tags tt on tt.transaction_id = t.id join tag g on g.id = tt.tag_id ");
+
+        private final String join;
+
+        Grouping(String join) {
+            this.join = join;
+        }
+
+        boolean isPeriod() {
+            return join.isEmpty();
+        }
+
+        String scan(int currencies) {
+            return "select t.date, t.amount, t.currency" +
+                    (isPeriod() ? " " : ", g.id as group_id, g.name as group_name ") +
+                    "from transaction t " + join +
+                    "where t.currency in (" + String.join(", ", Collections.nCopies(currencies, "?")) + ") " +
+                    "and t.date between ? and ?";
+        }
+
+        long keyOf(SpendingSummaryDTO summary) {
+            if (this == YEAR)
+                return summary.getYear();
+            if (this == MONTH)
+                return summary.getYear() * 100L + summary.getMonth();
+            return summary.getId();
+        }
+
+        long keyOf(LocalDateTime date) {
+            return this == YEAR ? date.getYear() : date.getYear() * 100L + date.getMonthValue();
+        }
+    }
+
+
+    private static class Group {
+
+        private long key;
+        private Integer year;
+        private Integer month;
+        private Integer id;
+        private String name;
+
+        private long count;
+        private long total;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        static Group of(long key, SpendingSummaryDTO summary) {
+            Group group = new Group();
+            group.key = key;
+            group.year = summary.getYear();
+            group.month = summary.getMonth();
+            group.id = summary.getId();
+            group.name = summary.getName();
+            return group;
+        }
+
+        static Group ofPeriod(long key, Grouping grouping, LocalDateTime date) {
+            Group group = new Group();
+            group.key = key;
+            group.year = date.getYear();
+            group.month = grouping == Grouping.MONTH ? date.getMonthValue() : null;
+            return group;
+        }
+
+        static Group ofEntity(long key, String name) {
+            Group group = new Group();
+            group.key = key;
+            group.id = (int) key;
+            group.name = name;
+            return group;
+        }
+
+        void add(SpendingSummaryDTO summary) {
+            count += summary.getCount();
+            total = Math.addExact(total, summary.getTotal().getMinorUnits());
+            min = Math.min(min, summary.getMin().getMinorUnits());
+            max = Math.max(max, summary.getMax().getMinorUnits());
+        }
+
+        void add(long amount) {
+            count++;
+            total = Math.addExact(total, amount);
+            min = Math.min(min, amount);
+            max = Math.max(max, amount);
+        }
+
+        SpendingSummaryDTO toSummary(Currency currency) {
+            if (id != null)
+                return new SpendingSummaryDTO(id, name, currency, count, total, min, max);
+            if (month != null)
+                return new SpendingSummaryDTO(year, month, currency, count, total, min, max);
+            return new SpendingSummaryDTO(year, currency, count, total, min, max);
+        }
+    }
+}
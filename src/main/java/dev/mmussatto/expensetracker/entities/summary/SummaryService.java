@@ -0,0 +1,26 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.summary;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+
+public interface SummaryService {
+
+    List<SpendingSummaryDTO> getYearlySummaries (LocalDate from, LocalDate to, Currency currency);
+
+    List<SpendingSummaryDTO> getMonthlySummaries (LocalDate from, LocalDate to, Currency currency);
+
+    List<SpendingSummaryDTO> getCategorySummaries (LocalDate from, LocalDate to, Currency currency);
+
+    List<SpendingSummaryDTO> getPaymentMethodSummaries (LocalDate from, LocalDate to, Currency currency);
+
+    List<SpendingSummaryDTO> getVendorSummaries (LocalDate from, LocalDate to, Currency currency);
+
+    List<SpendingSummaryDTO> getTagSummaries (LocalDate from, LocalDate to, Currency currency);
+
+    void rebuildRollup ();
+}
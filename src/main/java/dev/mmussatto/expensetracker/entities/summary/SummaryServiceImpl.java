@@ -0,0 +1,128 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.summary;
+
+import dev.mmussatto.expensetracker.entities.summary.SummaryConverter.Grouping;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionRepository;
+import dev.mmussatto.expensetracker.exceptions.InvalidDateRangeException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+
+@Service
+public class SummaryServiceImpl implements SummaryService {
+
+    private final TransactionRepository transactionRepository;
+    private final MonthlySpendingRepository monthlySpendingRepository;
+    private final SpendingRollup spendingRollup;
+    private final SummaryConverter summaryConverter;
+
+    public SummaryServiceImpl(TransactionRepository transactionRepository,
+                              MonthlySpendingRepository monthlySpendingRepository,
+                              SpendingRollup spendingRollup,
+                              SummaryConverter summaryConverter) {
+        this.transactionRepository = transactionRepository;
+        this.monthlySpendingRepository = monthlySpendingRepository;
+        this.spendingRollup = spendingRollup;
+        this.summaryConverter = summaryConverter;
+    }
+
+
+    @Override
+    public List<SpendingSummaryDTO> getYearlySummaries(LocalDate from, LocalDate to, Currency currency) {
+        checkRange(from, to);
+
+        List<SpendingSummaryDTO> summaries = coversWholeMonths(from, to)
+                ? monthlySpendingRepository.summarizeByYear(periodOf(from), periodOf(to))
+                : transactionRepository.summarizeByYear(startOf(from), endOf(to));
+
+        return summaryConverter.convert(summaries, Grouping.YEAR, startOf(from), endOf(to), currency);
+    }
+
+    @Override
+    public List<SpendingSummaryDTO> getMonthlySummaries(LocalDate from, LocalDate to, Currency currency) {
+        checkRange(from, to);
+
+        List<SpendingSummaryDTO> summaries = coversWholeMonths(from, to)
+                ? monthlySpendingRepository.summarizeByMonth(periodOf(from), periodOf(to))
+                : transactionRepository.summarizeByMonth(startOf(from), endOf(to));
+
+        return summaryConverter.convert(summaries, Grouping.MONTH, startOf(from), endOf(to), currency);
+    }
+
+    @Override
+    public List<SpendingSummaryDTO> getCategorySummaries(LocalDate from, LocalDate to, Currency currency) {
+        checkRange(from, to);
+
+        List<SpendingSummaryDTO> summaries = coversWholeMonths(from, to)
+                ? monthlySpendingRepository.summarizeByCategory(periodOf(from), periodOf(to))
+                : transactionRepository.summarizeByCategory(startOf(from), endOf(to));
+
+        return summaryConverter.convert(summaries, Grouping.CATEGORY, startOf(from), endOf(to), currency);
+    }
+
+    @Override
+    public List<SpendingSummaryDTO> getPaymentMethodSummaries(LocalDate from, LocalDate to, Currency currency) {
+        checkRange(from, to);
+
+        List<SpendingSummaryDTO> summaries = coversWholeMonths(from, to)
+                ? monthlySpendingRepository.summarizeByPaymentMethod(periodOf(from), periodOf(to))
+                : transactionRepository.summarizeByPaymentMethod(startOf(from), endOf(to));
+
+        return summaryConverter.convert(summaries, Grouping.PAYMENT_METHOD, startOf(from), endOf(to), currency);
+    }
+
+    @Override
+    public List<SpendingSummaryDTO> getVendorSummaries(LocalDate from, LocalDate to, Currency currency) {
+        checkRange(from, to);
+
+        List<SpendingSummaryDTO> summaries = coversWholeMonths(from, to)
+                ? monthlySpendingRepository.summarizeByVendor(periodOf(from), periodOf(to))
+                : transactionRepository.summarizeByVendor(startOf(from), endOf(to));
+
+        return summaryConverter.convert(summaries, Grouping.VENDOR, startOf(from), endOf(to), currency);
+    }
+
+    @Override
+    public List<SpendingSummaryDTO> getTagSummaries(LocalDate from, LocalDate to, Currency currency) {
+        checkRange(from, to);
+
+        //A transaction can have many tags, so tags are not part of the rollup
+        return summaryConverter.convert(transactionRepository.summarizeByTag(startOf(from), endOf(to)),
+                Grouping.TAG, startOf(from), endOf(to), currency);
+    }
+
+    @Override
+    public void rebuildRollup() {
+        spendingRollup.rebuild();
+    }
+
+
+    // -------------- Helpers ----------------------------
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to))
+            throw new InvalidDateRangeException(String.format("Invalid date range: %s is after %s", from, to));
+    }
+
+    //The rollup only answers ranges made of whole months, anything else is aggregated from the transactions
+    private boolean coversWholeMonths(LocalDate from, LocalDate to) {
+        return from.getDayOfMonth() == 1 && to.getDayOfMonth() == to.lengthOfMonth();
+    }
+
+    private int periodOf(LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+
+    private LocalDateTime startOf(LocalDate date) {
+        return date.atStartOfDay();
+    }
+
+    private LocalDateTime endOf(LocalDate date) {
+        return date.atTime(23, 59, 59);
+    }
+}
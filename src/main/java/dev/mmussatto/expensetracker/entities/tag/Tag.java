@@ -13,6 +13,9 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,6 +23,11 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "ux_tag_name", columnList = "name", unique = true))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+//Tag proxies of a request are loaded together, not one SELECT per tag
+@BatchSize(size = 100)
 public class Tag {
 
     @Id
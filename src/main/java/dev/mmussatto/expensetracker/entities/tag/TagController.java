@@ -8,6 +8,7 @@ import dev.mmussatto.expensetracker.entities.helpers.PageDTO;
 import dev.mmussatto.expensetracker.entities.transaction.Transaction;
 import dev.mmussatto.expensetracker.entities.transaction.TransactionDTO;
 import dev.mmussatto.expensetracker.entities.transaction.TransactionMapper;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionSummaryDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -179,6 +180,46 @@ public class TagController {
     }
 
 
+    @Operation(summary = "Get all transactions from a tag as compact summaries")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the tag's transactions", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "404", description = "Tag not found", content = @Content)
+    })
+    @GetMapping(value = "/{id}/transactions", params = "view=compact")
+    @ResponseStatus(HttpStatus.OK)
+    public PageDTO<TransactionSummaryDTO> getTransactionSummariesByTagId(@PathVariable final Integer id,
+                                                                         @RequestParam(value = "page", defaultValue = "0", required = false) int page,
+                                                                         @RequestParam(value = "size", defaultValue = "1", required = false) int size) {
+
+        Page<TransactionSummaryDTO> paginatedTransactions = tagService.getTransactionSummariesByTagId(id, page, size);
+
+        PageDTO<TransactionSummaryDTO> returnPage = new PageDTO<>();
+
+        returnPage.setContent(paginatedTransactions.getContent()
+                .stream()
+                .map(summary -> {
+                    summary.setPath("/api/transactions/" + summary.getId());
+                    return summary;
+                })
+                .collect(Collectors.toList()));
+
+        returnPage.setPageNo(paginatedTransactions.getNumber());
+        returnPage.setPageSize(paginatedTransactions.getSize());
+        returnPage.setTotalElements(paginatedTransactions.getTotalElements());
+        returnPage.setTotalPages(paginatedTransactions.getTotalPages());
+
+        if (paginatedTransactions.hasNext())
+            returnPage.setNextPage(String.format("/api/tags/%d/transactions?view=compact&page=%d&size=%d",
+                    id, paginatedTransactions.getNumber()+1, paginatedTransactions.getSize()));
+
+        if (paginatedTransactions.hasPrevious())
+            returnPage.setPreviousPage(String.format("/api/tags/%d/transactions?view=compact&page=%d&size=%d",
+                    id, paginatedTransactions.getNumber()-1, paginatedTransactions.getSize()));
+
+        return returnPage;
+    }
+
+
     //Mappers
     private TagDTO convertToDTO (Tag entity) {
         TagDTO tagDTO = tagMapper.convertToDTO(entity);
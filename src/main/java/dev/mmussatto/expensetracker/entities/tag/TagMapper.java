@@ -4,10 +4,11 @@
 
 package dev.mmussatto.expensetracker.entities.tag;
 
+import dev.mmussatto.expensetracker.entities.helpers.LazyCollections;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
-@Mapper
+@Mapper(uses = LazyCollections.class)
 public interface TagMapper {
 
     TagMapper INSTANCE = Mappers.getMapper(TagMapper.class);
@@ -15,4 +16,7 @@ public interface TagMapper {
     TagDTO convertToDTO(Tag tag);
 
     Tag convertToEntity(TagDTO tagDTO);
+
+    //Detached copy for the caches, which never hold an entity of a session
+    Tag copy(Tag tag);
 }
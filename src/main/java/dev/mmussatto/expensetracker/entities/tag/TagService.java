@@ -5,6 +5,7 @@
 package dev.mmussatto.expensetracker.entities.tag;
 
 import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionSummaryDTO;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -26,4 +27,6 @@ public interface TagService {
     void deleteTagById (Integer id);
 
     Page<Transaction> getTransactionsByTagId(Integer id, int page, int size);
+
+    Page<TransactionSummaryDTO> getTransactionSummariesByTagId(Integer id, int page, int size);
 }
@@ -4,9 +4,15 @@
 
 package dev.mmussatto.expensetracker.entities.tag;
 
+import dev.mmussatto.expensetracker.config.CacheConfig;
 import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionRepository;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionSummaryDTO;
 import dev.mmussatto.expensetracker.exceptions.ResourceAlreadyExistsException;
 import dev.mmussatto.expensetracker.exceptions.ResourceNotFoundException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 
@@ -16,9 +22,11 @@ import java.util.List;
 public class TagServiceImpl implements TagService {
 
     private final TagRepository tagRepository;
+    private final TransactionRepository transactionRepository;
 
-    public TagServiceImpl(TagRepository tagRepository) {
+    public TagServiceImpl(TagRepository tagRepository, TransactionRepository transactionRepository) {
         this.tagRepository = tagRepository;
+        this.transactionRepository = transactionRepository;
     }
 
 
@@ -28,46 +36,48 @@ public class TagServiceImpl implements TagService {
     }
 
     @Override
+    @Cacheable(CacheConfig.TAGS)
     public Tag getTagById(Integer id) {
         return tagRepository.findById(id)
+                .map(TagMapper.INSTANCE::copy)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("Tag %d not found!", id)));
     }
 
     @Override
+    @Cacheable(CacheConfig.TAGS_BY_NAME)
     public Tag getTagByName(String name) {
         return tagRepository.findByName(name)
+                .map(TagMapper.INSTANCE::copy)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("Tag %s not found!", name)));
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.TAGS, CacheConfig.TAGS_BY_NAME}, allEntries = true)
     public Tag createNewTag(Tag tag) {
 
-        checkIfNameIsAlreadyInUse(tag);
-
-        return tagRepository.save(tag);
+        return save(tag);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.TAGS, CacheConfig.TAGS_BY_NAME}, allEntries = true)
     public Tag updateTagById(Integer id, Tag tag) {
 
         tagRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("Tag %d not found!", id)));
 
-        checkIfNameIsAlreadyInUse(tag);
-
         tag.setId(id);
 
-        return tagRepository.save(tag);
+        return save(tag);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.TAGS, CacheConfig.TAGS_BY_NAME}, allEntries = true)
     public Tag patchTagById(Integer id, Tag tag) {
 
         return tagRepository.findById(id).map(savedEntity -> {
 
             //Update name
             if (tag.getName() != null) {
-                checkIfNameIsAlreadyInUse(tag);
                 savedEntity.setName(tag.getName());
             }
 
@@ -76,12 +86,13 @@ public class TagServiceImpl implements TagService {
                 savedEntity.setColor(tag.getColor());
 
             //Save
-            return tagRepository.save(savedEntity);
+            return save(savedEntity);
 
         }).orElseThrow(() -> new ResourceNotFoundException(String.format("Tag %d not found!", id)));
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.TAGS, CacheConfig.TAGS_BY_NAME}, allEntries = true)
     public void deleteTagById(Integer id) {
         tagRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("Tag %d not found!", id)));
@@ -91,24 +102,36 @@ public class TagServiceImpl implements TagService {
 
     @Override
     public Page<Transaction> getTransactionsByTagId(Integer id, int page, int size) {
-        Tag tag = tagRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(String.format("Tag %d not found!", id)));
+        if (!tagRepository.existsById(id))
+            throw new ResourceNotFoundException(String.format("Tag %d not found!", id));
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("date"));
+
+        return transactionRepository.findByTagsId(pageable, id);
+    }
 
-        List<Transaction>  transactions = tag.getTransactions();
+    @Override
+    public Page<TransactionSummaryDTO> getTransactionSummariesByTagId(Integer id, int page, int size) {
+        if (!tagRepository.existsById(id))
+            throw new ResourceNotFoundException(String.format("Tag %d not found!", id));
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("date"));
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), transactions.size());
 
-        return new PageImpl<>(transactions.subList(start, end), pageable, transactions.size());
+        return transactionRepository.attachTagIds(transactionRepository.findSummariesByTagsId(pageable, id));
     }
 
 
     // -------------- Helpers ----------------------------
-    private void checkIfNameIsAlreadyInUse(Tag Tag) {
-        tagRepository.findByName(Tag.getName()).ifPresent(tag -> {
-            throw new ResourceAlreadyExistsException(String.format("Tag %s already exists", Tag.getName()),
-                    "/api/tags/" + tag.getId());
-        });
+    //The unique index on name rejects duplicates, the existing tag is only looked up once that happens
+    private Tag save(Tag tag) {
+        try {
+            return tagRepository.saveAndFlush(tag);
+        } catch (DataIntegrityViolationException exception) {
+            Tag savedTag = tagRepository.findByName(tag.getName())
+                    .orElseThrow(() -> exception);
+
+            throw new ResourceAlreadyExistsException(String.format("Tag %s already exists", tag.getName()),
+                    exception, "/api/tags/" + savedTag.getId());
+        }
     }
 }
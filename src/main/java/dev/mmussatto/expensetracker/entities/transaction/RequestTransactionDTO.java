@@ -5,13 +5,18 @@
 package dev.mmussatto.expensetracker.entities.transaction;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Currency;
 import java.util.Set;
 
 @Data
@@ -23,8 +28,14 @@ public class RequestTransactionDTO {
 
     public interface allFieldsValidation {}
 
+    //Read as a plain decimal, its scale is only known once the currency is
+    @Schema(type = "number", example = "12.50")
     @NotNull(message = "amount must not be blank", groups = allFieldsValidation.class)
-    private Double amount;
+    private BigDecimal amount;
+
+    //Only accepted together with an amount
+    @Schema(type = "string", example = "BRL", description = "ISO 4217 code of the amount, BRL when left out")
+    private Currency currency;
 
     @Schema(type = "string", example = "2023-04-24T08:30:00", pattern = "yyyy-MM-dd'T'HH:mm:ss")
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
@@ -46,7 +57,7 @@ public class RequestTransactionDTO {
     @NotNull(message = "tagIds must not be null",  groups = allFieldsValidation.class)
     private Set<Integer> tagIds;
 
-    public RequestTransactionDTO(Double amount, LocalDateTime date, String description,
+    public RequestTransactionDTO(BigDecimal amount, LocalDateTime date, String description,
                                  Integer categoryId, Integer paymentMethodId, Integer vendorId, Set<Integer> tagIds) {
         this.amount = amount;
         this.date = date;
@@ -56,4 +67,21 @@ public class RequestTransactionDTO {
         this.vendorId = vendorId;
         this.tagIds = tagIds;
     }
+
+
+    @JsonIgnore
+    @AssertTrue(message = "amount has more decimal places than its currency",
+            groups = {onlyIdValidation.class, allFieldsValidation.class})
+    public boolean isAmountInCurrencyScale() {
+        Currency amountCurrency = currency == null ? Money.DEFAULT_CURRENCY : currency;
+        return amount == null || amount.stripTrailingZeros().scale() <= amountCurrency.getDefaultFractionDigits();
+    }
+
+    //A patch can't change the currency of the saved amount without saying what the amount is in it
+    @JsonIgnore
+    @AssertTrue(message = "currency must be sent together with an amount",
+            groups = {onlyIdValidation.class, allFieldsValidation.class})
+    public boolean isCurrencyWithAmount() {
+        return currency == null || amount != null;
+    }
 }
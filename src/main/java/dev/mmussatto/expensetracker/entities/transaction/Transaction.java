@@ -5,29 +5,54 @@
 package dev.mmussatto.expensetracker.entities.transaction;
 
 import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
 import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
 import dev.mmussatto.expensetracker.entities.tag.Tag;
 import dev.mmussatto.expensetracker.entities.vendor.Vendor;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
+import java.util.Currency;
 import java.util.HashSet;
 import java.util.Set;
 
 @Data
 @NoArgsConstructor
 @Entity
+//Every listing filters on a date range or a reference and orders by date, so each access path has its own index
+@Table(indexes = {
+        @Index(name = "ix_transaction_date_id", columnList = "date, id"),
+        @Index(name = "ix_transaction_category_date", columnList = "category_id, date"),
+        @Index(name = "ix_transaction_payment_method_date", columnList = "payment_method_id, date"),
+        @Index(name = "ix_transaction_vendor_date", columnList = "vendor_id, date"),
+        @Index(name = "ix_transaction_currency_date", columnList = "currency, date")
+})
+@NamedEntityGraph(name = "Transaction.references", attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("paymentMethod"),
+        @NamedAttributeNode("vendor")
+})
 public class Transaction {
 
+    //Sequence with a pooled optimizer so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     private Integer id;
 
+    //Minor units of the currency, read and written together as Money
     @NotNull
-    private Double amount;
+    private Long amount;
+
+    @NotNull
+    @Setter(AccessLevel.NONE)
+    private Currency currency = Money.DEFAULT_CURRENCY;
 
     @NotNull
     private LocalDateTime date;
@@ -47,17 +72,20 @@ public class Transaction {
     @ManyToOne
     private Vendor vendor;
 
+    //Tags of a whole page are initialized together in one query instead of a join that multiplies the rows
     @NotNull
     @ManyToMany
+    @BatchSize(size = 100)
     @JoinTable(name = "transaction_tags",
             joinColumns = @JoinColumn(name = "transaction_id"),
-            inverseJoinColumns = @JoinColumn(name = "tag_id"))
+            inverseJoinColumns = @JoinColumn(name = "tag_id"),
+            indexes = @Index(name = "ix_transaction_tags_tag_transaction", columnList = "tag_id, transaction_id"))
     private Set<Tag> tags = new HashSet<>();
 
 
-    public Transaction(Double amount, LocalDateTime date, String description, Category category,
+    public Transaction(Money amount, LocalDateTime date, String description, Category category,
                        PaymentMethod paymentMethod, Vendor vendor, Set<Tag> tags) {
-        this.amount = amount;
+        setAmount(amount);
         this.date = date;
         this.description = description;
         this.category = category;
@@ -66,4 +94,13 @@ public class Transaction {
         this.tags = tags;
     }
 
+    public Money getAmount() {
+        return amount == null ? null : Money.ofMinor(amount, currency);
+    }
+
+    public void setAmount(Money amount) {
+        this.amount = amount == null ? null : amount.getMinorUnits();
+        if (amount != null)
+            this.currency = amount.getCurrency();
+    }
 }
@@ -0,0 +1,49 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.transaction;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Persists large lists of transactions using JDBC batching. The persistence context is flushed and
+ * cleared every {@code batchSize} entities so memory stays flat however big the import is. As a repository,
+ * a constraint broken while flushing surfaces as a {@link org.springframework.dao.DataIntegrityViolationException},
+ * the same as from the Spring Data repositories.
+ */
+@Repository
+public class TransactionBatchWriter {
+
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public TransactionBatchWriter(EntityManager entityManager,
+                                  @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public int persistAll(List<Transaction> transactions) {
+
+        for (int i = 0; i < transactions.size(); i++) {
+            entityManager.persist(transactions.get(i));
+
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        return transactions.size();
+    }
+}
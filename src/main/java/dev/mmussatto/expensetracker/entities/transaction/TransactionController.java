@@ -4,18 +4,30 @@
 
 package dev.mmussatto.expensetracker.entities.transaction;
 
+import dev.mmussatto.expensetracker.entities.exchangerate.ExchangeRates;
+import dev.mmussatto.expensetracker.entities.helpers.CursorPageDTO;
 import dev.mmussatto.expensetracker.entities.helpers.PageDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Tag(name = "Transactions", description = "CRUD API for Transaction entity")
@@ -24,26 +36,34 @@ import java.util.stream.Collectors;
 @RequestMapping ("/api/transactions")
 public class TransactionController {
 
+    //Largest batch accepted in one request, larger imports are split by the client
+    static final int MAX_BATCH_SIZE = 1000;
+
     private final TransactionService transactionService;
     private final TransactionMapper transactionMapper;
+    private final ExchangeRates exchangeRates;
 
-    public TransactionController(TransactionService transactionService, TransactionMapper transactionMapper) {
+    public TransactionController(TransactionService transactionService, TransactionMapper transactionMapper,
+                                 ExchangeRates exchangeRates) {
         this.transactionService = transactionService;
         this.transactionMapper = transactionMapper;
+        this.exchangeRates = exchangeRates;
     }
 
 
     @Operation(summary = "Get all transactions with paging")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Found the transactions page", useReturnTypeSchema = true),
-            @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Missing exchange rate", content = @Content)
     })
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     public PageDTO<TransactionDTO> getPaginatedTransactions (@RequestParam(value = "page", defaultValue = "0", required = false) int page,
                                                              @RequestParam(value = "size", defaultValue = "1", required = false) int size,
                                                              @RequestParam(value = "month", required = false)  Integer month,
-                                                             @RequestParam(value = "year", required = false)  Integer year) {
+                                                             @RequestParam(value = "year", required = false)  Integer year,
+                                                             @RequestParam(value = "currency", required = false)  Currency currency) {
 
         Page<Transaction> paginatedTransactions;
         String pageURI = "/api/transactions?";
@@ -59,12 +79,16 @@ public class TransactionController {
             paginatedTransactions = transactionService.getPaginated(page, size);
         }
 
+        if (currency != null)
+            pageURI = pageURI.concat("currency=" + currency.getCurrencyCode() + "&");
+        ExchangeRates.Conversion conversion = currency == null ? null : exchangeRates.to(currency);
+
         //Create PageDTO
         PageDTO<TransactionDTO> returnPage = new PageDTO<>();
 
         returnPage.setContent(paginatedTransactions.getContent()
                 .stream()
-                .map(this::convertToDTO)
+                .map(transaction -> convertToDTO(transaction, conversion))
                 .collect(Collectors.toList()));
 
         returnPage.setPageNo(paginatedTransactions.getNumber());
@@ -84,6 +108,201 @@ public class TransactionController {
     }
 
 
+    @Operation(summary = "Get all transactions with cursor paging",
+            description = "Pass an empty 'after' to start from the first transaction and the returned 'nextCursor' to continue")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the transactions page", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Missing exchange rate", content = @Content)
+    })
+    @GetMapping(params = "after")
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPageDTO<TransactionDTO> getTransactionsAfterCursor (@RequestParam(value = "after") String after,
+                                                                    @RequestParam(value = "size", defaultValue = "1", required = false) int size,
+                                                                    @RequestParam(value = "month", required = false)  Integer month,
+                                                                    @RequestParam(value = "year", required = false)  Integer year,
+                                                                    @RequestParam(value = "currency", required = false)  Currency currency) {
+
+        Slice<Transaction> transactionsSlice;
+        String pageURI = "/api/transactions?";
+        TransactionCursor cursor = after.isEmpty() ? null : TransactionCursor.decode(after);
+
+        //Select transactions
+        if(month != null && year != null) {
+            transactionsSlice = transactionService.getTransactionsByMonthAfter(cursor, size, year, month);
+            pageURI = pageURI.concat("year=" + year + "&month=" + month + "&");
+        } else if (year != null) {
+            transactionsSlice = transactionService.getTransactionsByYearAfter(cursor, size, year);
+            pageURI = pageURI.concat("year=" + year + "&");
+        } else {
+            transactionsSlice = transactionService.getPaginatedAfter(cursor, size);
+        }
+
+        if (currency != null)
+            pageURI = pageURI.concat("currency=" + currency.getCurrencyCode() + "&");
+        ExchangeRates.Conversion conversion = currency == null ? null : exchangeRates.to(currency);
+
+        //Create CursorPageDTO
+        CursorPageDTO<TransactionDTO> returnPage = new CursorPageDTO<>();
+
+        returnPage.setContent(transactionsSlice.getContent()
+                .stream()
+                .map(transaction -> convertToDTO(transaction, conversion))
+                .collect(Collectors.toList()));
+
+        returnPage.setPageSize(transactionsSlice.getSize());
+
+        if (transactionsSlice.hasNext()) {
+            List<Transaction> content = transactionsSlice.getContent();
+            String nextCursor = TransactionCursor.of(content.get(content.size() - 1)).encode();
+
+            returnPage.setNextCursor(nextCursor);
+            returnPage.setNextPage(pageURI.concat(String.format("after=%s&size=%d", nextCursor, transactionsSlice.getSize())));
+        }
+
+        return returnPage;
+    }
+
+
+    @Operation(summary = "Get all transactions with paging as compact summaries",
+            description = "Returns only ids and names of the referenced entities")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the transactions page", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Missing exchange rate", content = @Content)
+    })
+    @GetMapping(params = "view=compact")
+    @ResponseStatus(HttpStatus.OK)
+    public PageDTO<TransactionSummaryDTO> getPaginatedTransactionSummaries (@RequestParam(value = "page", defaultValue = "0", required = false) int page,
+                                                                            @RequestParam(value = "size", defaultValue = "1", required = false) int size,
+                                                                            @RequestParam(value = "month", required = false)  Integer month,
+                                                                            @RequestParam(value = "year", required = false)  Integer year,
+                                                                            @RequestParam(value = "currency", required = false)  Currency currency) {
+
+        Page<TransactionSummaryDTO> paginatedSummaries;
+        String pageURI = "/api/transactions?view=compact&";
+
+        //Select transactions
+        if(month != null && year != null) {
+            paginatedSummaries = transactionService.getSummariesByMonth(page, size, year, month);
+            pageURI = pageURI.concat("year=" + year + "&month=" + month + "&");
+        } else if (year != null) {
+            paginatedSummaries = transactionService.getSummariesByYear(page, size, year);
+            pageURI = pageURI.concat("year=" + year + "&");
+        } else {
+            paginatedSummaries = transactionService.getSummariesPaginated(page, size);
+        }
+
+        if (currency != null)
+            pageURI = pageURI.concat("currency=" + currency.getCurrencyCode() + "&");
+        ExchangeRates.Conversion conversion = currency == null ? null : exchangeRates.to(currency);
+
+        //Create PageDTO
+        PageDTO<TransactionSummaryDTO> returnPage = new PageDTO<>();
+
+        returnPage.setContent(paginatedSummaries.getContent()
+                .stream()
+                .map(summary -> addPath(summary, conversion))
+                .collect(Collectors.toList()));
+
+        returnPage.setPageNo(paginatedSummaries.getNumber());
+        returnPage.setPageSize(paginatedSummaries.getSize());
+        returnPage.setTotalElements(paginatedSummaries.getTotalElements());
+        returnPage.setTotalPages(paginatedSummaries.getTotalPages());
+
+        if (paginatedSummaries.hasNext())
+            returnPage.setNextPage(pageURI.concat(String.format("page=%d&size=%d",
+                    paginatedSummaries.getNumber()+1, paginatedSummaries.getSize())));
+
+        if (paginatedSummaries.hasPrevious())
+            returnPage.setPreviousPage(pageURI.concat(String.format("page=%d&size=%d",
+                    paginatedSummaries.getNumber()-1, paginatedSummaries.getSize())));
+
+        return returnPage;
+    }
+
+
+    @Operation(summary = "Get all transactions with cursor paging as compact summaries",
+            description = "Pass an empty 'after' to start from the first transaction and the returned 'nextCursor' to continue")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the transactions page", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Missing exchange rate", content = @Content)
+    })
+    @GetMapping(params = {"after", "view=compact"})
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPageDTO<TransactionSummaryDTO> getTransactionSummariesAfterCursor (@RequestParam(value = "after") String after,
+                                                                                   @RequestParam(value = "size", defaultValue = "1", required = false) int size,
+                                                                                   @RequestParam(value = "month", required = false)  Integer month,
+                                                                                   @RequestParam(value = "year", required = false)  Integer year,
+                                                                                   @RequestParam(value = "currency", required = false)  Currency currency) {
+
+        Slice<TransactionSummaryDTO> summariesSlice;
+        String pageURI = "/api/transactions?view=compact&";
+        TransactionCursor cursor = after.isEmpty() ? null : TransactionCursor.decode(after);
+
+        //Select transactions
+        if(month != null && year != null) {
+            summariesSlice = transactionService.getSummariesByMonthAfter(cursor, size, year, month);
+            pageURI = pageURI.concat("year=" + year + "&month=" + month + "&");
+        } else if (year != null) {
+            summariesSlice = transactionService.getSummariesByYearAfter(cursor, size, year);
+            pageURI = pageURI.concat("year=" + year + "&");
+        } else {
+            summariesSlice = transactionService.getSummariesPaginatedAfter(cursor, size);
+        }
+
+        if (currency != null)
+            pageURI = pageURI.concat("currency=" + currency.getCurrencyCode() + "&");
+        ExchangeRates.Conversion conversion = currency == null ? null : exchangeRates.to(currency);
+
+        //Create CursorPageDTO
+        CursorPageDTO<TransactionSummaryDTO> returnPage = new CursorPageDTO<>();
+
+        returnPage.setContent(summariesSlice.getContent()
+                .stream()
+                .map(summary -> addPath(summary, conversion))
+                .collect(Collectors.toList()));
+
+        returnPage.setPageSize(summariesSlice.getSize());
+
+        if (summariesSlice.hasNext()) {
+            List<TransactionSummaryDTO> content = summariesSlice.getContent();
+            String nextCursor = TransactionCursor.of(content.get(content.size() - 1)).encode();
+
+            returnPage.setNextCursor(nextCursor);
+            returnPage.setNextPage(pageURI.concat(String.format("after=%s&size=%d", nextCursor, summariesSlice.getSize())));
+        }
+
+        return returnPage;
+    }
+
+
+    @Operation(summary = "Export transactions as NDJSON or CSV",
+            description = "Streams every transaction, optionally filtered by year and month, ordered by date")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transactions exported"),
+            @ApiResponse(responseCode = "400", description = "Bad Request", content = @Content)
+    })
+    @GetMapping("/export")
+    @ResponseStatus(HttpStatus.OK)
+    public void exportTransactions (@RequestParam(value = "format", defaultValue = "NDJSON", required = false) TransactionExportFormat format,
+                                    @RequestParam(value = "month", required = false)  Integer month,
+                                    @RequestParam(value = "year", required = false)  Integer year,
+                                    HttpServletResponse response) throws IOException {
+
+        //Before the export headers are set, so an invalid month still gets a JSON error body
+        Range<LocalDateTime> range = transactionService.getExportRange(year, month);
+
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transactions." + format.getFileExtension() + "\"");
+
+        transactionService.exportTransactions(format, range, response.getOutputStream());
+    }
+
+
     @Operation(summary = "Get a transaction by its id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Found the transaction", useReturnTypeSchema = true),
@@ -111,6 +330,27 @@ public class TransactionController {
     }
 
 
+    @Operation(summary = "Create transactions in batch")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Transactions created", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Invalid body supplied or too many transactions", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Referenced entity not found", content = @Content)
+    })
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Validated(RequestTransactionDTO.allFieldsValidation.class)
+    public BatchImportResultDTO createNewTransactions (@Valid @RequestBody
+                                                      @Size(max = MAX_BATCH_SIZE, message = "at most " + MAX_BATCH_SIZE + " transactions per batch",
+                                                              groups = RequestTransactionDTO.allFieldsValidation.class)
+                                                      List<RequestTransactionDTO> transactionDTOs) {
+        List<Transaction> entities = transactionDTOs.stream()
+                .map(this::convertRequestToEntity)
+                .collect(Collectors.toList());
+
+        return new BatchImportResultDTO(transactionService.createNewTransactions(entities));
+    }
+
+
     @Operation(summary = "Update transaction")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Transaction updated", useReturnTypeSchema = true),
@@ -161,6 +401,21 @@ public class TransactionController {
         return dto;
     }
 
+    //Amounts stay in their own currency, and the amount in the currency asked for goes next to them
+    private TransactionDTO convertToDTO (Transaction entity, ExchangeRates.Conversion conversion) {
+        TransactionDTO dto = convertToDTO(entity);
+        if (conversion != null)
+            dto.setConvertedAmount(conversion.convert(dto.getAmount(), dto.getDate().toLocalDate()));
+        return dto;
+    }
+
+    private TransactionSummaryDTO addPath (TransactionSummaryDTO summary, ExchangeRates.Conversion conversion) {
+        summary.setPath("/api/transactions/" + summary.getId());
+        if (conversion != null)
+            summary.setConvertedAmount(conversion.convert(summary.getAmount(), summary.getDate().toLocalDate()));
+        return summary;
+    }
+
     private Transaction convertRequestToEntity (RequestTransactionDTO dto) {
         return transactionMapper.convertRequestToEntity(dto);
     }
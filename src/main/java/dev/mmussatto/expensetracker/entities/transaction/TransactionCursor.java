@@ -0,0 +1,50 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.transaction;
+
+import dev.mmussatto.expensetracker.exceptions.InvalidCursorException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of a transaction in the (date, id) ordering used by keyset pagination.
+ * Encoded as an opaque url-safe token so clients don't depend on its content.
+ */
+@Value
+public class TransactionCursor {
+
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime date;
+    Integer id;
+
+    public static TransactionCursor of(Transaction transaction) {
+        return new TransactionCursor(transaction.getDate(), transaction.getId());
+    }
+
+    public static TransactionCursor of(TransactionSummaryDTO summary) {
+        return new TransactionCursor(summary.getDate(), summary.getId());
+    }
+
+    public static TransactionCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+
+            return new TransactionCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Integer.valueOf(value.substring(separator + 1)));
+        } catch (RuntimeException exception) {
+            throw new InvalidCursorException("Invalid cursor: " + token, exception);
+        }
+    }
+
+    public String encode() {
+        String value = date + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -5,7 +5,9 @@
 package dev.mmussatto.expensetracker.entities.transaction;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
 import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
 import dev.mmussatto.expensetracker.entities.tag.Tag;
 import dev.mmussatto.expensetracker.entities.vendor.Vendor;
@@ -17,6 +19,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Currency;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -37,7 +40,15 @@ public class TransactionDTO {
     private String path;
 
     @NotNull(message = "amount must not be blank", groups = allFieldsValidation.class)
-    private Double amount;
+    private Money amount;
+
+    @Schema(type = "string", example = "BRL", description = "ISO 4217 code of the amount, BRL when left out")
+    private Currency currency;
+
+    //The amount in the reporting currency asked for, at the rate of the transaction's date
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Money convertedAmount;
 
     @Schema(type = "string", example = "2023-04-24T08:30:00", pattern = "yyyy-MM-dd'T'HH:mm:ss")
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
@@ -59,9 +70,10 @@ public class TransactionDTO {
     @NotNull(message = "tags must not be null",  groups = allFieldsValidation.class)
     private Set<Tag> tags = new HashSet<>();
 
-    public TransactionDTO(Double amount, LocalDateTime date, String description, Category category,
+    public TransactionDTO(Money amount, LocalDateTime date, String description, Category category,
                        PaymentMethod paymentMethod, Vendor vendor, Set<Tag> tags) {
         this.amount = amount;
+        this.currency = amount == null ? null : amount.getCurrency();
         this.date = date;
         this.description = description;
         this.category = category;
@@ -0,0 +1,132 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.transaction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes transactions to an output stream as NDJSON or CSV while reading them from a forward-only cursor.
+ * Rows are read as {@link TransactionSummaryDTO} projections, which never enter the persistence context, and
+ * written out one chunk at a time, so memory stays flat however big the ledger is.
+ */
+@Component
+public class TransactionExporter {
+
+    //Rows per chunk, matches the fetch size hint on the streaming queries
+    static final int CHUNK_SIZE = 500;
+
+    private static final String CSV_HEADER = "id,date,amount,currency,description,categoryId,categoryName," +
+            "paymentMethodId,paymentMethodName,vendorId,vendorName,tagIds";
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectWriter jsonWriter;
+
+    public TransactionExporter(TransactionRepository transactionRepository, ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.jsonWriter = objectMapper.writerFor(TransactionSummaryDTO.class);
+    }
+
+    @Transactional(readOnly = true)
+    public long export(TransactionExportFormat format, LocalDateTime from, LocalDateTime to, OutputStream outputStream) {
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long exportedCount = 0;
+
+        try (Stream<TransactionSummaryDTO> summaries = from == null
+                ? transactionRepository.streamSummaries()
+                : transactionRepository.streamSummariesByDateBetween(from, to)) {
+
+            if (format == TransactionExportFormat.CSV)
+                writer.write(CSV_HEADER + "\n");
+
+            Iterator<TransactionSummaryDTO> iterator = summaries.iterator();
+            List<TransactionSummaryDTO> chunk = new ArrayList<>(CHUNK_SIZE);
+
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    writeChunk(format, chunk, writer);
+                    exportedCount += chunk.size();
+                    chunk.clear();
+                }
+            }
+
+            writer.flush();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return exportedCount;
+    }
+
+
+    // -------------- Helpers ----------------------------
+    private void writeChunk(TransactionExportFormat format, List<TransactionSummaryDTO> chunk, Writer writer) throws IOException {
+
+        //One query for the tags of the whole chunk
+        transactionRepository.attachTagIds(new SliceImpl<>(chunk));
+
+        for (TransactionSummaryDTO summary : chunk) {
+            summary.setPath("/api/transactions/" + summary.getId());
+
+            if (format == TransactionExportFormat.CSV)
+                writer.write(toCsvLine(summary));
+            else
+                writer.write(jsonWriter.writeValueAsString(summary));
+
+            writer.write("\n");
+        }
+
+        writer.flush();
+    }
+
+    private String toCsvLine(TransactionSummaryDTO summary) {
+        String tagIds = summary.getTagIds().stream()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(";"));
+
+        return Stream.of(summary.getId(), DATE_FORMATTER.format(summary.getDate()), summary.getAmount(),
+                        summary.getCurrency(), summary.getDescription(), summary.getCategoryId(), summary.getCategoryName(),
+                        summary.getPaymentMethodId(), summary.getPaymentMethodName(),
+                        summary.getVendorId(), summary.getVendorName(), tagIds)
+                .map(TransactionExporter::escapeCsv)
+                .collect(Collectors.joining(","));
+    }
+
+    private static String escapeCsv(Object value) {
+        if (value == null)
+            return "";
+
+        String text = value.toString();
+
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r"))
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+
+        return text;
+    }
+}
@@ -5,14 +5,21 @@
 package dev.mmussatto.expensetracker.entities.transaction;
 
 import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
 import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
 import dev.mmussatto.expensetracker.entities.tag.Tag;
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
 import dev.mmussatto.expensetracker.entities.vendor.defaultvendor.DefaultVendor;
+import org.hibernate.Hibernate;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Mapper
 public interface TransactionMapper {
@@ -21,6 +28,7 @@ public interface TransactionMapper {
 
     TransactionDTO convertToDTO(Transaction transaction);
 
+    @Mapping(target = "amount", expression = "java(amountIn(transactionDTO.getAmount(), transactionDTO.getCurrency()))")
     Transaction convertToEntity(TransactionDTO transactionDTO);
 
 
@@ -30,8 +38,41 @@ public interface TransactionMapper {
     @Mapping(target = "paymentMethod", source = "source.paymentMethodId")
     @Mapping(target = "vendor", source = "source.vendorId")
     @Mapping(target = "tags", source = "source.tagIds")
+    @Mapping(target = "amount", expression = "java(amountIn(source.getAmount(), source.getCurrency()))")
     Transaction convertRequestToEntity (RequestTransactionDTO source);
 
+    //Amounts are read from JSON without their currency, which comes in its own field
+    default Money amountIn(Money amount, Currency currency) {
+        return amount == null || currency == null ? amount : amount.withCurrency(currency);
+    }
+
+    //Requests are validated to have no more decimal places than the currency, so this never rounds
+    default Money amountIn(BigDecimal amount, Currency currency) {
+        return amount == null ? null : Money.of(amount, currency == null ? Money.DEFAULT_CURRENCY : currency);
+    }
+
+
+    //Resolved references are proxies, the DTO gets their targets, cached copies or loaded entities, to serialize
+    default Category unproxy(Category category) {
+        return (Category) Hibernate.unproxy(category);
+    }
+
+    default PaymentMethod unproxy(PaymentMethod paymentMethod) {
+        return (PaymentMethod) Hibernate.unproxy(paymentMethod);
+    }
+
+    default Vendor unproxy(Vendor vendor) {
+        return (Vendor) Hibernate.unproxy(vendor);
+    }
+
+    default Tag unproxy(Tag tag) {
+        return (Tag) Hibernate.unproxy(tag);
+    }
+
+    default Set<Tag> unproxy(Set<Tag> tags) {
+        return tags == null ? null : tags.stream().map(this::unproxy).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
 
     //Map objects inside request
     @Mapping(target = "id", source = "categoryId")
@@ -0,0 +1,236 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.transaction;
+
+import dev.mmussatto.expensetracker.config.CacheConfig;
+import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.category.CategoryMapper;
+import dev.mmussatto.expensetracker.entities.category.CategoryRepository;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethodMapper;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethodRepository;
+import dev.mmussatto.expensetracker.entities.tag.Tag;
+import dev.mmussatto.expensetracker.entities.tag.TagMapper;
+import dev.mmussatto.expensetracker.entities.tag.TagRepository;
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
+import dev.mmussatto.expensetracker.entities.vendor.VendorMapper;
+import dev.mmussatto.expensetracker.entities.vendor.VendorRepository;
+import dev.mmussatto.expensetracker.exceptions.ResourceNotFoundException;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Replaces the id-only category, payment method, vendor and tags of a transaction with entities of the current
+ * session. An id found in the reference caches is known to exist and becomes a getReferenceById proxy without a
+ * SELECT, whose target is set to a copy of the cached entity: the proxy writes the foreign key and the copy is what
+ * the response reads, so neither loads it. The rest of each entity type is fetched with a single findAllById,
+ * cached as a detached copy, and every missing id is reported in one exception.
+ * <p>
+ * When constraint-only validation is enabled, getReferenceById proxies are used instead and no SELECT is issued:
+ * missing entities are only detected by the foreign key constraints when the transaction is written. Proxies of
+ * uncached ids are loaded in batches when the response reads them.
+ */
+@Component
+public class TransactionReferenceResolver {
+
+    private final CategoryRepository categoryRepository;
+    private final PaymentMethodRepository paymentMethodRepository;
+    private final VendorRepository<Vendor> vendorRepository;
+    private final TagRepository tagRepository;
+
+    private final Cache categoryCache;
+    private final Cache paymentMethodCache;
+    private final Cache vendorCache;
+    private final Cache tagCache;
+
+    private final boolean constraintOnlyValidation;
+
+    public TransactionReferenceResolver(CategoryRepository categoryRepository,
+                                        PaymentMethodRepository paymentMethodRepository,
+                                        VendorRepository<Vendor> vendorRepository,
+                                        TagRepository tagRepository,
+                                        CacheManager cacheManager,
+                                        @Value("${expensetracker.transactions.constraint-only-validation:false}")
+                                        boolean constraintOnlyValidation) {
+        this.categoryRepository = categoryRepository;
+        this.paymentMethodRepository = paymentMethodRepository;
+        this.vendorRepository = vendorRepository;
+        this.tagRepository = tagRepository;
+        this.categoryCache = cacheManager.getCache(CacheConfig.CATEGORIES);
+        this.paymentMethodCache = cacheManager.getCache(CacheConfig.PAYMENT_METHODS);
+        this.vendorCache = cacheManager.getCache(CacheConfig.VENDORS);
+        this.tagCache = cacheManager.getCache(CacheConfig.TAGS);
+        this.constraintOnlyValidation = constraintOnlyValidation;
+    }
+
+
+    public boolean isConstraintOnlyValidation() {
+        return constraintOnlyValidation;
+    }
+
+    public void resolve(Transaction transaction) {
+        resolveAll(Collections.singletonList(transaction));
+    }
+
+    public void resolveAll(List<Transaction> transactions) {
+
+        Map<Integer, Category> categories = find(categoryRepository, categoryCache,
+                collectIds(transactions, transaction -> Collections.singleton(transaction.getCategory().getId())),
+                Category::getId, CategoryMapper.INSTANCE::copy);
+
+        Map<Integer, PaymentMethod> paymentMethods = find(paymentMethodRepository, paymentMethodCache,
+                collectIds(transactions, transaction -> Collections.singleton(transaction.getPaymentMethod().getId())),
+                PaymentMethod::getId, PaymentMethodMapper.INSTANCE::copy);
+
+        Map<Integer, Vendor> vendors = find(vendorRepository, vendorCache,
+                collectIds(transactions, transaction -> Collections.singleton(transaction.getVendor().getId())),
+                Vendor::getId, VendorMapper.INSTANCE::copy);
+
+        Map<Integer, Tag> tags = find(tagRepository, tagCache,
+                collectIds(transactions, transaction -> getTagIds(transaction.getTags())),
+                Tag::getId, TagMapper.INSTANCE::copy);
+
+        //Report every missing entity at once
+        List<String> missing = new ArrayList<>();
+        addMissing(missing, "Category", categories);
+        addMissing(missing, "Payment Method", paymentMethods);
+        addMissing(missing, "Vendor", vendors);
+        addMissing(missing, "Tag", tags);
+
+        if (!missing.isEmpty())
+            throw new ResourceNotFoundException(String.join(", ", missing) + " not found!");
+
+        transactions.forEach(transaction -> {
+            transaction.setCategory(categories.get(transaction.getCategory().getId()));
+            transaction.setPaymentMethod(paymentMethods.get(transaction.getPaymentMethod().getId()));
+            transaction.setVendor(vendors.get(transaction.getVendor().getId()));
+            transaction.setTags(transaction.getTags().stream()
+                    .map(tag -> tags.get(tag.getId()))
+                    .collect(Collectors.toSet()));
+        });
+    }
+
+    public Category getCategory(Integer id) {
+        return getById(categoryRepository, categoryCache, id, CategoryMapper.INSTANCE::copy,
+                "Category " + id + " not found!");
+    }
+
+    public PaymentMethod getPaymentMethod(Integer id) {
+        return getById(paymentMethodRepository, paymentMethodCache, id, PaymentMethodMapper.INSTANCE::copy,
+                "Payment Method " + id + " not found!");
+    }
+
+    public Vendor getVendor(Integer id) {
+        return getById(vendorRepository, vendorCache, id, VendorMapper.INSTANCE::copy,
+                String.format("Vendor '%d' not found!", id));
+    }
+
+    public Set<Tag> getTags(Set<Tag> tags) {
+        Set<Integer> ids = getTagIds(tags);
+        Map<Integer, Tag> savedTags = find(tagRepository, tagCache, ids, Tag::getId, TagMapper.INSTANCE::copy);
+
+        List<String> missing = new ArrayList<>();
+        addMissing(missing, "Tag", savedTags);
+
+        if (!missing.isEmpty())
+            throw new ResourceNotFoundException(missing.get(0) + " not found!");
+
+        return new HashSet<>(savedTags.values());
+    }
+
+
+    // -------------- Helpers ----------------------------
+    private <T> T getById(JpaRepository<T, Integer> repository, Cache cache, Integer id, UnaryOperator<T> copier,
+                          String notFoundMessage) {
+        Cache.ValueWrapper cached = cache.get(id);
+        if (cached != null)
+            return cachedReference(repository, id, cached, copier);
+        if (constraintOnlyValidation)
+            return repository.getReferenceById(id);
+
+        T entity = repository.findById(id).orElseThrow(() -> new ResourceNotFoundException(notFoundMessage));
+        cache.put(id, copier.apply(entity));
+        return entity;
+    }
+
+    /*
+     * Maps every requested id to its entity, or to null when it doesn't exist
+     */
+    private <T> Map<Integer, T> find(JpaRepository<T, Integer> repository, Cache cache, Set<Integer> ids,
+                                     Function<T, Integer> idGetter, UnaryOperator<T> copier) {
+        Map<Integer, T> entities = new HashMap<>();
+
+        Set<Integer> uncachedIds = new LinkedHashSet<>();
+        ids.forEach(id -> {
+            Cache.ValueWrapper cached = cache.get(id);
+            if (cached != null) {
+                entities.put(id, cachedReference(repository, id, cached, copier));
+            } else if (constraintOnlyValidation) {
+                entities.put(id, repository.getReferenceById(id));
+            } else {
+                entities.put(id, null);
+                uncachedIds.add(id);
+            }
+        });
+
+        if (!uncachedIds.isEmpty())
+            repository.findAllById(uncachedIds).forEach(entity -> {
+                entities.put(idGetter.apply(entity), entity);
+                cache.put(idGetter.apply(entity), copier.apply(entity));
+            });
+
+        return entities;
+    }
+
+    /*
+     * The cached copy only proves the id exists, the entity of the transaction is always a proxy of the current
+     * session. A fresh copy becomes the proxy's target, so the cached instance never joins a session
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T cachedReference(JpaRepository<T, Integer> repository, Integer id, Cache.ValueWrapper cached,
+                                  UnaryOperator<T> copier) {
+        T reference = repository.getReferenceById(id);
+
+        if (reference instanceof HibernateProxy) {
+            LazyInitializer initializer = ((HibernateProxy) reference).getHibernateLazyInitializer();
+            if (initializer.isUninitialized())
+                initializer.setImplementation(copier.apply((T) cached.get()));
+        }
+        return reference;
+    }
+
+    private static Set<Integer> collectIds(List<Transaction> transactions, Function<Transaction, Set<Integer>> idExtractor) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        transactions.forEach(transaction -> ids.addAll(idExtractor.apply(transaction)));
+        return ids;
+    }
+
+    private static Set<Integer> getTagIds(Set<Tag> tags) {
+        return tags.stream().map(Tag::getId).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static void addMissing(List<String> missing, String entityName, Map<Integer, ?> entities) {
+        List<Integer> missingIds = entities.entrySet().stream()
+                .filter(entry -> entry.getValue() == null)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .collect(Collectors.toList());
+
+        if (missingIds.size() == 1)
+            missing.add(entityName + " " + missingIds.get(0));
+        else if (!missingIds.isEmpty())
+            missing.add(entityName + "s " + missingIds);
+    }
+}
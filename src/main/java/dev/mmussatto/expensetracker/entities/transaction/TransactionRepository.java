@@ -4,13 +4,190 @@
 
 package dev.mmussatto.expensetracker.entities.transaction;
 
+import jakarta.persistence.QueryHint;
+import dev.mmussatto.expensetracker.entities.summary.SpendingSummaryDTO;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Integer> {
 
+    //Amounts only add up within a currency, so every group is split by it
+    String AGGREGATES = "t.currency, count(t), sum(t.amount), min(t.amount), max(t.amount)) ";
+
+    String SUMMARY_SELECT = "select new dev.mmussatto.expensetracker.entities.transaction.TransactionSummaryDTO(" +
+            "t.id, t.amount, t.currency, t.date, t.description, c.id, c.name, pm.id, pm.name, v.id, v.name) " +
+            "from Transaction t join t.category c join t.paymentMethod pm join t.vendor v ";
+
+    // -------------- List Queries ----------------------------
+    // Category, payment method and vendor are fetched in the page query itself; tags are batch loaded afterwards
+    @Override
+    @EntityGraph("Transaction.references")
+    Page<Transaction> findAll(Pageable pageable);
+
+    @EntityGraph("Transaction.references")
     Page<Transaction> findByDateBetween(Pageable pageable, LocalDateTime from, LocalDateTime to);
+
+    @EntityGraph("Transaction.references")
+    Page<Transaction> findByCategoryId(Pageable pageable, Integer categoryId);
+
+    @EntityGraph("Transaction.references")
+    Page<Transaction> findByPaymentMethodId(Pageable pageable, Integer paymentMethodId);
+
+    @EntityGraph("Transaction.references")
+    Page<Transaction> findByVendorId(Pageable pageable, Integer vendorId);
+
+    @EntityGraph("Transaction.references")
+    Page<Transaction> findByTagsId(Pageable pageable, Integer tagId);
+
+
+    // -------------- Keyset Pagination ----------------------------
+    // Slices skip the count query; the (date, id) predicate seeks past the cursor instead of using an offset
+    @EntityGraph("Transaction.references")
+    Slice<Transaction> findAllBy(Pageable pageable);
+
+    @EntityGraph("Transaction.references")
+    Slice<Transaction> findAllByDateBetween(Pageable pageable, LocalDateTime from, LocalDateTime to);
+
+    @EntityGraph("Transaction.references")
+    @Query("select t from Transaction t " +
+            "where t.date > :date or (t.date = :date and t.id > :id)")
+    Slice<Transaction> findAllAfter(Pageable pageable,
+                                    @Param("date") LocalDateTime date,
+                                    @Param("id") Integer id);
+
+    @EntityGraph("Transaction.references")
+    @Query("select t from Transaction t " +
+            "where t.date between :from and :to " +
+            "and (t.date > :date or (t.date = :date and t.id > :id))")
+    Slice<Transaction> findAllByDateBetweenAfter(Pageable pageable,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to,
+                                                 @Param("date") LocalDateTime date,
+                                                 @Param("id") Integer id);
+
+
+    // -------------- Summary Projections ----------------------------
+    // Flat rows selected straight into TransactionSummaryDTO; tag ids are attached by attachTagIds
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "select count(t) from Transaction t")
+    Page<TransactionSummaryDTO> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "where t.date between :from and :to",
+            countQuery = "select count(t) from Transaction t where t.date between :from and :to")
+    Page<TransactionSummaryDTO> findSummariesByDateBetween(Pageable pageable,
+                                                           @Param("from") LocalDateTime from,
+                                                           @Param("to") LocalDateTime to);
+
+    @Query(value = SUMMARY_SELECT + "where c.id = :categoryId",
+            countQuery = "select count(t) from Transaction t where t.category.id = :categoryId")
+    Page<TransactionSummaryDTO> findSummariesByCategoryId(Pageable pageable, @Param("categoryId") Integer categoryId);
+
+    @Query(value = SUMMARY_SELECT + "where pm.id = :paymentMethodId",
+            countQuery = "select count(t) from Transaction t where t.paymentMethod.id = :paymentMethodId")
+    Page<TransactionSummaryDTO> findSummariesByPaymentMethodId(Pageable pageable, @Param("paymentMethodId") Integer paymentMethodId);
+
+    @Query(value = SUMMARY_SELECT + "where v.id = :vendorId",
+            countQuery = "select count(t) from Transaction t where t.vendor.id = :vendorId")
+    Page<TransactionSummaryDTO> findSummariesByVendorId(Pageable pageable, @Param("vendorId") Integer vendorId);
+
+    @Query(value = SUMMARY_SELECT + "join t.tags tg where tg.id = :tagId",
+            countQuery = "select count(t) from Transaction t join t.tags tg where tg.id = :tagId")
+    Page<TransactionSummaryDTO> findSummariesByTagsId(Pageable pageable, @Param("tagId") Integer tagId);
+
+    @Query(SUMMARY_SELECT)
+    Slice<TransactionSummaryDTO> findSummarySlice(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where t.date between :from and :to")
+    Slice<TransactionSummaryDTO> findSummarySliceByDateBetween(Pageable pageable,
+                                                               @Param("from") LocalDateTime from,
+                                                               @Param("to") LocalDateTime to);
+
+    @Query(SUMMARY_SELECT + "where t.date > :date or (t.date = :date and t.id > :id)")
+    Slice<TransactionSummaryDTO> findSummarySliceAfter(Pageable pageable,
+                                                       @Param("date") LocalDateTime date,
+                                                       @Param("id") Integer id);
+
+    @Query(SUMMARY_SELECT + "where t.date between :from and :to " +
+            "and (t.date > :date or (t.date = :date and t.id > :id))")
+    Slice<TransactionSummaryDTO> findSummarySliceByDateBetweenAfter(Pageable pageable,
+                                                                    @Param("from") LocalDateTime from,
+                                                                    @Param("to") LocalDateTime to,
+                                                                    @Param("date") LocalDateTime date,
+                                                                    @Param("id") Integer id);
+
+    // -------------- Export Streams ----------------------------
+    // Forward-only cursors; the fetch size keeps the driver from buffering the whole result set
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "order by t.date, t.id")
+    Stream<TransactionSummaryDTO> streamSummaries();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "where t.date between :from and :to order by t.date, t.id")
+    Stream<TransactionSummaryDTO> streamSummariesByDateBetween(@Param("from") LocalDateTime from,
+                                                               @Param("to") LocalDateTime to);
+
+    // -------------- Spending Aggregates ----------------------------
+    // Grouped in the database, only one row per group is returned
+    @Query("select new dev.mmussatto.expensetracker.entities.summary.SpendingSummaryDTO(year(t.date), " + AGGREGATES +
+            "from Transaction t where t.date between :from and :to " +
+            "group by year(t.date), t.currency order by year(t.date)")
+    List<SpendingSummaryDTO> summarizeByYear(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select new dev.mmussatto.expensetracker.entities.summary.SpendingSummaryDTO(year(t.date), month(t.date), " + AGGREGATES +
+            "from Transaction t where t.date between :from and :to " +
+            "group by year(t.date), month(t.date), t.currency order by year(t.date), month(t.date)")
+    List<SpendingSummaryDTO> summarizeByMonth(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select new dev.mmussatto.expensetracker.entities.summary.SpendingSummaryDTO(c.id, c.name, " + AGGREGATES +
+            "from Transaction t join t.category c where t.date between :from and :to " +
+            "group by c.id, c.name, t.currency order by c.name")
+    List<SpendingSummaryDTO> summarizeByCategory(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select new dev.mmussatto.expensetracker.entities.summary.SpendingSummaryDTO(pm.id, pm.name, " + AGGREGATES +
+            "from Transaction t join t.paymentMethod pm where t.date between :from and :to " +
+            "group by pm.id, pm.name, t.currency order by pm.name")
+    List<SpendingSummaryDTO> summarizeByPaymentMethod(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select new dev.mmussatto.expensetracker.entities.summary.SpendingSummaryDTO(v.id, v.name, " + AGGREGATES +
+            "from Transaction t join t.vendor v where t.date between :from and :to " +
+            "group by v.id, v.name, t.currency order by v.name")
+    List<SpendingSummaryDTO> summarizeByVendor(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select new dev.mmussatto.expensetracker.entities.summary.SpendingSummaryDTO(tg.id, tg.name, " + AGGREGATES +
+            "from Transaction t join t.tags tg where t.date between :from and :to " +
+            "group by tg.id, tg.name, t.currency order by tg.name")
+    List<SpendingSummaryDTO> summarizeByTag(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+
+    @Query("select new dev.mmussatto.expensetracker.entities.transaction.TransactionTagId(t.id, tg.id) " +
+            "from Transaction t join t.tags tg where t.id in :ids")
+    List<TransactionTagId> findTagIdsByTransactionIdIn(@Param("ids") Collection<Integer> ids);
+
+    default <S extends Slice<TransactionSummaryDTO>> S attachTagIds(S summaries) {
+        if (summaries.isEmpty())
+            return summaries;
+
+        Map<Integer, TransactionSummaryDTO> byId = summaries.stream()
+                .collect(Collectors.toMap(TransactionSummaryDTO::getId, Function.identity()));
+
+        findTagIdsByTransactionIdIn(byId.keySet())
+                .forEach(row -> byId.get(row.getTransactionId()).getTagIds().add(row.getTagId()));
+
+        return summaries;
+    }
 }
@@ -5,7 +5,11 @@
 package dev.mmussatto.expensetracker.entities.transaction;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Slice;
 
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TransactionService {
@@ -19,10 +23,35 @@ public interface TransactionService {
 
     Page<Transaction> getTransactionsByMonth (int page, int size, int year, int month);
 
+    Slice<Transaction> getPaginatedAfter (TransactionCursor after, int size);
+
+    Slice<Transaction> getTransactionsByYearAfter (TransactionCursor after, int size, int year);
+
+    Slice<Transaction> getTransactionsByMonthAfter (TransactionCursor after, int size, int year, int month);
+
+    Page<TransactionSummaryDTO> getSummariesPaginated (int page, int size);
+
+    Page<TransactionSummaryDTO> getSummariesByYear (int page, int size, int year);
+
+    Page<TransactionSummaryDTO> getSummariesByMonth (int page, int size, int year, int month);
+
+    Slice<TransactionSummaryDTO> getSummariesPaginatedAfter (TransactionCursor after, int size);
+
+    Slice<TransactionSummaryDTO> getSummariesByYearAfter (TransactionCursor after, int size, int year);
+
+    Slice<TransactionSummaryDTO> getSummariesByMonthAfter (TransactionCursor after, int size, int year, int month);
+
+    //Checked before the export writes anything, so an invalid month still gets a JSON error body
+    Range<LocalDateTime> getExportRange (Integer year, Integer month);
+
+    long exportTransactions (TransactionExportFormat format, Range<LocalDateTime> range, OutputStream outputStream);
+
     Transaction getTransactionById (Integer id);
 
     Transaction createNewTransaction (Transaction transaction);
 
+    int createNewTransactions (List<Transaction> transactions);
+
     Transaction updateTransactionById (Integer id, Transaction transaction);
 
     Transaction patchTransactionById (Integer id, Transaction transaction);
@@ -4,52 +4,52 @@
 
 package dev.mmussatto.expensetracker.entities.transaction;
 
-import dev.mmussatto.expensetracker.entities.category.Category;
-import dev.mmussatto.expensetracker.entities.category.CategoryService;
-import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
-import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethodService;
-import dev.mmussatto.expensetracker.entities.tag.Tag;
-import dev.mmussatto.expensetracker.entities.tag.TagService;
-import dev.mmussatto.expensetracker.entities.vendor.Vendor;
-import dev.mmussatto.expensetracker.entities.vendor.VendorService;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import dev.mmussatto.expensetracker.entities.summary.MonthlySpendingKey;
+import dev.mmussatto.expensetracker.entities.summary.SpendingRollup;
 import dev.mmussatto.expensetracker.exceptions.InvalidMonthException;
 import dev.mmussatto.expensetracker.exceptions.ResourceNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.Year;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 public class TransactionServiceImpl implements TransactionService {
 
     //Repo
     private final TransactionRepository transactionRepository;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final TransactionExporter transactionExporter;
 
-    //Entity services
-    private final CategoryService categoryService;
-    private final PaymentMethodService paymentMethodService;
-    private final VendorService vendorService;
-    private final TagService tagService;
+    //Category, payment method, vendor and tag lookups
+    private final TransactionReferenceResolver referenceResolver;
+
+    //Monthly spending, updated in the same transaction as every write
+    private final SpendingRollup spendingRollup;
 
 
     public TransactionServiceImpl(TransactionRepository transactionRepository,
-                                  CategoryService categoryService,
-                                  PaymentMethodService paymentMethodService,
-                                  VendorService vendorService,
-                                  TagService tagService) {
+                                  TransactionBatchWriter transactionBatchWriter,
+                                  TransactionExporter transactionExporter,
+                                  TransactionReferenceResolver referenceResolver,
+                                  SpendingRollup spendingRollup) {
         this.transactionRepository = transactionRepository;
-        this.categoryService = categoryService;
-        this.paymentMethodService = paymentMethodService;
-        this.vendorService = vendorService;
-        this.tagService = tagService;
+        this.transactionBatchWriter = transactionBatchWriter;
+        this.transactionExporter = transactionExporter;
+        this.referenceResolver = referenceResolver;
+        this.spendingRollup = spendingRollup;
     }
 
 
@@ -79,12 +79,7 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     public Page<Transaction> getTransactionsByMonth(int page, int size, int year, int monthNumber) {
 
-        Month month;
-        try {
-            month = Month.of(monthNumber);
-        } catch (Exception exception) {
-            throw new InvalidMonthException("Invalid value for MonthOfYear: " + monthNumber);
-        }
+        Month month = getMonth(monthNumber);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("date"));
         LocalDateTime from = LocalDateTime.of(year, month, 1, 0, 0, 0).withNano(0);
@@ -93,6 +88,127 @@ public class TransactionServiceImpl implements TransactionService {
         return transactionRepository.findByDateBetween(pageable, from, to);
     }
 
+    @Override
+    public Slice<Transaction> getPaginatedAfter(TransactionCursor after, int size) {
+
+        Pageable pageable = PageRequest.of(0, size, Sort.by("date", "id"));
+
+        if (after == null)
+            return transactionRepository.findAllBy(pageable);
+
+        return transactionRepository.findAllAfter(pageable, after.getDate(), after.getId());
+    }
+
+    @Override
+    public Slice<Transaction> getTransactionsByYearAfter(TransactionCursor after, int size, int year) {
+
+        LocalDateTime from = LocalDateTime.of(year, Month.JANUARY, 1, 0, 0, 0).withNano(0);
+        LocalDateTime to = LocalDateTime.of(year, Month.DECEMBER, 31, 23, 59, 59).withNano(0);
+
+        return getSliceBetween(after, size, from, to);
+    }
+
+    @Override
+    public Slice<Transaction> getTransactionsByMonthAfter(TransactionCursor after, int size, int year, int monthNumber) {
+
+        Month month = getMonth(monthNumber);
+
+        LocalDateTime from = LocalDateTime.of(year, month, 1, 0, 0, 0).withNano(0);
+        LocalDateTime to = LocalDateTime.of(year, month, month.length(Year.isLeap(year)), 23, 59, 59).withNano(0);
+
+        return getSliceBetween(after, size, from, to);
+    }
+
+    @Override
+    public Page<TransactionSummaryDTO> getSummariesPaginated(int page, int size) {
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("date"));
+
+        return transactionRepository.attachTagIds(transactionRepository.findSummaries(pageable));
+    }
+
+    @Override
+    public Page<TransactionSummaryDTO> getSummariesByYear(int page, int size, int year) {
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("date"));
+        LocalDateTime from = LocalDateTime.of(year, Month.JANUARY, 1, 0, 0, 0).withNano(0);
+        LocalDateTime to = LocalDateTime.of(year, Month.DECEMBER, 31, 23, 59, 59).withNano(0);
+
+        return transactionRepository.attachTagIds(transactionRepository.findSummariesByDateBetween(pageable, from, to));
+    }
+
+    @Override
+    public Page<TransactionSummaryDTO> getSummariesByMonth(int page, int size, int year, int monthNumber) {
+
+        Month month = getMonth(monthNumber);
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("date"));
+        LocalDateTime from = LocalDateTime.of(year, month, 1, 0, 0, 0).withNano(0);
+        LocalDateTime to = LocalDateTime.of(year, month, month.length(Year.isLeap(year)), 23, 59, 59).withNano(0);
+
+        return transactionRepository.attachTagIds(transactionRepository.findSummariesByDateBetween(pageable, from, to));
+    }
+
+    @Override
+    public Slice<TransactionSummaryDTO> getSummariesPaginatedAfter(TransactionCursor after, int size) {
+
+        Pageable pageable = PageRequest.of(0, size, Sort.by("date", "id"));
+
+        if (after == null)
+            return transactionRepository.attachTagIds(transactionRepository.findSummarySlice(pageable));
+
+        return transactionRepository.attachTagIds(
+                transactionRepository.findSummarySliceAfter(pageable, after.getDate(), after.getId()));
+    }
+
+    @Override
+    public Slice<TransactionSummaryDTO> getSummariesByYearAfter(TransactionCursor after, int size, int year) {
+
+        LocalDateTime from = LocalDateTime.of(year, Month.JANUARY, 1, 0, 0, 0).withNano(0);
+        LocalDateTime to = LocalDateTime.of(year, Month.DECEMBER, 31, 23, 59, 59).withNano(0);
+
+        return getSummarySliceBetween(after, size, from, to);
+    }
+
+    @Override
+    public Slice<TransactionSummaryDTO> getSummariesByMonthAfter(TransactionCursor after, int size, int year, int monthNumber) {
+
+        Month month = getMonth(monthNumber);
+
+        LocalDateTime from = LocalDateTime.of(year, month, 1, 0, 0, 0).withNano(0);
+        LocalDateTime to = LocalDateTime.of(year, month, month.length(Year.isLeap(year)), 23, 59, 59).withNano(0);
+
+        return getSummarySliceBetween(after, size, from, to);
+    }
+
+    @Override
+    public Range<LocalDateTime> getExportRange(Integer year, Integer monthNumber) {
+
+        if (monthNumber != null && year != null) {
+            Month month = getMonth(monthNumber);
+
+            LocalDateTime from = LocalDateTime.of(year, month, 1, 0, 0, 0).withNano(0);
+            LocalDateTime to = LocalDateTime.of(year, month, month.length(Year.isLeap(year)), 23, 59, 59).withNano(0);
+
+            return Range.closed(from, to);
+        }
+
+        if (year != null) {
+            LocalDateTime from = LocalDateTime.of(year, Month.JANUARY, 1, 0, 0, 0).withNano(0);
+            LocalDateTime to = LocalDateTime.of(year, Month.DECEMBER, 31, 23, 59, 59).withNano(0);
+
+            return Range.closed(from, to);
+        }
+
+        return Range.unbounded();
+    }
+
+    @Override
+    public long exportTransactions(TransactionExportFormat format, Range<LocalDateTime> range, OutputStream outputStream) {
+        return transactionExporter.export(format, range.getLowerBound().getValue().orElse(null),
+                range.getUpperBound().getValue().orElse(null), outputStream);
+    }
+
     @Override
     public Transaction getTransactionById(Integer id) {
         return transactionRepository.findById(id)
@@ -100,29 +216,62 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
+    @Transactional
     public Transaction createNewTransaction(Transaction transaction) {
 
-        checkIfEntitiesExist(transaction);
+        referenceResolver.resolve(transaction);
 
-        return transactionRepository.save(transaction);
+        Transaction savedEntity = save(transaction);
+        spendingRollup.add(savedEntity);
+
+        return savedEntity;
     }
 
     @Override
+    @Transactional
+    public int createNewTransactions(List<Transaction> transactions) {
+
+        referenceResolver.resolveAll(transactions);
+
+        int importedCount;
+        try {
+            importedCount = transactionBatchWriter.persistAll(transactions);
+        } catch (DataIntegrityViolationException exception) {
+            throw translateIntegrityViolation(exception);
+        }
+        spendingRollup.addAll(transactions);
+
+        return importedCount;
+    }
+
+    @Override
+    @Transactional
     public Transaction updateTransactionById(Integer id, Transaction transaction) {
-        transactionRepository.findById(id)
+        Transaction savedEntity = transactionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("Transaction %d not found!", id)));
 
-        checkIfEntitiesExist(transaction);
+        //Taken before the merge below overwrites the loaded entity
+        MonthlySpendingKey previousKey = MonthlySpendingKey.of(savedEntity);
+        Money previousAmount = savedEntity.getAmount();
+
+        referenceResolver.resolve(transaction);
 
         transaction.setId(id);
 
-        return transactionRepository.save(transaction);
+        Transaction updatedEntity = save(transaction);
+        spendingRollup.move(previousKey, previousAmount, updatedEntity);
+
+        return updatedEntity;
     }
 
     @Override
+    @Transactional
     public Transaction patchTransactionById(Integer id, Transaction transaction) {
         return transactionRepository.findById(id).map(savedEntity -> {
 
+            MonthlySpendingKey previousKey = MonthlySpendingKey.of(savedEntity);
+            Money previousAmount = savedEntity.getAmount();
+
             if (transaction.getAmount() != null)
                 savedEntity.setAmount(transaction.getAmount());
 
@@ -133,62 +282,90 @@ public class TransactionServiceImpl implements TransactionService {
                 savedEntity.setDescription(transaction.getDescription());
 
             //Category
-            if (transaction.getCategory() != null) {
-                Category category = categoryService.getCategoryById(transaction.getCategory().getId());
-                savedEntity.setCategory(category);
-            }
+            if (transaction.getCategory() != null)
+                savedEntity.setCategory(referenceResolver.getCategory(transaction.getCategory().getId()));
 
             //Payment Method
-            if (transaction.getPaymentMethod() != null) {
-                PaymentMethod pm = paymentMethodService.getPaymentMethodById(transaction.getPaymentMethod().getId());
-                savedEntity.setPaymentMethod(pm);
-            }
+            if (transaction.getPaymentMethod() != null)
+                savedEntity.setPaymentMethod(referenceResolver.getPaymentMethod(transaction.getPaymentMethod().getId()));
 
-            //Tags
+            //Tags, all fetched in a single query
             if (transaction.getTags() != null) {
                 savedEntity.getTags().clear();
-
-                transaction.getTags().forEach(transactionTag -> {
-                    Tag savedTag = tagService.getTagById(transactionTag.getId());
-                    savedEntity.getTags().add(savedTag);
-                });
+                savedEntity.getTags().addAll(referenceResolver.getTags(transaction.getTags()));
             }
 
             //Vendor
-            if (transaction.getVendor() != null) {
-                Vendor vendor = vendorService.getVendorById(transaction.getVendor().getId());
-                savedEntity.setVendor(vendor);
-            }
+            if (transaction.getVendor() != null)
+                savedEntity.setVendor(referenceResolver.getVendor(transaction.getVendor().getId()));
+
+            Transaction updatedEntity = save(savedEntity);
+            spendingRollup.move(previousKey, previousAmount, updatedEntity);
 
-            return transactionRepository.save(savedEntity);
+            return updatedEntity;
 
         }).orElseThrow(() -> new ResourceNotFoundException(String.format("Transaction %d not found!", id)));
     }
 
     @Override
+    @Transactional
     public void deleteTransactionById(Integer id) {
-        transactionRepository.findById(id)
+        Transaction savedEntity = transactionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("Transaction %d not found!", id)));
 
+        spendingRollup.remove(savedEntity);
+
         transactionRepository.deleteById(id);
     }
 
 
     // -------------- Helpers ----------------------------
-    private void checkIfEntitiesExist(Transaction transaction) {
+    private Month getMonth(int monthNumber) {
+        try {
+            return Month.of(monthNumber);
+        } catch (Exception exception) {
+            throw new InvalidMonthException("Invalid value for MonthOfYear: " + monthNumber);
+        }
+    }
+
+    private Slice<Transaction> getSliceBetween(TransactionCursor after, int size, LocalDateTime from, LocalDateTime to) {
+
+        Pageable pageable = PageRequest.of(0, size, Sort.by("date", "id"));
+
+        if (after == null)
+            return transactionRepository.findAllByDateBetween(pageable, from, to);
+
+        return transactionRepository.findAllByDateBetweenAfter(pageable, from, to, after.getDate(), after.getId());
+    }
+
+    private Slice<TransactionSummaryDTO> getSummarySliceBetween(TransactionCursor after, int size,
+                                                                LocalDateTime from, LocalDateTime to) {
 
-        Category category = categoryService.getCategoryById(transaction.getCategory().getId());
-        transaction.setCategory(category);
+        Pageable pageable = PageRequest.of(0, size, Sort.by("date", "id"));
 
-        PaymentMethod paymentMethod = paymentMethodService.getPaymentMethodById(transaction.getPaymentMethod().getId());
-        transaction.setPaymentMethod(paymentMethod);
+        if (after == null)
+            return transactionRepository.attachTagIds(transactionRepository.findSummarySliceByDateBetween(pageable, from, to));
+
+        return transactionRepository.attachTagIds(transactionRepository.findSummarySliceByDateBetweenAfter(pageable,
+                from, to, after.getDate(), after.getId()));
+    }
 
-        Set<Tag> tags = transaction.getTags().stream()
-                .map(tag -> tagService.getTagById(tag.getId())).collect(Collectors.toSet());
-        transaction.setTags(tags);
+    private Transaction save(Transaction transaction) {
+        try {
+            //Flushed here so a broken reference fails now, not when the surrounding transaction commits
+            Transaction savedEntity = transactionRepository.save(transaction);
+            transactionRepository.flush();
+            return savedEntity;
+        } catch (DataIntegrityViolationException exception) {
+            throw translateIntegrityViolation(exception);
+        }
+    }
 
-        Vendor vendor = vendorService.getVendorById(transaction.getVendor().getId());
-        transaction.setVendor(vendor);
+    //Without lookups, a missing reference is only detected by its foreign key
+    private RuntimeException translateIntegrityViolation(DataIntegrityViolationException exception) {
+        if (!referenceResolver.isConstraintOnlyValidation())
+            return exception;
 
+        return new ResourceNotFoundException("Category, payment method, vendor or tag not found!", exception);
     }
 }
@@ -0,0 +1,152 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.transaction;
+
+import dev.mmussatto.expensetracker.exceptions.InvalidMonthException;
+import dev.mmussatto.expensetracker.exceptions.ResourceNotFoundException;
+import org.springframework.data.domain.Range;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.util.Optional;
+
+/**
+ * Read-only transaction listings of the reactive API. They take the same filters as the paged endpoints,
+ * but return every matching transaction as one stream, as newline delimited JSON when the client accepts
+ * application/x-ndjson and as a JSON array otherwise.
+ */
+public class TransactionStreamHandler {
+
+    private final TransactionStreamRepository transactionStreamRepository;
+
+    public TransactionStreamHandler(TransactionStreamRepository transactionStreamRepository) {
+        this.transactionStreamRepository = transactionStreamRepository;
+    }
+
+
+    public Mono<ServerResponse> getTransactions(ServerRequest request) {
+        return Mono.fromCallable(() -> new Query(request))
+                .flatMap(query -> stream(request, transactionStreamRepository.findAll(query.after, query.dates)));
+    }
+
+    public Mono<ServerResponse> getTransactionsByCategoryId(ServerRequest request) {
+        return pathId(request).flatMap(id -> {
+            Query query = new Query(request);
+            return ifExists("category", id, "Category " + id + " not found!")
+                    .then(stream(request, transactionStreamRepository.findByCategoryId(id, query.after, query.dates)));
+        });
+    }
+
+    public Mono<ServerResponse> getTransactionsByPaymentMethodId(ServerRequest request) {
+        return pathId(request).flatMap(id -> {
+            Query query = new Query(request);
+            return ifExists("payment_method", id, "Payment Method " + id + " not found!")
+                    .then(stream(request, transactionStreamRepository.findByPaymentMethodId(id, query.after, query.dates)));
+        });
+    }
+
+    public Mono<ServerResponse> getTransactionsByVendorId(ServerRequest request) {
+        return pathId(request).flatMap(id -> {
+            Query query = new Query(request);
+            return ifExists("vendor", id, String.format("Vendor '%d' not found!", id))
+                    .then(stream(request, transactionStreamRepository.findByVendorId(id, query.after, query.dates)));
+        });
+    }
+
+    public Mono<ServerResponse> getTransactionsByTagId(ServerRequest request) {
+        return pathId(request).flatMap(id -> {
+            Query query = new Query(request);
+            return ifExists("tag", id, String.format("Tag %d not found!", id))
+                    .then(stream(request, transactionStreamRepository.findByTagsId(id, query.after, query.dates)));
+        });
+    }
+
+
+    // -------------- Helpers ----------------------------
+    private Mono<ServerResponse> stream(ServerRequest request, Flux<Transaction> transactions) {
+
+        MediaType mediaType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+
+        return ServerResponse.ok()
+                .contentType(mediaType)
+                .body(transactions.map(this::convertToDTO), TransactionDTO.class);
+    }
+
+    private Mono<Void> ifExists(String table, Integer id, String notFoundMessage) {
+        return transactionStreamRepository.existsById(table, id)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ResourceNotFoundException(notFoundMessage)));
+    }
+
+    //Parsed inside the chain, so a malformed id is an error signal the router answers with a 400
+    private Mono<Integer> pathId(ServerRequest request) {
+        return Mono.fromCallable(() -> parseInt("id", request.pathVariable("id")));
+    }
+
+    private Integer parseInt(String name, String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException exception) {
+            throw new ServerWebInputException(String.format("Invalid value '%s' for %s", value, name));
+        }
+    }
+
+    private Range<LocalDateTime> getDateRange(Optional<Integer> year, Optional<Integer> monthNumber) {
+
+        if (monthNumber.isPresent() && year.isPresent()) {
+            Month month = getMonth(monthNumber.get());
+            LocalDateTime from = LocalDateTime.of(year.get(), month, 1, 0, 0, 0);
+            LocalDateTime to = LocalDateTime.of(year.get(), month, month.length(Year.isLeap(year.get())), 23, 59, 59);
+            return Range.closed(from, to);
+        }
+
+        if (year.isPresent()) {
+            LocalDateTime from = LocalDateTime.of(year.get(), Month.JANUARY, 1, 0, 0, 0);
+            LocalDateTime to = LocalDateTime.of(year.get(), Month.DECEMBER, 31, 23, 59, 59);
+            return Range.closed(from, to);
+        }
+
+        return Range.unbounded();
+    }
+
+    private Month getMonth(int monthNumber) {
+        try {
+            return Month.of(monthNumber);
+        } catch (Exception exception) {
+            throw new InvalidMonthException("Invalid value for MonthOfYear: " + monthNumber);
+        }
+    }
+
+    private TransactionDTO convertToDTO(Transaction transaction) {
+        TransactionDTO transactionDTO = TransactionMapper.INSTANCE.convertToDTO(transaction);
+        transactionDTO.setPath("/api/transactions/" + transactionDTO.getId());
+        return transactionDTO;
+    }
+
+
+    //The cursor and date filters every listing takes, parsed inside the chain like the path id
+    private class Query {
+
+        private final TransactionCursor after;
+        private final Range<LocalDateTime> dates;
+
+        Query(ServerRequest request) {
+            this.after = request.queryParam("after").filter(value -> !value.isEmpty())
+                    .map(TransactionCursor::decode).orElse(null);
+            this.dates = getDateRange(request.queryParam("year").map(value -> parseInt("year", value)),
+                    request.queryParam("month").map(value -> parseInt("month", value)));
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.transaction;
+
+import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
+import dev.mmussatto.expensetracker.entities.tag.Tag;
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
+import dev.mmussatto.expensetracker.entities.vendor.defaultvendor.DefaultVendor;
+import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
+import dev.mmussatto.expensetracker.entities.vendor.physicalstore.PhysicalStore;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.Range;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking reads of transactions over R2DBC, for the streaming API. Rows are fetched in keyset pages
+ * ordered by (date, id), and the next page is only queried once the client has taken the previous one, so
+ * a connection is held for one short query at a time instead of for as long as a slow client keeps reading.
+ */
+public class TransactionStreamRepository {
+
+    static final int PAGE_SIZE = 100;
+
+    private static final String SELECT = "select t.id, t.amount, t.currency, t.date, t.description, " +
+            "c.id as category_id, c.name as category_name, c.color as category_color, " +
+            "pm.id as payment_method_id, pm.name as payment_method_name, pm.type as payment_method_type, " +
+            "pm.currency as payment_method_currency, " +
+            "v.id as vendor_id, v.name as vendor_name, " +
+            "os.id as online_store_id, os.url as vendor_url, ps.id as physical_store_id, ps.address as vendor_address " +
+            "from transaction t " +
+            "join category c on c.id = t.category_id " +
+            "join payment_method pm on pm.id = t.payment_method_id " +
+            "join vendor v on v.id = t.vendor_id " +
+            "left join online_store os on os.id = v.id " +
+            "left join physical_store ps on ps.id = v.id ";
+
+    private static final String AFTER = "(t.date > :afterDate or (t.date = :afterDate and t.id > :afterId))";
+
+    private final DatabaseClient databaseClient;
+
+    public TransactionStreamRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+
+    //An unbounded range lists every date
+    public Flux<Transaction> findAll(TransactionCursor after, Range<LocalDateTime> dates) {
+        return stream(after, dateFilter(dates));
+    }
+
+    public Flux<Transaction> findByCategoryId(Integer categoryId, TransactionCursor after, Range<LocalDateTime> dates) {
+        return stream(after, new Filter("t.category_id = :id", Collections.singletonMap("id", categoryId))
+                .and(dateFilter(dates)));
+    }
+
+    public Flux<Transaction> findByPaymentMethodId(Integer paymentMethodId, TransactionCursor after, Range<LocalDateTime> dates) {
+        return stream(after, new Filter("t.payment_method_id = :id", Collections.singletonMap("id", paymentMethodId))
+                .and(dateFilter(dates)));
+    }
+
+    public Flux<Transaction> findByVendorId(Integer vendorId, TransactionCursor after, Range<LocalDateTime> dates) {
+        return stream(after, new Filter("t.vendor_id = :id", Collections.singletonMap("id", vendorId))
+                .and(dateFilter(dates)));
+    }
+
+    public Flux<Transaction> findByTagsId(Integer tagId, TransactionCursor after, Range<LocalDateTime> dates) {
+        return stream(after, new Filter("exists (select 1 from transaction_tags tt where tt.transaction_id = t.id and tt.tag_id = :id)",
+                Collections.singletonMap("id", tagId)).and(dateFilter(dates)));
+    }
+
+    public Mono<Boolean> existsById(String table, Integer id) {
+        return databaseClient.sql("select count(*) from " + table + " where id = :id")
+                .bind("id", id)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(count -> count > 0);
+    }
+
+
+    // -------------- Helpers ----------------------------
+    private Filter dateFilter(Range<LocalDateTime> dates) {
+
+        Filter filter = new Filter("", Collections.emptyMap());
+
+        Optional<LocalDateTime> from = dates.getLowerBound().getValue();
+        if (from.isPresent())
+            filter = filter.and(new Filter("t.date >= :from", Collections.singletonMap("from", from.get())));
+
+        Optional<LocalDateTime> to = dates.getUpperBound().getValue();
+        if (to.isPresent())
+            filter = filter.and(new Filter("t.date <= :to", Collections.singletonMap("to", to.get())));
+
+        return filter;
+    }
+
+    private Flux<Transaction> stream(TransactionCursor after, Filter filter) {
+
+        //Each page starts after the last transaction of the previous one, a short page means there's nothing left
+        return findPage(after, filter)
+                .expand(page -> page.size() < PAGE_SIZE
+                        ? Mono.empty()
+                        : findPage(TransactionCursor.of(page.get(page.size() - 1)), filter))
+                .concatMapIterable(Function.identity());
+    }
+
+    private Mono<List<Transaction>> findPage(TransactionCursor after, Filter filter) {
+
+        List<String> conditions = new ArrayList<>();
+        if (!filter.condition.isEmpty())
+            conditions.add(filter.condition);
+        if (after != null)
+            conditions.add(AFTER);
+
+        String sql = SELECT
+                + (conditions.isEmpty() ? "" : "where " + String.join(" and ", conditions) + " ")
+                + "order by t.date, t.id limit " + PAGE_SIZE;
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (Map.Entry<String, Object> parameter : filter.parameters.entrySet())
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        if (after != null)
+            spec = spec.bind("afterDate", after.getDate()).bind("afterId", after.getId());
+
+        return spec.map(this::mapTransaction)
+                .all()
+                .collectList()
+                .flatMap(this::fetchTags);
+    }
+
+    //Tags of a whole page are read together in one query instead of a join that multiplies the rows
+    private Mono<List<Transaction>> fetchTags(List<Transaction> page) {
+
+        if (page.isEmpty())
+            return Mono.just(page);
+
+        Map<Integer, Transaction> transactions = page.stream()
+                .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+
+        return databaseClient.sql("select tt.transaction_id, tg.id, tg.name, tg.color from transaction_tags tt " +
+                        "join tag tg on tg.id = tt.tag_id where tt.transaction_id in (:ids)")
+                .bind("ids", transactions.keySet())
+                .map(row -> {
+                    Tag tag = new Tag(row.get("name", String.class), Color.valueOf(row.get("color", String.class)));
+                    tag.setId(row.get("id", Integer.class));
+                    transactions.get(row.get("transaction_id", Integer.class)).getTags().add(tag);
+                    return tag;
+                })
+                .all()
+                .then(Mono.just(page));
+    }
+
+    private Transaction mapTransaction(Readable row) {
+
+        Category category = new Category(row.get("category_name", String.class),
+                Color.valueOf(row.get("category_color", String.class)));
+        category.setId(row.get("category_id", Integer.class));
+
+        PaymentMethod paymentMethod = new PaymentMethod(row.get("payment_method_name", String.class),
+                PaymentType.valueOf(row.get("payment_method_type", String.class)));
+        paymentMethod.setId(row.get("payment_method_id", Integer.class));
+        paymentMethod.setCurrency(Currency.getInstance(row.get("payment_method_currency", String.class)));
+
+        Vendor vendor;
+        if (row.get("online_store_id", Integer.class) != null)
+            vendor = new OnlineStore(row.get("vendor_name", String.class), row.get("vendor_url", String.class));
+        else if (row.get("physical_store_id", Integer.class) != null)
+            vendor = new PhysicalStore(row.get("vendor_name", String.class), row.get("vendor_address", String.class));
+        else
+            vendor = new DefaultVendor(row.get("vendor_name", String.class));
+        vendor.setId(row.get("vendor_id", Integer.class));
+
+        Transaction transaction = new Transaction(Money.ofMinor(row.get("amount", Long.class),
+                Currency.getInstance(row.get("currency", String.class))), row.get("date", LocalDateTime.class),
+                row.get("description", String.class), category, paymentMethod, vendor, new HashSet<>());
+        transaction.setId(row.get("id", Integer.class));
+
+        return transaction;
+    }
+
+
+    private static class Filter {
+
+        private final String condition;
+        private final Map<String, Object> parameters;
+
+        Filter(String condition, Map<String, Object> parameters) {
+            this.condition = condition;
+            this.parameters = parameters;
+        }
+
+        Filter and(Filter other) {
+            if (other.condition.isEmpty())
+                return this;
+            if (condition.isEmpty())
+                return other;
+
+            Map<String, Object> combined = new HashMap<>(parameters);
+            combined.putAll(other.parameters);
+            return new Filter(condition + " and " + other.condition, combined);
+        }
+    }
+}
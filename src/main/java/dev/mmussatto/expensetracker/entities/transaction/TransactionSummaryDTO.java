@@ -0,0 +1,75 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.transaction;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Flat read model returned by the list endpoints with {@code view=compact}.
+ * Built straight from a constructor expression, so no entity is loaded into the persistence context.
+ */
+@Data
+@NoArgsConstructor
+public class TransactionSummaryDTO {
+
+    private Integer id;
+
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+    private String path;
+
+    private Money amount;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Money convertedAmount;
+
+    @Schema(type = "string", example = "2023-04-24T08:30:00", pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime date;
+
+    private String description;
+
+    private Integer categoryId;
+    private String categoryName;
+
+    private Integer paymentMethodId;
+    private String paymentMethodName;
+
+    private Integer vendorId;
+    private String vendorName;
+
+    private Set<Integer> tagIds = new HashSet<>();
+
+    public TransactionSummaryDTO(Integer id, Long amount, Currency currency, LocalDateTime date, String description,
+                                 Integer categoryId, String categoryName,
+                                 Integer paymentMethodId, String paymentMethodName,
+                                 Integer vendorId, String vendorName) {
+        this.id = id;
+        this.amount = Money.ofMinor(amount, currency);
+        this.date = date;
+        this.description = description;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.paymentMethodId = paymentMethodId;
+        this.paymentMethodName = paymentMethodName;
+        this.vendorId = vendorId;
+        this.vendorName = vendorName;
+    }
+
+    //Always the currency of the amount
+    @Schema(type = "string", example = "BRL", accessMode = Schema.AccessMode.READ_ONLY)
+    public Currency getCurrency() {
+        return amount == null ? null : amount.getCurrency();
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.transaction;
+
+import lombok.Value;
+
+/**
+ * Row of the transaction_tags join table, used to fill {@link TransactionSummaryDTO#getTagIds()}.
+ */
+@Value
+public class TransactionTagId {
+
+    Integer transactionId;
+    Integer tagId;
+}
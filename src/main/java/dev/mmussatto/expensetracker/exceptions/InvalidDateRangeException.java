@@ -0,0 +1,27 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.exceptions;
+
+public class InvalidDateRangeException extends RuntimeException{
+
+    public InvalidDateRangeException() {
+    }
+
+    public InvalidDateRangeException(String message) {
+        super(message);
+    }
+
+    public InvalidDateRangeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public InvalidDateRangeException(Throwable cause) {
+        super(cause);
+    }
+
+    public InvalidDateRangeException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
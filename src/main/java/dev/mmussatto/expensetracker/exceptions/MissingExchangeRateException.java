@@ -0,0 +1,27 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.exceptions;
+
+public class MissingExchangeRateException extends RuntimeException{
+
+    public MissingExchangeRateException() {
+    }
+
+    public MissingExchangeRateException(String message) {
+        super(message);
+    }
+
+    public MissingExchangeRateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public MissingExchangeRateException(Throwable cause) {
+        super(cause);
+    }
+
+    public MissingExchangeRateException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
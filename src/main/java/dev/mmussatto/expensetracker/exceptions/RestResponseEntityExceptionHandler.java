@@ -5,8 +5,10 @@
 package dev.mmussatto.expensetracker.exceptions;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -24,12 +26,23 @@ import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 @ControllerAdvice
 public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private static final Map<String, String> UNIQUE_CONSTRAINTS = new LinkedHashMap<>();
+
+    static {
+        UNIQUE_CONSTRAINTS.put("ux_category_name", "A category with this name already exists.");
+        UNIQUE_CONSTRAINTS.put("ux_tag_name", "A tag with this name already exists.");
+        UNIQUE_CONSTRAINTS.put("ux_payment_method_name", "A payment method with this name already exists.");
+        UNIQUE_CONSTRAINTS.put("ux_vendor_name", "A vendor with this name already exists.");
+        UNIQUE_CONSTRAINTS.put("ux_online_store_url", "An online store with this url already exists.");
+        UNIQUE_CONSTRAINTS.put("ux_physical_store_address", "A physical store with this address already exists.");
+    }
 
     @ExceptionHandler({ResourceNotFoundException.class})
     public ResponseEntity<Object> handleNotFoundException (ResourceNotFoundException exception, WebRequest request) {
@@ -62,6 +75,25 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
         return new ResponseEntity<>(responseBody, new HttpHeaders(), HttpStatus.CONFLICT);
     }
 
+    //Constraint violations the services could not match to a saved resource. Only the unique indexes below mean
+    //the request duplicates saved data, any other violation is a request the database can't take
+    @ExceptionHandler({DataIntegrityViolationException.class})
+    public ResponseEntity<Object> handleDataIntegrityViolationException (DataIntegrityViolationException exception, WebRequest request) {
+
+        String uniqueMessage = uniqueConstraintMessage(exception);
+        HttpStatus status = uniqueMessage != null ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST;
+
+        Map<String, Object> responseBody = new LinkedHashMap<>();
+        responseBody.put("timestamp", LocalDateTime.now()
+                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss")));
+        responseBody.put("status", status.value());
+        responseBody.put("error", status.getReasonPhrase());
+        responseBody.put("path", ((ServletWebRequest) request).getRequest().getRequestURI());
+        responseBody.put("message", uniqueMessage != null ? uniqueMessage : "Request violates a database constraint");
+
+        return new ResponseEntity<>(responseBody, new HttpHeaders(), status);
+    }
+
 
     @ExceptionHandler(IncorrectVendorTypeException.class)
     public ResponseEntity<Object> handleInvalidIdModification(IncorrectVendorTypeException exception, WebRequest request) {
@@ -119,6 +151,56 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
     }
 
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursorException(InvalidCursorException exception, WebRequest request) {
+
+        Map<String, Object> responseBody = new LinkedHashMap<>();
+        responseBody.put("timestamp", LocalDateTime.now()
+                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss")));
+        responseBody.put("status", HttpStatus.BAD_REQUEST.value());
+        responseBody.put("error", HttpStatus.BAD_REQUEST.getReasonPhrase());
+        responseBody.put("path", ((ServletWebRequest) request).getRequest().getRequestURI());
+
+        responseBody.put("message", exception.getMessage());
+
+
+        return new ResponseEntity<>(responseBody, new HttpHeaders(), HttpStatus.BAD_REQUEST);
+    }
+
+
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<Object> handleInvalidDateRangeException(InvalidDateRangeException exception, WebRequest request) {
+
+        Map<String, Object> responseBody = new LinkedHashMap<>();
+        responseBody.put("timestamp", LocalDateTime.now()
+                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss")));
+        responseBody.put("status", HttpStatus.BAD_REQUEST.value());
+        responseBody.put("error", HttpStatus.BAD_REQUEST.getReasonPhrase());
+        responseBody.put("path", ((ServletWebRequest) request).getRequest().getRequestURI());
+
+        responseBody.put("message", exception.getMessage());
+
+
+        return new ResponseEntity<>(responseBody, new HttpHeaders(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(MissingExchangeRateException.class)
+    public ResponseEntity<Object> handleMissingExchangeRateException(MissingExchangeRateException exception, WebRequest request) {
+
+        Map<String, Object> responseBody = new LinkedHashMap<>();
+        responseBody.put("timestamp", LocalDateTime.now()
+                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss")));
+        responseBody.put("status", HttpStatus.UNPROCESSABLE_ENTITY.value());
+        responseBody.put("error", HttpStatus.UNPROCESSABLE_ENTITY.getReasonPhrase());
+        responseBody.put("path", ((ServletWebRequest) request).getRequest().getRequestURI());
+
+        responseBody.put("message", exception.getMessage());
+
+
+        return new ResponseEntity<>(responseBody, new HttpHeaders(), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+
     /*
      * Parameters passed to controller validation
      */
@@ -159,6 +241,10 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
                 errorDetails = String.format("Invalid enum value: '%s' for the field: '%s'. The value must be one of: %s.",
                         ifx.getValue(), ifx.getPath().get(ifx.getPath().size()-1).getFieldName(), Arrays.toString(ifx.getTargetType().getEnumConstants()));
             }
+            else if (ifx.getTargetType() == Money.class) {
+                errorDetails = String.format("Invalid amount: '%s' for the field: '%s'. Amounts have at most %d decimal places.",
+                        ifx.getValue(), ifx.getPath().get(ifx.getPath().size()-1).getFieldName(), Money.DEFAULT_CURRENCY.getDefaultFractionDigits());
+            }
         }
 
         Map<String, Object> responseBody = new LinkedHashMap<>();
@@ -173,4 +259,21 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
         return handleExceptionInternal(ex, responseBody, headers, status, request);
     }
 
+
+    //The databases report the index name in their own case and decorated, e.g. PUBLIC.UX_TAG_NAME ON PUBLIC.TAG(NAME)
+    private static String uniqueConstraintMessage(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            String constraint = cause instanceof org.hibernate.exception.ConstraintViolationException
+                    ? ((org.hibernate.exception.ConstraintViolationException) cause).getConstraintName()
+                    : null;
+            if (constraint == null)
+                continue;
+
+            String name = constraint.toLowerCase(Locale.ROOT);
+            for (Map.Entry<String, String> unique : UNIQUE_CONSTRAINTS.entrySet())
+                if (name.contains(unique.getKey()))
+                    return unique.getValue();
+        }
+        return null;
+    }
 }
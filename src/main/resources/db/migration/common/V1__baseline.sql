@@ -0,0 +1,93 @@
+--
+-- Created by murilo.mussatto on 17/10/2026
+--
+-- Tables of the entities as they were when migrations were introduced.
+-- Databases created by ddl-auto before that are baselined at version 0, so this script runs on them as well and
+-- only creates what they lack, the id sequence and the rollup table. Hence every statement is guarded.
+
+create sequence if not exists transaction_seq start with 1 increment by 50;
+
+create table if not exists category (
+    id integer generated by default as identity,
+    name varchar(255) not null,
+    color varchar(255) not null,
+    primary key (id)
+);
+
+create table if not exists tag (
+    id integer generated by default as identity,
+    name varchar(255) not null,
+    color varchar(255) not null,
+    primary key (id)
+);
+
+create table if not exists payment_method (
+    id integer generated by default as identity,
+    name varchar(255) not null,
+    type varchar(255) not null,
+    primary key (id)
+);
+
+create table if not exists vendor (
+    id integer generated by default as identity,
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table if not exists online_store (
+    id integer not null,
+    url varchar(255),
+    primary key (id),
+    constraint fk_online_store_vendor foreign key (id) references vendor
+);
+
+create table if not exists physical_store (
+    id integer not null,
+    address varchar(255),
+    primary key (id),
+    constraint fk_physical_store_vendor foreign key (id) references vendor
+);
+
+create table if not exists transaction (
+    id integer not null,
+    amount float(53) not null,
+    date timestamp(6) not null,
+    description text,
+    category_id integer not null,
+    payment_method_id integer not null,
+    vendor_id integer not null,
+    primary key (id),
+    constraint fk_transaction_category foreign key (category_id) references category,
+    constraint fk_transaction_payment_method foreign key (payment_method_id) references payment_method,
+    constraint fk_transaction_vendor foreign key (vendor_id) references vendor
+);
+
+create table if not exists transaction_tags (
+    transaction_id integer not null,
+    tag_id integer not null,
+    primary key (transaction_id, tag_id),
+    constraint fk_transaction_tags_transaction foreign key (transaction_id) references transaction,
+    constraint fk_transaction_tags_tag foreign key (tag_id) references tag
+);
+
+create table if not exists monthly_spending (
+    spending_year integer not null,
+    spending_month integer not null,
+    category_id integer not null,
+    payment_method_id integer not null,
+    vendor_id integer not null,
+    transaction_count bigint not null,
+    total_amount float(53) not null,
+    min_amount float(53),
+    max_amount float(53),
+    primary key (spending_year, spending_month, category_id, payment_method_id, vendor_id)
+);
+
+-- Filled from the saved transactions, which a database created by ddl-auto already holds
+insert into monthly_spending (spending_year, spending_month, category_id, payment_method_id, vendor_id,
+                              transaction_count, total_amount, min_amount, max_amount)
+select extract(year from t.date), extract(month from t.date), t.category_id, t.payment_method_id, t.vendor_id,
+       count(*), sum(t.amount), min(t.amount), max(t.amount)
+from transaction t
+where not exists (select 1 from monthly_spending)
+group by extract(year from t.date), extract(month from t.date), t.category_id, t.payment_method_id, t.vendor_id;
@@ -0,0 +1,23 @@
+--
+-- Created by murilo.mussatto on 17/10/2026
+--
+-- Amounts become exact: a bigint of cents instead of a double
+
+alter table transaction add column amount_minor bigint;
+update transaction set amount_minor = round(amount * 100);
+alter table transaction alter column amount_minor set not null;
+alter table transaction drop column amount;
+alter table transaction rename column amount_minor to amount;
+
+alter table monthly_spending add column total_minor bigint;
+alter table monthly_spending add column min_minor bigint;
+alter table monthly_spending add column max_minor bigint;
+update monthly_spending set total_minor = round(total_amount * 100), min_minor = round(min_amount * 100),
+                            max_minor = round(max_amount * 100);
+alter table monthly_spending alter column total_minor set not null;
+alter table monthly_spending drop column total_amount;
+alter table monthly_spending drop column min_amount;
+alter table monthly_spending drop column max_amount;
+alter table monthly_spending rename column total_minor to total_amount;
+alter table monthly_spending rename column min_minor to min_amount;
+alter table monthly_spending rename column max_minor to max_amount;
@@ -0,0 +1,41 @@
+--
+-- Created by murilo.mussatto on 17/10/2026
+--
+-- Transactions and payment methods get a currency, existing rows are in BRL
+
+alter table transaction add column currency varchar(3) default 'BRL' not null;
+alter table payment_method add column currency varchar(3) default 'BRL' not null;
+
+-- Amounts only add up within a currency, so the rollup gets a cell per currency. It only holds derived data
+-- and is filled again right away
+drop table monthly_spending;
+
+create table monthly_spending (
+    spending_year integer not null,
+    spending_month integer not null,
+    category_id integer not null,
+    payment_method_id integer not null,
+    vendor_id integer not null,
+    currency varchar(3) not null,
+    transaction_count bigint not null,
+    total_amount bigint not null,
+    min_amount bigint,
+    max_amount bigint,
+    primary key (spending_year, spending_month, category_id, payment_method_id, vendor_id, currency)
+);
+
+insert into monthly_spending (spending_year, spending_month, category_id, payment_method_id, vendor_id, currency,
+                              transaction_count, total_amount, min_amount, max_amount)
+select extract(year from t.date), extract(month from t.date), t.category_id, t.payment_method_id, t.vendor_id,
+       t.currency, count(*), sum(t.amount), min(t.amount), max(t.amount)
+from transaction t
+group by extract(year from t.date), extract(month from t.date), t.category_id, t.payment_method_id, t.vendor_id,
+         t.currency;
+
+-- Value of one unit of the currency in BRL on the day, loaded from a rates file
+create table exchange_rate (
+    currency varchar(3) not null,
+    rate_date date not null,
+    rate numeric(19, 10) not null,
+    primary key (currency, rate_date)
+);
@@ -0,0 +1,17 @@
+--
+-- Created by murilo.mussatto on 17/10/2026
+--
+-- Same indexes as the PostgreSQL migration, without CONCURRENTLY
+
+create index if not exists ix_transaction_date_id on transaction (date, id);
+create index if not exists ix_transaction_category_date on transaction (category_id, date);
+create index if not exists ix_transaction_payment_method_date on transaction (payment_method_id, date);
+create index if not exists ix_transaction_vendor_date on transaction (vendor_id, date);
+create index if not exists ix_transaction_tags_tag_transaction on transaction_tags (tag_id, transaction_id);
+
+create unique index if not exists ux_category_name on category (name);
+create unique index if not exists ux_tag_name on tag (name);
+create unique index if not exists ux_payment_method_name on payment_method (name);
+create unique index if not exists ux_vendor_name on vendor (name);
+create unique index if not exists ux_online_store_url on online_store (url);
+create unique index if not exists ux_physical_store_address on physical_store (address);
@@ -0,0 +1,6 @@
+--
+-- Created by murilo.mussatto on 17/10/2026
+--
+-- Same index as the PostgreSQL migration, without CONCURRENTLY
+
+create index if not exists ix_transaction_currency_date on transaction (currency, date);
@@ -0,0 +1,10 @@
+--
+-- Created by murilo.mussatto on 17/10/2026
+--
+-- Same as the PostgreSQL migration. RESTART WITH sets the next value itself, so it is a whole block above the
+-- highest id, and BASE_VALUE keeps a sequence that is already further ahead where it is.
+
+alter sequence transaction_seq restart with (
+    select greatest(coalesce(max(id), 0) + 50,
+                    (select base_value from information_schema.sequences where sequence_name = 'TRANSACTION_SEQ'))
+    from transaction);
@@ -0,0 +1,19 @@
+--
+-- Created by murilo.mussatto on 17/10/2026
+--
+-- Built concurrently so reads and writes on the existing tables carry on while the indexes are created.
+-- Flyway runs a script made only of concurrent statements outside a transaction, so nothing else belongs here.
+-- IF NOT EXISTS skips indexes a previous ddl-auto=update already created.
+
+create index concurrently if not exists ix_transaction_date_id on transaction (date, id);
+create index concurrently if not exists ix_transaction_category_date on transaction (category_id, date);
+create index concurrently if not exists ix_transaction_payment_method_date on transaction (payment_method_id, date);
+create index concurrently if not exists ix_transaction_vendor_date on transaction (vendor_id, date);
+create index concurrently if not exists ix_transaction_tags_tag_transaction on transaction_tags (tag_id, transaction_id);
+
+create unique index concurrently if not exists ux_category_name on category (name);
+create unique index concurrently if not exists ux_tag_name on tag (name);
+create unique index concurrently if not exists ux_payment_method_name on payment_method (name);
+create unique index concurrently if not exists ux_vendor_name on vendor (name);
+create unique index concurrently if not exists ux_online_store_url on online_store (url);
+create unique index concurrently if not exists ux_physical_store_address on physical_store (address);
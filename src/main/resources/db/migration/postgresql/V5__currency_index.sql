@@ -0,0 +1,7 @@
+--
+-- Created by murilo.mussatto on 17/10/2026
+--
+-- Transactions of one currency over a date range, read when summaries are converted to another currency.
+-- Built concurrently like the other indexes, so this script holds nothing else.
+
+create index concurrently if not exists ix_transaction_currency_date on transaction (currency, date);
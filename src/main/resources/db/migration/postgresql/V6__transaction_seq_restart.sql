@@ -0,0 +1,9 @@
+--
+-- Created by murilo.mussatto on 17/10/2026
+--
+-- Moves transaction_seq past the ids saved before transactions used it, by ddl-auto identity columns or imports.
+-- With the pooled optimizer a value N hands out the ids N-49 to N, so the sequence is set to the highest id and
+-- the next value is a whole block above it. A sequence that is already further ahead is left where it is.
+
+select setval('transaction_seq', greatest((select coalesce(max(id), 0) from transaction),
+                                          (select last_value from transaction_seq)));
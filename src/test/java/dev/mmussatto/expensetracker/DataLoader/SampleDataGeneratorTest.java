@@ -0,0 +1,135 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.DataLoader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SampleDataGeneratorTest {
+
+    private static final LocalDate END_DATE = LocalDate.of(2023, 4, 30);
+
+    @Autowired
+    private SampleDataGenerator sampleDataGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    @AfterEach
+    void tearDown() {
+        deleteAll();
+    }
+
+
+    @Test
+    void generate() {
+        SampleDataProperties properties = properties();
+
+        assertEquals(properties.getTransactions(), sampleDataGenerator.generate(properties));
+
+        assertEquals(properties.getTransactions(), count("transaction"));
+        assertEquals(properties.getTransactions(), (long) jdbcTemplate.queryForObject(
+                "select count(distinct id) from transaction", Long.class));
+        assertEquals(properties.getCategories(), count("category"));
+        assertEquals(properties.getPaymentMethods(), count("payment_method"));
+        assertEquals(properties.getVendors(), count("vendor"));
+        assertEquals(properties.getTags(), count("tag"));
+
+        //Every transaction falls in the last two years up to the end date
+        Map<String, Object> dates = jdbcTemplate.queryForMap("select min(date) as first, max(date) as last from transaction");
+        assertFalse(((Timestamp) dates.get("first")).toLocalDateTime().toLocalDate().isBefore(END_DATE.minusYears(2)));
+        assertFalse(((Timestamp) dates.get("last")).toLocalDateTime().toLocalDate().isAfter(END_DATE));
+
+        //The rollup is rebuilt with the generated transactions
+        assertEquals(jdbcTemplate.queryForObject("select count(*) from transaction", Long.class),
+                jdbcTemplate.queryForObject("select sum(transaction_count) from monthly_spending", Long.class));
+    }
+
+    @Test
+    void generate_IsSkewed() {
+        sampleDataGenerator.generate(properties());
+
+        List<Long> vendorCounts = jdbcTemplate.queryForList(
+                "select count(*) from transaction group by vendor_id order by count(*) desc", Long.class);
+
+        //The most used vendor takes many times the transactions of the least used one
+        assertTrue(vendorCounts.get(0) > 5 * vendorCounts.get(vendorCounts.size() - 1));
+    }
+
+    @Test
+    void generate_SameSeedSameData() {
+        sampleDataGenerator.generate(properties());
+        List<Map<String, Object>> first = fingerprint();
+        deleteAll();
+
+        //A different chunking and thread count doesn't change the data
+        SampleDataProperties properties = properties();
+        properties.setThreads(1);
+        sampleDataGenerator.generate(properties);
+
+        assertEquals(first, fingerprint());
+    }
+
+    @Test
+    void generate_DifferentSeedDifferentData() {
+        sampleDataGenerator.generate(properties());
+        List<Map<String, Object>> first = fingerprint();
+        deleteAll();
+
+        SampleDataProperties properties = properties();
+        properties.setSeed(7L);
+        sampleDataGenerator.generate(properties);
+
+        assertNotEquals(first, fingerprint());
+    }
+
+
+    private SampleDataProperties properties() {
+        SampleDataProperties properties = new SampleDataProperties();
+        properties.setTransactions(1_234);
+        properties.setYears(2);
+        properties.setEndDate(END_DATE);
+        properties.setCategories(15);
+        properties.setVendors(20);
+        properties.setTags(5);
+        properties.setThreads(3);
+        properties.setBatchSize(100);
+        return properties;
+    }
+
+    //Ids depend on the sequence, so the data is compared by names
+    private List<Map<String, Object>> fingerprint() {
+        return jdbcTemplate.queryForList("select t.description, t.amount, t.date, c.name as category, " +
+                "pm.name as payment_method, v.name as vendor, " +
+                "(select count(*) from transaction_tags tt where tt.transaction_id = t.id) as tags " +
+                "from transaction t " +
+                "join category c on c.id = t.category_id " +
+                "join payment_method pm on pm.id = t.payment_method_id " +
+                "join vendor v on v.id = t.vendor_id " +
+                "order by t.description");
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+    private void deleteAll() {
+        for (String table : new String[]{"transaction_tags", "transaction", "monthly_spending", "online_store",
+                "physical_store", "vendor", "category", "payment_method", "tag"})
+            jdbcTemplate.update("delete from " + table);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the application against the embedded database, so the migrations run from scratch and
+ * Hibernate validates every entity against the schema they create.
+ */
+@SpringBootTest
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    @Test
+    void migrationsApplied() {
+        MigrationInfo[] applied = flyway.info().applied();
+
+        assertTrue(applied.length >= 2, "Baseline and index migrations not applied");
+        Arrays.stream(applied).forEach(info -> assertEquals(MigrationState.SUCCESS, info.getState(), info.getScript()));
+        assertEquals(0, flyway.info().pending().length, "Pending migrations left");
+    }
+
+    @Test
+    void indexesCreated() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "select lower(index_name) from information_schema.indexes", String.class);
+
+        assertTrue(indexes.containsAll(Arrays.asList(
+                "ix_transaction_date_id",
+                "ix_transaction_category_date",
+                "ix_transaction_payment_method_date",
+                "ix_transaction_vendor_date",
+                "ix_transaction_currency_date",
+                "ix_transaction_tags_tag_transaction",
+                "ux_category_name",
+                "ux_tag_name",
+                "ux_payment_method_name",
+                "ux_vendor_name",
+                "ux_online_store_url",
+                "ux_physical_store_address")), "Missing indexes, found " + indexes);
+    }
+
+    @Test
+    void amountsMigratedToMinorUnits() {
+        //A database still on the double amounts, migrated on its own
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:money-migration;DB_CLOSE_DELAY=-1");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .target("2")
+                .load()
+                .migrate();
+
+        JdbcTemplate database = new JdbcTemplate(dataSource);
+        database.update("insert into category (id, name, color) values (1, 'Food', 'RED')");
+        database.update("insert into payment_method (id, name, type) values (1, 'Cash', 'CASH')");
+        database.update("insert into vendor (id, name) values (1, 'Market')");
+        database.update("insert into transaction (id, amount, date, category_id, payment_method_id, vendor_id) " +
+                "values (1, ?, current_timestamp, 1, 1, 1), (2, ?, current_timestamp, 1, 1, 1)", 0.1 + 0.2, 19.99);
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+
+        assertEquals(Arrays.asList(30L, 1999L),
+                database.queryForList("select amount from transaction order by id", Long.class));
+    }
+
+    @Test
+    void ddlAutoSchemaUpgraded() {
+        //A database ddl-auto created before the migrations, with data in it
+        DriverManagerDataSource dataSource = ddlAutoDatabase("ddl-auto-upgrade");
+        JdbcTemplate database = new JdbcTemplate(dataSource);
+
+        flyway(dataSource).migrate();
+
+        MigrationInfo[] applied = flyway(dataSource).info().applied();
+        assertEquals("0", applied[0].getVersion().getVersion(), "Not baselined below V1");
+        Arrays.stream(applied).skip(1)
+                .forEach(info -> assertEquals(MigrationState.SUCCESS, info.getState(), info.getScript()));
+        assertEquals(0, flyway(dataSource).info().pending().length, "Pending migrations left");
+
+        assertEquals(Arrays.asList(1000L, 2550L),
+                database.queryForList("select amount from transaction order by id", Long.class));
+
+        //The next pooled block of ids starts after the ones the identity column handed out
+        long nextValue = database.queryForObject("select next value for transaction_seq", Long.class);
+        assertTrue(nextValue - 49 > database.queryForObject("select max(id) from transaction", Long.class),
+                "Sequence overlaps saved ids: " + nextValue);
+    }
+
+
+    @Test
+    void ddlAutoSchemaRollupFilled() {
+        DriverManagerDataSource dataSource = ddlAutoDatabase("ddl-auto-rollup");
+
+        Flyway.configure()
+                .configuration(flyway(dataSource).getConfiguration())
+                .target("1")
+                .load()
+                .migrate();
+
+        //Both transactions fall in the same cell
+        Map<String, Object> cell = new JdbcTemplate(dataSource).queryForMap(
+                "select spending_year, spending_month, transaction_count, total_amount, min_amount, max_amount " +
+                        "from monthly_spending");
+        assertEquals(2023, ((Number) cell.get("SPENDING_YEAR")).intValue());
+        assertEquals(4, ((Number) cell.get("SPENDING_MONTH")).intValue());
+        assertEquals(2L, ((Number) cell.get("TRANSACTION_COUNT")).longValue());
+        assertEquals(35.5, ((Number) cell.get("TOTAL_AMOUNT")).doubleValue());
+        assertEquals(10.0, ((Number) cell.get("MIN_AMOUNT")).doubleValue());
+        assertEquals(25.5, ((Number) cell.get("MAX_AMOUNT")).doubleValue());
+    }
+
+    // -------------- Helpers ----------------------------
+    private static Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+    }
+
+    private static DriverManagerDataSource ddlAutoDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/ddl-auto-schema.sql")).execute(dataSource);
+
+        JdbcTemplate database = new JdbcTemplate(dataSource);
+        database.update("insert into category (name, color) values ('Food', 'RED')");
+        database.update("insert into payment_method (name, type) values ('Cash', 'CASH')");
+        database.update("insert into vendor (name) values ('Market')");
+        database.update("insert into transaction (amount, date, category_id, payment_method_id, vendor_id) " +
+                "values (10.0, timestamp '2023-04-10 12:00:00', 1, 1, 1), (25.5, timestamp '2023-04-12 12:00:00', 1, 1, 1)");
+
+        return dataSource;
+    }
+}
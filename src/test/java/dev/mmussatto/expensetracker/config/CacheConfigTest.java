@@ -0,0 +1,188 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.category.CategoryRepository;
+import dev.mmussatto.expensetracker.entities.category.CategoryService;
+import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethodRepository;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
+import dev.mmussatto.expensetracker.entities.tag.Tag;
+import dev.mmussatto.expensetracker.entities.tag.TagRepository;
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
+import dev.mmussatto.expensetracker.entities.vendor.VendorRepository;
+import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
+import dev.mmussatto.expensetracker.exceptions.ResourceNotFoundException;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CacheConfigTest {
+
+    @RegisterExtension
+    SqlStatementCountExtension sqlStatements = new SqlStatementCountExtension();
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CategoryService categoryService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @SpyBean
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    PaymentMethodRepository paymentMethodRepository;
+
+    @Autowired
+    VendorRepository<Vendor> vendorRepository;
+
+    @Autowired
+    TagRepository tagRepository;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void referenceCachesAreRegistered() {
+        assertTrue(cacheManager.getCacheNames().containsAll(Arrays.asList(
+                CacheConfig.CATEGORIES, CacheConfig.CATEGORIES_BY_NAME,
+                CacheConfig.TAGS, CacheConfig.TAGS_BY_NAME,
+                CacheConfig.PAYMENT_METHODS, CacheConfig.PAYMENT_METHODS_BY_NAME,
+                CacheConfig.VENDORS, CacheConfig.VENDORS_BY_NAME)));
+    }
+
+    @Test
+    void getById_IsCached() {
+        Category saved = categoryService.createNewCategory(new Category("Cached Category", Color.BLUE));
+        clearInvocations(categoryRepository);
+        CacheStats before = getStats(CacheConfig.CATEGORIES);
+
+        Category first = categoryService.getCategoryById(saved.getId());
+        Category second = categoryService.getCategoryById(saved.getId());
+
+        assertSame(first, second);
+        assertFalse(first.getTransactions() instanceof PersistentCollection, "Cached category is not a detached copy");
+        verify(categoryRepository, times(1)).findById(saved.getId());
+
+        CacheStats stats = getStats(CacheConfig.CATEGORIES).minus(before);
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.hitCount());
+    }
+
+    @Test
+    void getByName_IsCached() {
+        Category saved = categoryService.createNewCategory(new Category("Cached By Name", Color.RED));
+        clearInvocations(categoryRepository);
+
+        categoryService.getCategoryByName(saved.getName());
+        categoryService.getCategoryByName(saved.getName());
+
+        verify(categoryRepository, times(1)).findByName(saved.getName());
+    }
+
+    @Test
+    void patch_EvictsCache() {
+        Category saved = categoryService.createNewCategory(new Category("Evicted Category", Color.GREEN));
+        categoryService.getCategoryById(saved.getId());
+
+        Category patch = new Category();
+        patch.setColor(Color.RED);
+        categoryService.patchCategoryById(saved.getId(), patch);
+
+        assertNull(cacheManager.getCache(CacheConfig.CATEGORIES).get(saved.getId()));
+        assertEquals(Color.RED, categoryService.getCategoryById(saved.getId()).getColor());
+    }
+
+    @Test
+    void delete_EvictsCacheAfterCommit() {
+        Category saved = categoryService.createNewCategory(new Category("Deleted Category", Color.GREEN));
+        categoryService.getCategoryById(saved.getId());
+
+        categoryService.deleteCategoryById(saved.getId());
+
+        assertNull(cacheManager.getCache(CacheConfig.CATEGORIES).get(saved.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> categoryService.getCategoryById(saved.getId()));
+    }
+
+    @Test
+    void createTransaction_WithCachedReferences() throws Exception {
+        Category category = categoryService.createNewCategory(new Category("Referenced Category", Color.BLUE));
+        PaymentMethod paymentMethod = paymentMethodRepository.save(new PaymentMethod("Referenced Method", PaymentType.CASH));
+        Vendor vendor = vendorRepository.save(new OnlineStore("Referenced Store", "www.referenced.com"));
+
+        String body = "{\"amount\": 10.00, \"date\": \"2023-04-10T12:00:00\", \"description\": \"Cached\", " +
+                "\"categoryId\": " + category.getId() + ", \"paymentMethodId\": " + paymentMethod.getId() + ", " +
+                "\"vendorId\": " + vendor.getId() + ", \"tagIds\": []}";
+
+        //The second request finds every reference in the caches and resolves them as proxies
+        for (int i = 0; i < 2; i++)
+            mockMvc.perform(post("/api/transactions").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.category.name").value("Referenced Category"))
+                    .andExpect(jsonPath("$.vendor.url").value("www.referenced.com"));
+
+        assertNotNull(cacheManager.getCache(CacheConfig.VENDORS).get(vendor.getId()));
+    }
+
+    @Test
+    @MaxSqlStatements(4)
+    void createTransaction_WithCachedReferences_LoadsNoReference() throws Exception {
+        Category category = categoryService.createNewCategory(new Category("Counted Category", Color.BLUE));
+        PaymentMethod paymentMethod = paymentMethodRepository.save(new PaymentMethod("Counted Method", PaymentType.CASH));
+        Vendor vendor = vendorRepository.save(new OnlineStore("Counted Store", "www.counted.com"));
+        String tagIds = IntStream.range(0, 5)
+                .mapToObj(i -> String.valueOf(tagRepository.save(new Tag("Counted Tag " + i, Color.RED)).getId()))
+                .collect(Collectors.joining(", "));
+
+        String body = "{\"amount\": 10.00, \"date\": \"2023-04-10T12:00:00\", \"description\": \"Counted\", " +
+                "\"categoryId\": " + category.getId() + ", \"paymentMethodId\": " + paymentMethod.getId() + ", " +
+                "\"vendorId\": " + vendor.getId() + ", \"tagIds\": [" + tagIds + "]}";
+
+        mockMvc.perform(post("/api/transactions").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+        sqlStatements.reset();
+
+        //Insert of the transaction, its tags in one batch, and the rollup cell read and update
+        mockMvc.perform(post("/api/transactions").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.category.name").value("Counted Category"))
+                .andExpect(jsonPath("$.vendor.url").value("www.counted.com"))
+                .andExpect(jsonPath("$.tags.length()").value(5));
+    }
+
+    private CacheStats getStats(String cacheName) {
+        return ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache().stats();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSpanExporterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void export() throws Exception {
+        Path file = directory.resolve("traces").resolve("spans.jsonl");
+
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(file)))
+                .build();
+        Tracer tracer = tracerProvider.get("test");
+
+        Span parent = tracer.spanBuilder("parent").startSpan();
+        try (Scope scope = parent.makeCurrent()) {
+            tracer.spanBuilder("child").setAttribute("db.statement", "select 1").startSpan().end();
+        } finally {
+            parent.end();
+        }
+        tracerProvider.shutdown().join(10, TimeUnit.SECONDS);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode child = objectMapper.readTree(lines.get(0));
+        JsonNode root = objectMapper.readTree(lines.get(1));
+
+        assertEquals("child", child.get("name").asText());
+        assertEquals(root.get("traceId").asText(), child.get("traceId").asText());
+        assertEquals(root.get("spanId").asText(), child.get("parentSpanId").asText());
+        assertEquals("select 1", child.get("attributes").get("db.statement").asText());
+        assertTrue(root.get("parentSpanId").isNull());
+        assertTrue(root.get("durationMicros").asLong() >= 0);
+    }
+}
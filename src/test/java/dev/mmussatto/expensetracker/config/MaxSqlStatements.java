@@ -0,0 +1,21 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test when it runs more SQL statements than the given maximum, counted from the start of the test
+ * method or from the last {@link SqlStatementCountExtension#reset()}. Needs the {@link SqlStatementCountExtension}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MaxSqlStatements {
+
+    int value();
+}
@@ -0,0 +1,82 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import dev.mmussatto.expensetracker.entities.category.CategoryService;
+import dev.mmussatto.expensetracker.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("metrics")
+class MetricsConfigTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    CategoryService categoryService;
+
+
+    @Test
+    void serviceMethodsAreTimed() {
+        long before = count("getAllCategories", "none");
+
+        categoryService.getAllCategories();
+
+        assertEquals(before + 1, count("getAllCategories", "none"));
+    }
+
+    @Test
+    void serviceExceptionsAreTagged() {
+        long before = count("getCategoryById", "ResourceNotFoundException");
+
+        assertThrows(ResourceNotFoundException.class, () -> categoryService.getCategoryById(-1));
+
+        assertEquals(before + 1, count("getCategoryById", "ResourceNotFoundException"));
+    }
+
+    @Test
+    void prometheusScrape() throws Exception {
+        mockMvc.perform(get("/api/categories")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("expensetracker_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("hibernate_entities_loads_total")))
+                .andExpect(content().string(containsString("hibernate_cache_query_requests_total")));
+    }
+
+
+    private long count(String method, String exception) {
+        Timer timer = meterRegistry.find(MetricsConfig.SERVICE_TIMER)
+                .tag("service", "CategoryService")
+                .tag("method", method)
+                .tag("exception", exception)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
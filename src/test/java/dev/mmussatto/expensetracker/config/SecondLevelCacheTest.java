@@ -0,0 +1,93 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.category.CategoryRepository;
+import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
+import dev.mmussatto.expensetracker.entities.vendor.VendorRepository;
+import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("l2cache")
+class SecondLevelCacheTest {
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    VendorRepository<Vendor> vendorRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findById_IsServedFromSecondLevelCache() {
+        Category saved = categoryRepository.save(new Category("Second Level Category", Color.BLUE));
+        statistics.clear();
+
+        //Each call runs in its own session, so only the cache can avoid the second SELECT
+        categoryRepository.findById(saved.getId());
+        categoryRepository.findById(saved.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void findByName_IsServedFromQueryCache() {
+        Category saved = categoryRepository.save(new Category("Query Cache Category", Color.RED));
+        statistics.clear();
+
+        categoryRepository.findByName(saved.getName());
+        categoryRepository.findByName(saved.getName());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void findByUrl_IsServedFromQueryCache() {
+        vendorRepository.save(new OnlineStore("Query Cache Store", "www.query-cache.com"));
+        statistics.clear();
+
+        vendorRepository.findByUrl("www.query-cache.com");
+        vendorRepository.findByUrl("www.query-cache.com");
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void update_InvalidatesQueryCache() {
+        Category saved = categoryRepository.save(new Category("Invalidated Category", Color.GREEN));
+        categoryRepository.findByName(saved.getName());
+
+        saved.setName("Renamed Category");
+        categoryRepository.save(saved);
+        statistics.clear();
+
+        assertFalse(categoryRepository.findByName("Invalidated Category").isPresent());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.category.CategoryRepository;
+import dev.mmussatto.expensetracker.entities.helpers.Color;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "expensetracker.sql.response-headers=true")
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class SqlStatementBudgetFilterTest {
+
+    @RegisterExtension
+    SqlStatementCountExtension sqlStatements = new SqlStatementCountExtension();
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    SqlStatementProperties properties;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository.save(new Category("Budget Category", Color.BLUE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryRepository.deleteAll();
+        properties.setStatementBudget(20);
+    }
+
+
+    @Test
+    void countsAreAddedAsHeaders() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/categories"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andReturn();
+
+        assertTrue(Integer.parseInt(result.getResponse().getHeader(SqlStatementBudgetFilter.STATEMENTS_HEADER)) > 0);
+        assertNotNull(result.getResponse().getHeader(SqlStatementBudgetFilter.TIME_HEADER));
+    }
+
+    @Test
+    void bodyIsWrittenThroughAsItStreams() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new SqlStatementBudgetFilter(properties).doFilter(new MockHttpServletRequest("GET", "/api/transactions/export"),
+                response, (filterRequest, filterResponse) -> {
+                    filterResponse.getOutputStream().write("first line\n".getBytes(StandardCharsets.UTF_8));
+                    filterResponse.flushBuffer();
+
+                    //Already sent, not held back until the request is done
+                    assertTrue(response.isCommitted());
+                    assertEquals("first line\n", response.getContentAsString());
+                });
+
+        assertEquals("0", response.getHeader(SqlStatementBudgetFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void exportHasCountHeaders() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/transactions/export"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertNotNull(result.getResponse().getHeader(SqlStatementBudgetFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    @MaxSqlStatements(1)
+    void getCategories_IsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/categories"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void requestOverBudgetIsLogged(CapturedOutput output) throws Exception {
+        properties.setStatementBudget(0);
+
+        mockMvc.perform(get("/api/categories"))
+                .andExpect(status().isOk());
+
+        assertTrue(output.getOut().contains("GET /api/categories ran 1 SQL statements"));
+    }
+
+    @Test
+    void requestWithinBudgetIsNotLogged(CapturedOutput output) throws Exception {
+        mockMvc.perform(get("/api/categories"))
+                .andExpect(status().isOk());
+
+        assertFalse(output.getOut().contains("GET /api/categories ran"));
+    }
+}
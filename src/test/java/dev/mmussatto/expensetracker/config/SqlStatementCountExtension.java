@@ -0,0 +1,55 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the SQL statements run by each test method, so tests can put an upper bound on the queries behind an
+ * operation and catch N+1 regressions. Statements are counted by the datasource-proxy of {@link SqlStatementConfig},
+ * which slice tests like @DataJpaTest have to import, and only on the test thread.
+ * <p>
+ * Register it with {@code @RegisterExtension}, then either annotate the test with {@link MaxSqlStatements} or call
+ * {@link #reset()} after the test data is in place and {@link #assertAtMost(int)} after the operation.
+ */
+public class SqlStatementCountExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        SqlStatementCounter.start();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        int statements = getStatements();
+        SqlStatementCounter.stop();
+
+        MaxSqlStatements max = context.getRequiredTestMethod().getAnnotation(MaxSqlStatements.class);
+        if (max != null && !context.getExecutionException().isPresent())
+            assertTrue(statements <= max.value(),
+                    "Test ran " + statements + " SQL statements, more than the maximum of " + max.value());
+    }
+
+
+    //Starts counting again from zero
+    public void reset() {
+        SqlStatementCounter.stop();
+        SqlStatementCounter.start();
+    }
+
+    public int getStatements() {
+        SqlStatementCounter counter = SqlStatementCounter.current();
+        return counter != null ? counter.getStatements() : 0;
+    }
+
+    public void assertAtMost(int max) {
+        int statements = getStatements();
+        assertTrue(statements <= max, "Ran " + statements + " SQL statements, more than the maximum of " + max);
+    }
+}
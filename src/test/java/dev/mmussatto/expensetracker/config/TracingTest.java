@@ -0,0 +1,177 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.category.CategoryRepository;
+import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethodRepository;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
+import dev.mmussatto.expensetracker.entities.tag.Tag;
+import dev.mmussatto.expensetracker.entities.tag.TagRepository;
+import dev.mmussatto.expensetracker.entities.transaction.RequestTransactionDTO;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionRepository;
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
+import dev.mmussatto.expensetracker.entities.vendor.VendorRepository;
+import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class TracingTest {
+
+    //W3C traceparent of the calling service
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_SPAN_ID = "00f067aa0ba902b7";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    InMemorySpanExporter spanExporter;
+
+    @Autowired
+    SdkTracerProvider tracerProvider;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    PaymentMethodRepository paymentMethodRepository;
+
+    @Autowired
+    VendorRepository<Vendor> vendorRepository;
+
+    @Autowired
+    TagRepository tagRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    private RequestTransactionDTO request;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("Traced Category", Color.BLUE));
+        PaymentMethod paymentMethod = paymentMethodRepository.save(new PaymentMethod("Traced Payment Method", PaymentType.CASH));
+        Vendor vendor = vendorRepository.save(new OnlineStore("Traced Online Store", "www.traced.com"));
+        Tag tag = tagRepository.save(new Tag("Traced Tag", Color.RED));
+
+        request = new RequestTransactionDTO(new BigDecimal("12.50"), LocalDateTime.of(2023, 4, 2, 8, 30, 0), "Traced",
+                category.getId(), paymentMethod.getId(), vendor.getId(), Collections.singleton(tag.getId()));
+
+        flush();
+        spanExporter.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        categoryRepository.deleteAll();
+        paymentMethodRepository.deleteAll();
+        vendorRepository.deleteAll();
+        tagRepository.deleteAll();
+    }
+
+
+    @Test
+    void createTransaction_SpansEveryLayer() throws Exception {
+        mockMvc.perform(post("/api/transactions")
+                        .header("traceparent", "00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-01")
+                        .content(new ObjectMapper().findAndRegisterModules().writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+
+        flush();
+        List<SpanData> spans = spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getTraceId().equals(TRACE_ID))
+                .collect(Collectors.toList());
+        Map<String, SpanData> byId = spans.stream().collect(Collectors.toMap(SpanData::getSpanId, Function.identity()));
+
+        //The request continues the caller's trace
+        SpanData server = spans.stream().filter(span -> span.getKind() == SpanKind.SERVER).findFirst()
+                .orElseThrow(() -> new AssertionError("No server span in " + names(spans)));
+        assertEquals(PARENT_SPAN_ID, server.getParentSpanId());
+
+        SpanData service = find(spans, "transaction-service.create-new-transaction");
+        assertTrue(isDescendant(service, server, byId));
+
+        //Reference lookups and the insert sit under the service, each with its statements
+        List<SpanData> repositories = spans.stream()
+                .filter(span -> span.getName().matches("[a-z-]+-repository\\..+"))
+                .collect(Collectors.toList());
+        assertFalse(repositories.isEmpty(), "No repository spans in " + names(spans));
+        repositories.forEach(span -> assertTrue(isDescendant(span, service, byId), span.getName()));
+
+        List<SpanData> queries = spans.stream()
+                .filter(span -> span.getName().equals("query"))
+                .collect(Collectors.toList());
+        assertFalse(queries.isEmpty(), "No statement spans in " + names(spans));
+        queries.forEach(span -> assertTrue(isDescendant(span, server, byId)));
+        assertTrue(queries.stream().anyMatch(span -> String.valueOf(span.getAttributes().asMap().values())
+                .contains("insert into transaction")));
+    }
+
+
+    private void flush() {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+    }
+
+    private SpanData find(List<SpanData> spans, String name) {
+        return spans.stream().filter(span -> span.getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("No span " + name + " in " + names(spans)));
+    }
+
+    private boolean isDescendant(SpanData span, SpanData ancestor, Map<String, SpanData> byId) {
+        for (SpanData parent = byId.get(span.getParentSpanId()); parent != null; parent = byId.get(parent.getParentSpanId()))
+            if (parent == ancestor)
+                return true;
+        return false;
+    }
+
+    private List<String> names(List<SpanData> spans) {
+        return spans.stream().map(SpanData::getName).collect(Collectors.toList());
+    }
+
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.annotation.UserConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(UserConfigurations.of(VirtualThreadConfig.class));
+
+    @Test
+    void disabledByDefault() {
+        contextRunner.run(context -> {
+            assertFalse(context.containsBean("virtualThreadExecutor"));
+            assertTrue(context.getBeansOfType(TomcatProtocolHandlerCustomizer.class).isEmpty());
+        });
+    }
+
+    @Test
+    void enabled_RunsTasksOnVirtualThreads() {
+        assumeTrue(virtualThreadsAvailable(), "virtual threads are not available on this JVM");
+
+        contextRunner.withPropertyValues("expensetracker.threads.virtual=true").run(context -> {
+            assertNotNull(context.getBean(TomcatProtocolHandlerCustomizer.class));
+
+            AsyncTaskExecutor executor = context.getBean(
+                    TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncTaskExecutor.class);
+            Future<Object> isVirtual = executor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+
+            assertEquals(Boolean.TRUE, isVirtual.get());
+        });
+    }
+
+    @Test
+    void enabled_FailsWithoutVirtualThreads() {
+        assumeFalse(virtualThreadsAvailable(), "virtual threads are available on this JVM");
+
+        contextRunner.withPropertyValues("expensetracker.threads.virtual=true").run(context -> {
+            assertNotNull(context.getStartupFailure());
+
+            Throwable cause = context.getStartupFailure();
+            while (cause.getCause() != null && !(cause instanceof IllegalStateException))
+                cause = cause.getCause();
+            assertTrue(cause.getMessage().contains("Virtual threads are not available"));
+        });
+    }
+
+
+    static boolean virtualThreadsAvailable() {
+        try {
+            ExecutorService executor = VirtualThreadConfig.newVirtualThreadPerTaskExecutor();
+            executor.shutdown();
+            return true;
+        } catch (IllegalStateException exception) {
+            return false;
+        }
+    }
+}
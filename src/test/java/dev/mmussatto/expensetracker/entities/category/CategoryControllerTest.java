@@ -10,7 +10,9 @@ package dev.mmussatto.expensetracker.entities.category;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
 import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionSummaryDTO;
 import dev.mmussatto.expensetracker.exceptions.ResourceAlreadyExistsException;
 import dev.mmussatto.expensetracker.exceptions.ResourceNotFoundException;
 import jakarta.validation.ConstraintViolationException;
@@ -18,10 +20,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 
@@ -255,6 +259,46 @@ class CategoryControllerTest {
                 .andExpect(result -> assertTrue(result.getResolvedException() instanceof ResourceAlreadyExistsException));
     }
 
+    @Test
+    void createNewCategory_ConstraintViolated() throws Exception {
+
+        CategoryDTO passedDTO = new CategoryDTO(NAME, COLOR);
+
+        Category toSaveEntity = new Category(passedDTO.getName(), passedDTO.getColor());
+
+        //Name as H2 reports it
+        when(categoryMapper.convertToEntity(passedDTO)).thenReturn(toSaveEntity);
+        when(categoryService.createNewCategory(toSaveEntity)).thenThrow(constraintViolation(
+                "\"PUBLIC.UX_CATEGORY_NAME ON PUBLIC.CATEGORY(NAME NULLS FIRST) VALUES ( /* 1 */ 'Test' )\""));
+
+
+        mockMvc.perform(post("/api/categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(passedDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status", equalTo(409)))
+                .andExpect(jsonPath("$.message", equalTo("A category with this name already exists.")))
+                .andExpect(jsonPath("$.savedObjectPath").doesNotExist());
+    }
+
+    @Test
+    void createNewCategory_OtherConstraintViolated() throws Exception {
+
+        CategoryDTO passedDTO = new CategoryDTO(NAME, COLOR);
+
+        Category toSaveEntity = new Category(passedDTO.getName(), passedDTO.getColor());
+
+        when(categoryMapper.convertToEntity(passedDTO)).thenReturn(toSaveEntity);
+        when(categoryService.createNewCategory(toSaveEntity)).thenThrow(constraintViolation("category_color_check"));
+
+
+        mockMvc.perform(post("/api/categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(passedDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", equalTo(400)));
+    }
+
 
     // -------------- UPDATE ----------------------------
     @Test
@@ -486,17 +530,17 @@ class CategoryControllerTest {
 
         Transaction t1 = new Transaction();
         t1.setId(ID);
-        t1.setAmount(53.00);
+        t1.setAmount(Money.of("53.00"));
         t1.setDescription("Test Transaction 1");
 
         Transaction t2 = new Transaction();
         t2.setId(2);
-        t2.setAmount(123.00);
+        t2.setAmount(Money.of("123.00"));
         t2.setDescription("Test Transaction 2");
 
         Transaction t3 = new Transaction();
         t3.setId(3);
-        t3.setAmount(123.00);
+        t3.setAmount(Money.of("123.00"));
         t3.setDescription("Test Transaction 3");
 
         List<Transaction> transactions = Arrays.asList(t1, t2, t3);
@@ -526,6 +570,33 @@ class CategoryControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    void getTransactionSummariesByCategoryId() throws Exception {
+
+        TransactionSummaryDTO summary = new TransactionSummaryDTO();
+        summary.setId(ID);
+        summary.setCategoryId(ID);
+        summary.setCategoryName(NAME);
+
+        Pageable pageable = PageRequest.of(DEFAULT_PAGE, DEFAULT_SIZE, Sort.by("date"));
+
+        Page<TransactionSummaryDTO> pagedSummaries = new PageImpl<>(List.of(summary), pageable, 2);
+
+
+        when(categoryService.getTransactionSummariesByCategoryId(ID, DEFAULT_PAGE, DEFAULT_SIZE)).thenReturn(pagedSummaries);
+
+        mockMvc.perform(get("/api/categories/{id}/transactions", ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("view", "compact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", equalTo(2)))
+                .andExpect(jsonPath("$.nextPage", equalTo("/api/categories/1/transactions?view=compact&page=1&size=1")))
+                .andExpect(jsonPath("$.content[0].path", equalTo("/api/transactions/1")))
+                .andExpect(jsonPath("$.content[0].categoryName", equalTo(NAME)));
+
+        verify(categoryService, never()).getTransactionsByCategoryId(anyInt(), anyInt(), anyInt());
+    }
+
     @Test
     void getTransactionsByCategoryId_NotFound() throws Exception {
 
@@ -541,4 +612,12 @@ class CategoryControllerTest {
 
 
     }
-}
\ No newline at end of file
+
+
+    // -------------- Helpers ----------------------------
+    private DataIntegrityViolationException constraintViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new org.hibernate.exception.ConstraintViolationException("could not execute statement",
+                        new SQLException(), constraintName));
+    }
+}
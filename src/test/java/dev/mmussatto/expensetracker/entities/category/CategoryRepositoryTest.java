@@ -8,19 +8,28 @@
 
 package dev.mmussatto.expensetracker.entities.category;
 
+import dev.mmussatto.expensetracker.config.SqlStatementConfig;
+import dev.mmussatto.expensetracker.config.SqlStatementCountExtension;
 import dev.mmussatto.expensetracker.entities.helpers.Color;
+import jakarta.persistence.PersistenceException;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
+@Import(SqlStatementConfig.class)
 class CategoryRepositoryTest {
 
+    @RegisterExtension
+    SqlStatementCountExtension sqlStatements = new SqlStatementCountExtension();
+
     @Autowired
     private TestEntityManager testEntityManager;
 
@@ -50,4 +59,26 @@ class CategoryRepositoryTest {
         assertThrows(ConstraintViolationException.class, () -> testEntityManager.persist(category));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void preventDuplicateName() {
+        testEntityManager.persistAndFlush(new Category("Test Category", Color.BLUE));
+
+        assertThrows(PersistenceException.class,
+                () -> testEntityManager.persistAndFlush(new Category("Test Category", Color.RED)));
+    }
+
+    @Test
+    void findAll_DoesNotLoadTransactions() {
+        for (int i = 0; i < 5; i++)
+            testEntityManager.persist(new Category("Test " + i, Color.BLUE));
+        testEntityManager.flush();
+        testEntityManager.clear();
+        sqlStatements.reset();
+
+        //The transactions back-reference is lazy, reading the categories mustn't query it for each one
+        categoryRepository.findAll().forEach(Category::getName);
+
+        sqlStatements.assertAtMost(1);
+    }
+}
@@ -5,7 +5,11 @@
 package dev.mmussatto.expensetracker.entities.category;
 
 import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
 import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import dev.mmussatto.expensetracker.entities.summary.MonthlySpendingRepository;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionRepository;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionSummaryDTO;
 import dev.mmussatto.expensetracker.exceptions.ResourceAlreadyExistsException;
 import dev.mmussatto.expensetracker.exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeAll;
@@ -14,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 
 import java.util.Arrays;
@@ -31,6 +36,12 @@ class CategoryServiceImplTest {
     @Mock
     CategoryRepository categoryRepository;
 
+    @Mock
+    TransactionRepository transactionRepository;
+
+    @Mock
+    MonthlySpendingRepository monthlySpendingRepository;
+
     @InjectMocks
     CategoryServiceImpl categoryService;
 
@@ -109,7 +120,6 @@ class CategoryServiceImplTest {
     @Test
     void getCategoryByName_NotFound() {
 
-        when(categoryRepository.findByName(NAME)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> categoryService.getCategoryByName(NAME));
     }
@@ -128,8 +138,7 @@ class CategoryServiceImplTest {
         savedEntity.setId(ID);
         savedEntity.setTransactions(passedEntity.getTransactions());
 
-        when(categoryRepository.findByName(passedEntity.getName())).thenReturn(Optional.empty());
-        when(categoryRepository.save(passedEntity)).thenReturn(savedEntity);
+        when(categoryRepository.saveAndFlush(passedEntity)).thenReturn(savedEntity);
 
         Category returnedEntity = categoryService.createNewCategory(passedEntity);
 
@@ -150,6 +159,9 @@ class CategoryServiceImplTest {
         //When searching the repository by name, find an item
         when(categoryRepository.findByName(passedEntity.getName())).thenReturn(Optional.of(savedEntity));
 
+        //The unique index rejects the write
+        when(categoryRepository.saveAndFlush(any())).thenThrow(DataIntegrityViolationException.class);
+
         assertThrows(ResourceAlreadyExistsException.class,
                 () -> categoryService.createNewCategory(passedEntity));
     }
@@ -176,8 +188,7 @@ class CategoryServiceImplTest {
 
 
         when(categoryRepository.findById(originalEntity.getId())).thenReturn(Optional.of(originalEntity));
-        when(categoryRepository.findByName(passedEntity.getName())).thenReturn(Optional.empty());
-        when(categoryRepository.save(toUpdateEntity)).thenReturn(updatedEntity);
+        when(categoryRepository.saveAndFlush(toUpdateEntity)).thenReturn(updatedEntity);
 
 
         //Category returned after saving updateCategory
@@ -190,7 +201,7 @@ class CategoryServiceImplTest {
 
 
         //Verify that the updatedEntity was saved
-        verify(categoryRepository, times(1)).save(toUpdateEntity);
+        verify(categoryRepository, times(1)).saveAndFlush(toUpdateEntity);
     }
 
     @Test
@@ -227,6 +238,9 @@ class CategoryServiceImplTest {
         //When searching by name, return a category already saved with that name
         when(categoryRepository.findByName(passedEntity.getName())).thenReturn(Optional.of(savedWithUpdateName));
 
+        //The unique index rejects the write
+        when(categoryRepository.saveAndFlush(any())).thenThrow(DataIntegrityViolationException.class);
+
         assertThrows(ResourceAlreadyExistsException.class,
                 () -> categoryService.updateCategoryById(original.getId(), passedEntity));
 
@@ -253,11 +267,9 @@ class CategoryServiceImplTest {
         //when searching repository, returned object with original values
         when(categoryRepository.findById(originalCategory.getId())).thenReturn(Optional.of(originalCategory));
 
-        //search repo for a category using the name to be updated
-        when(categoryRepository.findByName(passedEntity.getName())).thenReturn(Optional.empty());
 
         //return the modified originalCategory after saving
-        when(categoryRepository.save(updatedCategory)).thenReturn(updatedCategory);
+        when(categoryRepository.saveAndFlush(updatedCategory)).thenReturn(updatedCategory);
 
 
         Category returnedEntity = categoryService.patchCategoryById(originalCategory.getId(), passedEntity);
@@ -269,7 +281,7 @@ class CategoryServiceImplTest {
         assertEquals(passedEntity.getColor(), returnedEntity.getColor());   //updated color
         assertEquals(originalCategory.getTransactions(), returnedEntity.getTransactions()); //same transactions
 
-        verify(categoryRepository, times(1)).save(updatedCategory);
+        verify(categoryRepository, times(1)).saveAndFlush(updatedCategory);
     }
 
     @Test
@@ -291,11 +303,9 @@ class CategoryServiceImplTest {
         //when searching repository, returned object with original values
         when(categoryRepository.findById(originalCategory.getId())).thenReturn(Optional.of(updatedCategory));
 
-        //there is no other category already using the name
-        when(categoryRepository.findByName(passedEntity.getName())).thenReturn(Optional.empty());
 
         //return the modified originalCategory after saving
-        when(categoryRepository.save(updatedCategory)).thenReturn(updatedCategory);
+        when(categoryRepository.saveAndFlush(updatedCategory)).thenReturn(updatedCategory);
 
 
         Category returnedEntity = categoryService.patchCategoryById(originalCategory.getId(), passedEntity);
@@ -329,7 +339,7 @@ class CategoryServiceImplTest {
 
 
         //return the modified originalCategory after saving
-        when(categoryRepository.save(updatedCategory)).thenReturn(updatedCategory);
+        when(categoryRepository.saveAndFlush(updatedCategory)).thenReturn(updatedCategory);
 
 
         //Category returned after saving updateCategory
@@ -379,6 +389,9 @@ class CategoryServiceImplTest {
         when(categoryRepository.findByName(passedEntity.getName())).thenReturn(Optional.of(savedWithUpdateName));
 
 
+        //The unique index rejects the write
+        when(categoryRepository.saveAndFlush(any())).thenThrow(DataIntegrityViolationException.class);
+
         assertThrows(ResourceAlreadyExistsException.class,
                 () -> categoryService.patchCategoryById(originalCategory.getId(), passedEntity));
     }
@@ -394,6 +407,7 @@ class CategoryServiceImplTest {
         categoryService.deleteCategoryById(ID);
 
         verify(categoryRepository, times(1)).deleteById(anyInt());
+        verify(monthlySpendingRepository, times(1)).deleteByCategoryId(ID);
     }
 
     @Test
@@ -412,12 +426,12 @@ class CategoryServiceImplTest {
         //Create transactions
         Transaction t1 = new Transaction();
         t1.setId(1);
-        t1.setAmount(53.00);
+        t1.setAmount(Money.of("53.00"));
         t1.setDescription("Test Transaction 1");
 
         Transaction t2 = new Transaction();
         t2.setId(2);
-        t2.setAmount(123.00);
+        t2.setAmount(Money.of("123.00"));
         t2.setDescription("Test Transaction 2");
 
         List<Transaction> transactions = Arrays.asList(t1, t2);
@@ -429,14 +443,13 @@ class CategoryServiceImplTest {
         t2.setCategory(category);
         category.setTransactions(transactions);
 
-        //Create page returned by the service
+        //Create page returned by the repository
         Pageable pageable = PageRequest.of(DEFAULT_PAGE, DEFAULT_SIZE, Sort.by("date"));
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), transactions.size());
         Page<Transaction> pagedTransactions = new PageImpl<>(
-                transactions.subList(start, end), pageable, transactions.size());
+                transactions.subList(0, DEFAULT_SIZE), pageable, transactions.size());
 
-        when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
+        when(categoryRepository.existsById(category.getId())).thenReturn(true);
+        when(transactionRepository.findByCategoryId(pageable, category.getId())).thenReturn(pagedTransactions);
 
         //Return page
         Page<Transaction> returnPagedTransactions = categoryService.getTransactionsByCategoryId(category.getId(), DEFAULT_PAGE, DEFAULT_SIZE);
@@ -444,15 +457,53 @@ class CategoryServiceImplTest {
         assertEquals(DEFAULT_SIZE, returnPagedTransactions.getContent().size(), "Wrong number of transactions");
         assertEquals(2, returnPagedTransactions.getTotalElements());
         assertEquals(pagedTransactions, returnPagedTransactions);
+
+        //Category's transaction collection must not be loaded
+        verify(categoryRepository, never()).findById(anyInt());
     }
 
     @Test
     void getTransactionsByCategoryId_NotFound() {
 
-        when(categoryRepository.findById(ID)).thenReturn(Optional.empty());
+        when(categoryRepository.existsById(ID)).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class, () ->
                 categoryService.getTransactionsByCategoryId(ID, DEFAULT_PAGE, DEFAULT_SIZE));
+
+        verify(transactionRepository, never()).findByCategoryId(any(Pageable.class), anyInt());
+    }
+
+    @Test
+    void getTransactionSummariesByCategoryId() {
+
+        TransactionSummaryDTO summary = new TransactionSummaryDTO();
+        summary.setId(1);
+        summary.setCategoryId(ID);
+
+        //Create page returned by the repository
+        Pageable pageable = PageRequest.of(DEFAULT_PAGE, DEFAULT_SIZE, Sort.by("date"));
+        Page<TransactionSummaryDTO> pagedSummaries = new PageImpl<>(List.of(summary), pageable, 1);
+
+        when(categoryRepository.existsById(ID)).thenReturn(true);
+        when(transactionRepository.findSummariesByCategoryId(pageable, ID)).thenReturn(pagedSummaries);
+        when(transactionRepository.attachTagIds(pagedSummaries)).thenReturn(pagedSummaries);
+
+        Page<TransactionSummaryDTO> returnedPage =
+                categoryService.getTransactionSummariesByCategoryId(ID, DEFAULT_PAGE, DEFAULT_SIZE);
+
+        assertEquals(pagedSummaries, returnedPage);
+        verify(transactionRepository, never()).findByCategoryId(any(Pageable.class), anyInt());
+    }
+
+    @Test
+    void getTransactionSummariesByCategoryId_NotFound() {
+
+        when(categoryRepository.existsById(ID)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () ->
+                categoryService.getTransactionSummariesByCategoryId(ID, DEFAULT_PAGE, DEFAULT_SIZE));
+
+        verify(transactionRepository, never()).findSummariesByCategoryId(any(Pageable.class), anyInt());
     }
 
 
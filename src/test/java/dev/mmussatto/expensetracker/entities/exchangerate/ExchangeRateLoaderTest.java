@@ -0,0 +1,145 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.exchangerate;
+
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import dev.mmussatto.expensetracker.exceptions.MissingExchangeRateException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ExchangeRates.class, ExchangeRateLoader.class})
+class ExchangeRateLoaderTest {
+
+    // -------------- Constants ----------------------------
+    private static final Currency BRL = Money.DEFAULT_CURRENCY;
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+    private static final LocalDate MONDAY = LocalDate.of(2023, 4, 3);
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private ExchangeRateLoader exchangeRateLoader;
+
+    @Autowired
+    private ExchangeRates exchangeRates;
+
+
+    @BeforeEach
+    void setUp() throws Exception {
+        int loaded = exchangeRateLoader.load(write("rates.csv",
+                "date,currency,rate",
+                "# Closing rates",
+                "2023-04-03,USD,5.00",
+                "2023-04-05,USD,5.20",
+                "",
+                "2023-04-03,jpy,0.0375"));
+
+        assertEquals(3, loaded);
+    }
+
+    @Test
+    void convert_ToBaseCurrency() {
+        assertEquals(Money.of("50.00"), exchangeRates.convert(dollars("10.00"), MONDAY, BRL));
+        assertEquals(Money.of("52.00"), exchangeRates.convert(dollars("10.00"), MONDAY.plusDays(2), BRL));
+    }
+
+    @Test
+    void convert_FromBaseCurrency() {
+        assertEquals(dollars("10.00"), exchangeRates.convert(Money.of("52.00"), MONDAY.plusDays(2), USD));
+        assertEquals(dollars("0.19"), exchangeRates.convert(Money.of("1.00"), MONDAY.plusDays(2), USD));
+    }
+
+    @Test
+    void convert_BetweenScales() {
+        //10 USD is 50 BRL is 1333.33 JPY, which has no minor units
+        Money yen = exchangeRates.convert(dollars("10.00"), MONDAY, JPY);
+
+        assertEquals(JPY, yen.getCurrency());
+        assertEquals(1333L, yen.getMinorUnits());
+    }
+
+    @Test
+    void convert_RoundsExactHalfEven() throws Exception {
+        exchangeRateLoader.load(write("pounds.csv", "2023-04-03,GBP,1.15"));
+
+        //57.5 cents, which a double multiplication puts just below the half
+        Money pounds = Money.of(new BigDecimal("0.50"), Currency.getInstance("GBP"));
+        assertEquals(Money.of("0.58"), exchangeRates.convert(pounds, MONDAY, BRL));
+    }
+
+    @Test
+    void convert_DaysWithoutRateUseTheLatest() {
+        assertEquals(Money.of("50.00"), exchangeRates.convert(dollars("10.00"), MONDAY.plusDays(1), BRL));
+        assertEquals(Money.of("52.00"), exchangeRates.convert(dollars("10.00"), MONDAY.plusYears(1), BRL));
+    }
+
+    @Test
+    void convert_SameCurrency() {
+        assertEquals(dollars("10.00"), exchangeRates.convert(dollars("10.00"), MONDAY.minusYears(1), USD));
+    }
+
+    @Test
+    void convert_BeforeFirstRate() {
+        assertThrows(MissingExchangeRateException.class,
+                () -> exchangeRates.convert(dollars("10.00"), MONDAY.minusDays(1), BRL));
+    }
+
+    @Test
+    void convert_UnknownCurrency() {
+        assertThrows(MissingExchangeRateException.class,
+                () -> exchangeRates.convert(dollars("10.00"), MONDAY, Currency.getInstance("EUR")));
+    }
+
+    @Test
+    void load_ReplacesRates() throws Exception {
+        exchangeRateLoader.load(write("corrections.csv", "2023-04-05,USD,5.10"));
+
+        assertEquals(Money.of("51.00"), exchangeRates.convert(dollars("10.00"), MONDAY.plusDays(2), BRL));
+        assertEquals(Money.of("50.00"), exchangeRates.convert(dollars("10.00"), MONDAY, BRL));
+    }
+
+    @Test
+    void load_InvalidLine() throws Exception {
+        Path file = write("invalid.csv", "2023-04-03,USD,5.00", "2023-04-04,XYZ,1.00");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> exchangeRateLoader.load(file));
+        assertTrue(exception.getMessage().contains("line 2"), exception.getMessage());
+    }
+
+    @Test
+    void load_NegativeRate() throws Exception {
+        Path file = write("negative.csv", "2023-04-03,USD,-5.00");
+
+        assertThrows(IllegalArgumentException.class, () -> exchangeRateLoader.load(file));
+    }
+
+
+    // -------------- Helpers ----------------------------
+    private Money dollars(String amount) {
+        return Money.of(new BigDecimal(amount), USD);
+    }
+
+    private Path write(String name, String... lines) throws Exception {
+        return Files.write(directory.resolve(name), Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+
+    @Test
+    void of() {
+        Money money = Money.of("12.5");
+
+        assertEquals(1250L, money.getMinorUnits());
+        assertEquals(Money.DEFAULT_CURRENCY, money.getCurrency());
+        assertEquals(new BigDecimal("12.50"), money.toBigDecimal());
+        assertEquals("12.50", money.toString());
+        assertEquals(Money.ofMinor(1250L), money);
+    }
+
+    @Test
+    void of_TooManyDecimals() {
+        assertThrows(ArithmeticException.class, () -> Money.of("12.345"));
+    }
+
+    @Test
+    void plus_IsExact() {
+        //Ten cents added up a thousand times, which drifts as a double
+        Money total = LongStream.range(0, 1000)
+                .mapToObj(i -> Money.of("0.10"))
+                .reduce(Money.ZERO, Money::plus);
+
+        assertEquals(Money.of("100.00"), total);
+        assertEquals(Money.of("99.90"), total.minus(Money.of("0.10")));
+    }
+
+    @Test
+    void plus_DifferentCurrency() {
+        Money dollars = Money.of(BigDecimal.ONE, Currency.getInstance("USD"));
+
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1.00").plus(dollars));
+    }
+
+    @Test
+    void plus_Overflow() {
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1L)));
+    }
+
+    @Test
+    void divide_RoundsHalfEven() {
+        assertEquals(Money.of("3.33"), Money.of("10.00").divide(3));
+        assertEquals(Money.ofMinor(2L), Money.ofMinor(5L).divide(2));
+        assertEquals(Money.ofMinor(4L), Money.ofMinor(7L).divide(2));
+    }
+
+    @Test
+    void compareTo() {
+        assertTrue(Money.of("9.99").compareTo(Money.of("10.00")) < 0);
+        assertTrue(Money.of("-0.01").isNegative());
+    }
+
+    @Test
+    void json() throws Exception {
+        assertEquals("12.50", objectMapper.writeValueAsString(Money.of("12.5")));
+
+        assertEquals(Money.of("12.50"), objectMapper.readValue("12.5", Money.class));
+        assertEquals(Money.of("12.00"), objectMapper.readValue("12", Money.class));
+        assertEquals(Money.of("12.50"), objectMapper.readValue("\"12.50\"", Money.class));
+    }
+
+    @Test
+    void json_TooManyDecimals() {
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue("0.001", Money.class));
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue("\"twelve\"", Money.class));
+    }
+}
@@ -5,6 +5,7 @@
 package dev.mmussatto.expensetracker.entities.paymenetmethod;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
 import dev.mmussatto.expensetracker.entities.paymentmethod.*;
 import dev.mmussatto.expensetracker.entities.transaction.Transaction;
 import dev.mmussatto.expensetracker.exceptions.ResourceAlreadyExistsException;
@@ -480,17 +481,17 @@ class PaymentMethodControllerTest {
 
         Transaction t1 = new Transaction();
         t1.setId(ID);
-        t1.setAmount(53.00);
+        t1.setAmount(Money.of("53.00"));
         t1.setDescription("Test Transaction 1");
 
         Transaction t2 = new Transaction();
         t2.setId(2);
-        t2.setAmount(123.00);
+        t2.setAmount(Money.of("123.00"));
         t2.setDescription("Test Transaction 2");
 
         Transaction t3 = new Transaction();
         t3.setId(3);
-        t3.setAmount(123.00);
+        t3.setAmount(Money.of("123.00"));
         t3.setDescription("Test Transaction 3");
 
         List<Transaction> transactions = Arrays.asList(t1, t2, t3);
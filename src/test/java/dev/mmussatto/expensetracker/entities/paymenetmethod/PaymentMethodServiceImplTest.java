@@ -4,11 +4,14 @@
 
 package dev.mmussatto.expensetracker.entities.paymenetmethod;
 
+import dev.mmussatto.expensetracker.entities.helpers.Money;
 import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
 import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethodRepository;
 import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethodServiceImpl;
 import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
 import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import dev.mmussatto.expensetracker.entities.summary.MonthlySpendingRepository;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionRepository;
 import dev.mmussatto.expensetracker.exceptions.ResourceAlreadyExistsException;
 import dev.mmussatto.expensetracker.exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeAll;
@@ -17,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 
 import java.util.Arrays;
@@ -25,6 +29,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +47,12 @@ class PaymentMethodServiceImplTest {
     @Mock
     PaymentMethodRepository paymentMethodRepository;
 
+    @Mock
+    TransactionRepository transactionRepository;
+
+    @Mock
+    MonthlySpendingRepository monthlySpendingRepository;
+
     @InjectMocks
     PaymentMethodServiceImpl paymentMethodService;
 
@@ -113,7 +124,6 @@ class PaymentMethodServiceImplTest {
     @Test
     void getPaymentMethodByName_NotFound() {
 
-        when(paymentMethodRepository.findByName(NAME)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> paymentMethodService.getPaymentMethodByName(NAME));
 
@@ -131,8 +141,7 @@ class PaymentMethodServiceImplTest {
         PaymentMethod savedEntity = new PaymentMethod(passedEntity.getName(), passedEntity.getType());
         savedEntity.setId(ID);
 
-        when(paymentMethodRepository.findByName(passedEntity.getName())).thenReturn(Optional.empty());
-        when(paymentMethodRepository.save(passedEntity)).thenReturn(savedEntity);
+        when(paymentMethodRepository.saveAndFlush(passedEntity)).thenReturn(savedEntity);
 
         PaymentMethod returnedEntity = paymentMethodService.createNewPaymentMethod(passedEntity);
 
@@ -149,6 +158,9 @@ class PaymentMethodServiceImplTest {
         //When searching the repository by name, find an item
         when(paymentMethodRepository.findByName(passedEntity.getName())).thenReturn(Optional.of(passedEntity));
 
+        //The unique index rejects the write
+        when(paymentMethodRepository.saveAndFlush(any())).thenThrow(DataIntegrityViolationException.class);
+
         assertThrows(ResourceAlreadyExistsException.class,
                 () -> paymentMethodService.createNewPaymentMethod(passedEntity));
     }
@@ -174,8 +186,7 @@ class PaymentMethodServiceImplTest {
         updatedEntity.setTransactions(originalEntity.getTransactions());
 
         when(paymentMethodRepository.findById(originalEntity.getId())).thenReturn(Optional.of(originalEntity));
-        when(paymentMethodRepository.findByName(passedEntity.getName())).thenReturn(Optional.empty());
-        when(paymentMethodRepository.save(toUpdateEntity)).thenReturn(updatedEntity);
+        when(paymentMethodRepository.saveAndFlush(toUpdateEntity)).thenReturn(updatedEntity);
 
         PaymentMethod returnedEntity = paymentMethodService.updatePaymentMethodById(originalEntity.getId(), passedEntity);
 
@@ -184,7 +195,7 @@ class PaymentMethodServiceImplTest {
         assertEquals(passedEntity.getType(), returnedEntity.getType());     //updated type
         assertEquals(originalEntity.getTransactions(),returnedEntity.getTransactions()); //same transaction
 
-        verify(paymentMethodRepository, times(1)).save(toUpdateEntity);
+        verify(paymentMethodRepository, times(1)).saveAndFlush(toUpdateEntity);
     }
 
     @Test
@@ -216,6 +227,9 @@ class PaymentMethodServiceImplTest {
         when(paymentMethodRepository.findById(original.getId())).thenReturn(Optional.of(original));
         when(paymentMethodRepository.findByName(passedEntity.getName())).thenReturn(Optional.of(nameAlreadyInUse));
 
+        //The unique index rejects the write
+        when(paymentMethodRepository.saveAndFlush(any())).thenThrow(DataIntegrityViolationException.class);
+
         assertThrows(ResourceAlreadyExistsException.class,
                 () -> paymentMethodService.updatePaymentMethodById(original.getId(), passedEntity));
     }
@@ -237,8 +251,7 @@ class PaymentMethodServiceImplTest {
         updated.setTransactions(originalEntity.getTransactions());
 
         when(paymentMethodRepository.findById(originalEntity.getId())).thenReturn(Optional.of(originalEntity));
-        when(paymentMethodRepository.findByName(passedEntity.getName())).thenReturn(Optional.empty());
-        when(paymentMethodRepository.save(updated)).thenReturn(updated);
+        when(paymentMethodRepository.saveAndFlush(updated)).thenReturn(updated);
 
 
         PaymentMethod returnedEntity = paymentMethodService.patchPaymentMethodById(originalEntity.getId(), passedEntity);
@@ -250,7 +263,7 @@ class PaymentMethodServiceImplTest {
         assertEquals(originalEntity.getTransactions(),returnedEntity.getTransactions()); //same transaction
 
 
-        verify(paymentMethodRepository, times(1)).save(updated);
+        verify(paymentMethodRepository, times(1)).saveAndFlush(updated);
     }
 
     @Test
@@ -270,8 +283,7 @@ class PaymentMethodServiceImplTest {
         updated.setTransactions(original.getTransactions());
 
         when(paymentMethodRepository.findById(original.getId())).thenReturn(Optional.of(original));
-        when(paymentMethodRepository.findByName(passedEntity.getName())).thenReturn(Optional.empty());
-        when(paymentMethodRepository.save(updated)).thenReturn(updated);
+        when(paymentMethodRepository.saveAndFlush(updated)).thenReturn(updated);
 
         PaymentMethod returnedEntity = paymentMethodService.patchPaymentMethodById(original.getId(), passedEntity);
 
@@ -280,7 +292,7 @@ class PaymentMethodServiceImplTest {
         assertEquals(original.getType(), returnedEntity.getType());         //same type
         assertEquals(original.getTransactions(),returnedEntity.getTransactions());  //same transactions
 
-        verify(paymentMethodRepository, times(1)).save(updated);
+        verify(paymentMethodRepository, times(1)).saveAndFlush(updated);
     }
 
     @Test
@@ -300,7 +312,7 @@ class PaymentMethodServiceImplTest {
         updated.setTransactions(original.getTransactions());
 
         when(paymentMethodRepository.findById(original.getId())).thenReturn(Optional.of(original));
-        when(paymentMethodRepository.save(updated)).thenReturn(updated);
+        when(paymentMethodRepository.saveAndFlush(updated)).thenReturn(updated);
 
         PaymentMethod returnedEntity = paymentMethodService.patchPaymentMethodById(original.getId(), passedEntity);
 
@@ -309,7 +321,7 @@ class PaymentMethodServiceImplTest {
         assertEquals(passedEntity.getType(), returnedEntity.getType()); //updated type
         assertEquals(original.getTransactions(),returnedEntity.getTransactions());  //same transaction
 
-        verify(paymentMethodRepository, times(1)).save(updated);
+        verify(paymentMethodRepository, times(1)).saveAndFlush(updated);
     }
 
     @Test
@@ -341,6 +353,9 @@ class PaymentMethodServiceImplTest {
         when(paymentMethodRepository.findById(original.getId())).thenReturn(Optional.of(original));
         when(paymentMethodRepository.findByName(passedEntity.getName())).thenReturn(Optional.of(nameAlreadyInUse));
 
+        //The unique index rejects the write
+        when(paymentMethodRepository.saveAndFlush(any())).thenThrow(DataIntegrityViolationException.class);
+
         assertThrows(ResourceAlreadyExistsException.class,
                 () -> paymentMethodService.patchPaymentMethodById(original.getId(), passedEntity));
     }
@@ -356,6 +371,7 @@ class PaymentMethodServiceImplTest {
         paymentMethodService.deletePaymentMethodById(ID);
 
         verify(paymentMethodRepository, times(1)).deleteById(ID);
+        verify(monthlySpendingRepository, times(1)).deleteByPaymentMethodId(ID);
     }
 
     @Test
@@ -375,12 +391,12 @@ class PaymentMethodServiceImplTest {
         //Create Transactions
         Transaction t1 = new Transaction();
         t1.setId(1);
-        t1.setAmount(53.00);
+        t1.setAmount(Money.of("53.00"));
         t1.setDescription("Test Transaction 1");
 
         Transaction t2 = new Transaction();
         t2.setId(2);
-        t2.setAmount(123.00);
+        t2.setAmount(Money.of("123.00"));
         t2.setDescription("Test Transaction 2");
 
         List<Transaction> transactions = Arrays.asList(t1, t2);
@@ -392,21 +408,19 @@ class PaymentMethodServiceImplTest {
         t2.setPaymentMethod(paymentMethod);
         paymentMethod.setTransactions(transactions);
 
-        //Create page returned by the service
+        //Create page returned by the repository
         Pageable pageable = PageRequest.of(DEFAULT_PAGE, DEFAULT_SIZE, Sort.by("date"));
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), transactions.size());
-
         Page<Transaction> pagedTransactions = new PageImpl<>(
-                transactions.subList(start, end), pageable, transactions.size());
+                transactions.subList(0, DEFAULT_SIZE), pageable, transactions.size());
 
-
-        when(paymentMethodRepository.findById(paymentMethod.getId())).thenReturn(Optional.of(paymentMethod));
+        when(paymentMethodRepository.existsById(paymentMethod.getId())).thenReturn(true);
+        when(transactionRepository.findByPaymentMethodId(pageable, paymentMethod.getId())).thenReturn(pagedTransactions);
 
         Page<Transaction> returnPagedTransactions = paymentMethodService.getPaymentMethodTransactionsById(paymentMethod.getId(), DEFAULT_PAGE, DEFAULT_SIZE);
 
         assertEquals(DEFAULT_SIZE, returnPagedTransactions.getContent().size(), "Wrong number of transactions");
         assertEquals(pagedTransactions, returnPagedTransactions);
+        verify(paymentMethodRepository, never()).findById(anyInt());
     }
 
     @Test
@@ -414,7 +428,7 @@ class PaymentMethodServiceImplTest {
 
         Integer notFoundId = 123;
 
-        when(paymentMethodRepository.findById(notFoundId)).thenReturn(Optional.empty());
+        when(paymentMethodRepository.existsById(notFoundId)).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class,
                 () -> paymentMethodService.getPaymentMethodTransactionsById(notFoundId, DEFAULT_PAGE, DEFAULT_SIZE));
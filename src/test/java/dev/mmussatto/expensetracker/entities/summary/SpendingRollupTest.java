@@ -0,0 +1,226 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.summary;
+
+import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
+import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionRepository;
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
+import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(SpendingRollup.class)
+class SpendingRollupTest {
+
+    private static final LocalDateTime APRIL = LocalDateTime.of(2023, 4, 10, 12, 0, 0);
+    private static final LocalDateTime MAY = LocalDateTime.of(2023, 5, 10, 12, 0, 0);
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private SpendingRollup spendingRollup;
+
+    @Autowired
+    private MonthlySpendingRepository monthlySpendingRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Category category;
+    private PaymentMethod paymentMethod;
+    private Vendor vendor;
+
+
+    @BeforeEach
+    void setUp() {
+        category = testEntityManager.persist(new Category("Test Category", Color.BLUE));
+        paymentMethod = testEntityManager.persist(new PaymentMethod("Test Payment Method", PaymentType.CASH));
+        vendor = testEntityManager.persist(new OnlineStore("Test Online Store", "www.test.com"));
+    }
+
+
+    @Test
+    void add() {
+        Transaction t1 = saveAndAdd("10.00", APRIL);
+        saveAndAdd("30.00", APRIL.plusDays(5));
+
+        MonthlySpending cell = getCell(t1);
+
+        assertEquals(2L, cell.getCount());
+        assertEquals(4000L, cell.getTotal());
+        assertEquals(1000L, cell.getMin());
+        assertEquals(3000L, cell.getMax());
+    }
+
+    @Test
+    void addAll() {
+        List<Transaction> transactions = Arrays.asList(
+                save("10.00", APRIL), save("30.00", APRIL), save("5.00", MAY));
+
+        spendingRollup.addAll(transactions);
+
+        assertEquals(2, monthlySpendingRepository.count());
+        assertEquals(2L, getCell(transactions.get(0)).getCount());
+        assertEquals(4000L, getCell(transactions.get(0)).getTotal());
+        assertEquals(500L, getCell(transactions.get(2)).getTotal());
+    }
+
+    @Test
+    void remove_AmountBetweenMinAndMax() {
+        saveAndAdd("10.00", APRIL);
+        Transaction middle = saveAndAdd("20.00", APRIL);
+        saveAndAdd("30.00", APRIL);
+
+        removeAndDelete(middle);
+
+        MonthlySpending cell = getCell(middle);
+        assertEquals(2L, cell.getCount());
+        assertEquals(4000L, cell.getTotal());
+        assertEquals(1000L, cell.getMin());
+        assertEquals(3000L, cell.getMax());
+    }
+
+    @Test
+    void remove_MaxIsRecomputed() {
+        saveAndAdd("10.00", APRIL);
+        saveAndAdd("20.00", APRIL);
+        Transaction largest = saveAndAdd("30.00", APRIL);
+
+        removeAndDelete(largest);
+
+        MonthlySpending cell = getCell(largest);
+        assertEquals(2L, cell.getCount());
+        assertEquals(3000L, cell.getTotal());
+        assertEquals(2000L, cell.getMax());
+    }
+
+    @Test
+    void remove_LastTransactionDeletesCell() {
+        Transaction transaction = saveAndAdd("10.00", APRIL);
+
+        removeAndDelete(transaction);
+
+        assertEquals(0, monthlySpendingRepository.count());
+    }
+
+    @Test
+    void move_AmountWithinCell() {
+        saveAndAdd("10.00", APRIL);
+        Transaction transaction = saveAndAdd("30.00", APRIL);
+        MonthlySpendingKey previousKey = MonthlySpendingKey.of(transaction);
+
+        transaction.setAmount(Money.of("5.00"));
+        testEntityManager.flush();
+        spendingRollup.move(previousKey, Money.of("30.00"), transaction);
+
+        MonthlySpending cell = getCell(transaction);
+        assertEquals(2L, cell.getCount());
+        assertEquals(1500L, cell.getTotal());
+        assertEquals(500L, cell.getMin());
+        assertEquals(1000L, cell.getMax());
+    }
+
+    @Test
+    void move_ToAnotherMonth() {
+        Transaction transaction = saveAndAdd("10.00", APRIL);
+        MonthlySpendingKey previousKey = MonthlySpendingKey.of(transaction);
+
+        transaction.setDate(MAY);
+        transaction.setAmount(Money.of("15.00"));
+        testEntityManager.flush();
+        spendingRollup.move(previousKey, Money.of("10.00"), transaction);
+
+        assertFalse(monthlySpendingRepository.findById(previousKey).isPresent());
+
+        MonthlySpending cell = getCell(transaction);
+        assertEquals(5, cell.getId().getMonth());
+        assertEquals(1L, cell.getCount());
+        assertEquals(1500L, cell.getTotal());
+    }
+
+    @Test
+    void rebuild() {
+        save("10.00", APRIL);
+        save("30.00", APRIL);
+        Transaction may = save("5.00", MAY);
+
+        //Stale row, dropped by the rebuild
+        testEntityManager.persist(new MonthlySpending(2020, 1, category.getId(), paymentMethod.getId(), vendor.getId(),
+                Money.DEFAULT_CURRENCY, 1L, 9900L, 9900L, 9900L));
+
+        spendingRollup.rebuild();
+
+        assertEquals(2, monthlySpendingRepository.count());
+        assertEquals(500L, getCell(may).getTotal());
+    }
+
+    @Test
+    void summarizeByCategory_MatchesTransactions() {
+        saveAndAdd("10.00", APRIL);
+        saveAndAdd("30.00", APRIL);
+        saveAndAdd("5.00", MAY);
+
+        List<SpendingSummaryDTO> fromRollup = monthlySpendingRepository.summarizeByCategory(202301, 202312);
+        List<SpendingSummaryDTO> fromTransactions = transactionRepository.summarizeByCategory(
+                LocalDateTime.of(2023, 1, 1, 0, 0, 0), LocalDateTime.of(2023, 12, 31, 23, 59, 59));
+
+        assertEquals(fromTransactions, fromRollup);
+        assertEquals(category.getName(), fromRollup.get(0).getName());
+        assertEquals(Money.of("15.00"), fromRollup.get(0).getAverage());
+    }
+
+    @Test
+    void summarizeByMonth_OnlyRequestedMonths() {
+        saveAndAdd("10.00", APRIL);
+        saveAndAdd("5.00", MAY);
+
+        List<SpendingSummaryDTO> summaries = monthlySpendingRepository.summarizeByMonth(202305, 202305);
+
+        assertEquals(1, summaries.size());
+        assertEquals(5, summaries.get(0).getMonth());
+        assertEquals(1L, summaries.get(0).getCount());
+    }
+
+
+    // -------------- Helpers ----------------------------
+    private Transaction save(String amount, LocalDateTime date) {
+        return testEntityManager.persist(new Transaction(Money.of(amount), date, "Test Transaction",
+                category, paymentMethod, vendor, new HashSet<>()));
+    }
+
+    private Transaction saveAndAdd(String amount, LocalDateTime date) {
+        Transaction transaction = save(amount, date);
+        spendingRollup.add(transaction);
+        return transaction;
+    }
+
+    private void removeAndDelete(Transaction transaction) {
+        spendingRollup.remove(transaction);
+        testEntityManager.remove(transaction);
+        testEntityManager.flush();
+    }
+
+    private MonthlySpending getCell(Transaction transaction) {
+        return monthlySpendingRepository.findById(MonthlySpendingKey.of(transaction)).orElseThrow();
+    }
+}
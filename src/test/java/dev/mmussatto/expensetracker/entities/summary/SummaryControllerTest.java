@@ -0,0 +1,160 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.summary;
+
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import dev.mmussatto.expensetracker.exceptions.InvalidDateRangeException;
+import dev.mmussatto.expensetracker.exceptions.MissingExchangeRateException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SummaryController.class)
+class SummaryControllerTest {
+
+    // -------------- Constants ----------------------------
+    private static final Currency BRL = Money.DEFAULT_CURRENCY;
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final LocalDate FROM = LocalDate.of(2023, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2023, 12, 31);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SummaryService summaryService;
+
+
+    @Test
+    void getMonthlySummaries() throws Exception {
+
+        when(summaryService.getMonthlySummaries(FROM, TO, BRL)).thenReturn(List.of(
+                new SpendingSummaryDTO(2023, 4, BRL, 2L, 3000L, 1000L, 2000L),
+                new SpendingSummaryDTO(2023, 5, BRL, 1L, 500L, 500L, 500L)));
+
+        mockMvc.perform(get("/api/summaries/months")
+                        .param("from", "2023-01-01")
+                        .param("to", "2023-12-31")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].year", equalTo(2023)))
+                .andExpect(jsonPath("$[0].month", equalTo(4)))
+                .andExpect(jsonPath("$[0].total", equalTo(30.0)))
+                .andExpect(jsonPath("$[0].average", equalTo(15.0)))
+                .andExpect(jsonPath("$[0].name").doesNotExist());
+    }
+
+    @Test
+    void getCategorySummaries() throws Exception {
+
+        when(summaryService.getCategorySummaries(FROM, TO, BRL)).thenReturn(List.of(
+                new SpendingSummaryDTO(1, "Test Category", BRL, 2L, 3000L, 1000L, 2000L)));
+
+        mockMvc.perform(get("/api/summaries/categories")
+                        .param("from", "2023-01-01")
+                        .param("to", "2023-12-31")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", equalTo(1)))
+                .andExpect(jsonPath("$[0].name", equalTo("Test Category")))
+                .andExpect(jsonPath("$[0].count", equalTo(2)))
+                .andExpect(jsonPath("$[0].month").doesNotExist());
+    }
+
+    @Test
+    void getTagSummaries() throws Exception {
+
+        when(summaryService.getTagSummaries(FROM, TO, BRL)).thenReturn(List.of(
+                new SpendingSummaryDTO(1, "Test Tag", BRL, 1L, 500L, 500L, 500L)));
+
+        mockMvc.perform(get("/api/summaries/tags")
+                        .param("from", "2023-01-01")
+                        .param("to", "2023-12-31")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(summaryService).getTagSummaries(FROM, TO, BRL);
+    }
+
+    @Test
+    void getYearlySummaries_InCurrency() throws Exception {
+
+        when(summaryService.getYearlySummaries(FROM, TO, USD)).thenReturn(List.of(
+                new SpendingSummaryDTO(2023, USD, 2L, 3000L, 1000L, 2000L)));
+
+        mockMvc.perform(get("/api/summaries/years")
+                        .param("from", "2023-01-01")
+                        .param("to", "2023-12-31")
+                        .param("currency", "USD")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].currency", equalTo("USD")))
+                .andExpect(jsonPath("$[0].total", equalTo(30.0)));
+    }
+
+    @Test
+    void getYearlySummaries_MissingExchangeRate() throws Exception {
+
+        when(summaryService.getYearlySummaries(FROM, TO, USD)).thenThrow(MissingExchangeRateException.class);
+
+        mockMvc.perform(get("/api/summaries/years")
+                        .param("from", "2023-01-01")
+                        .param("to", "2023-12-31")
+                        .param("currency", "USD")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof MissingExchangeRateException));
+    }
+
+    @Test
+    void getVendorSummaries_InvalidRange() throws Exception {
+
+        when(summaryService.getVendorSummaries(TO, FROM, BRL)).thenThrow(InvalidDateRangeException.class);
+
+        mockMvc.perform(get("/api/summaries/vendors")
+                        .param("from", "2023-12-31")
+                        .param("to", "2023-01-01")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof InvalidDateRangeException));
+    }
+
+    @Test
+    void getPaymentMethodSummaries_MissingRange() throws Exception {
+
+        mockMvc.perform(get("/api/summaries/payment-methods")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(summaryService);
+    }
+
+    @Test
+    void rebuildRollup() throws Exception {
+
+        mockMvc.perform(post("/api/summaries/rebuild"))
+                .andExpect(status().isNoContent());
+
+        verify(summaryService, times(1)).rebuildRollup();
+    }
+}
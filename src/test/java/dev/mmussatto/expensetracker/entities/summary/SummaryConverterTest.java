@@ -0,0 +1,154 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.summary;
+
+import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.exchangerate.ExchangeRates;
+import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
+import dev.mmussatto.expensetracker.entities.summary.SummaryConverter.Grouping;
+import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionRepository;
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
+import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
+import dev.mmussatto.expensetracker.exceptions.MissingExchangeRateException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({SummaryConverter.class, ExchangeRates.class})
+class SummaryConverterTest {
+
+    // -------------- Constants ----------------------------
+    private static final Currency BRL = Money.DEFAULT_CURRENCY;
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final LocalDateTime APRIL = LocalDateTime.of(2023, 4, 10, 12, 0, 0);
+    private static final LocalDateTime MAY = LocalDateTime.of(2023, 5, 10, 12, 0, 0);
+    private static final LocalDateTime FROM = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2023, 12, 31, 23, 59, 59);
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ExchangeRates exchangeRates;
+
+    @Autowired
+    private SummaryConverter summaryConverter;
+
+    private Category food;
+    private Category travel;
+    private PaymentMethod paymentMethod;
+    private Vendor vendor;
+
+
+    @BeforeEach
+    void setUp() {
+        food = testEntityManager.persist(new Category("Food", Color.BLUE));
+        travel = testEntityManager.persist(new Category("Travel", Color.RED));
+        paymentMethod = testEntityManager.persist(new PaymentMethod("Test Payment Method", PaymentType.CASH));
+        vendor = testEntityManager.persist(new OnlineStore("Test Online Store", "www.test.com"));
+
+        //A dollar is 5 reais in April and 4 in May
+        jdbcTemplate.update("insert into exchange_rate (currency, rate_date, rate) values ('USD', '2023-04-01', 5)");
+        jdbcTemplate.update("insert into exchange_rate (currency, rate_date, rate) values ('USD', '2023-05-01', 4)");
+        exchangeRates.refresh();
+    }
+
+
+    @Test
+    void convert_Categories() {
+        save(Money.of("10.00"), APRIL, food);
+        save(dollars("10.00"), APRIL, food);
+        save(dollars("20.00"), MAY, travel);
+
+        List<SpendingSummaryDTO> summaries = transactionRepository.summarizeByCategory(FROM, TO);
+        assertEquals(3, summaries.size(), "One row per category and currency expected");
+
+        List<SpendingSummaryDTO> converted = summaryConverter.convert(summaries, Grouping.CATEGORY, FROM, TO, BRL);
+
+        assertEquals(2, converted.size());
+
+        SpendingSummaryDTO foodSummary = converted.get(0);
+        assertEquals("Food", foodSummary.getName());
+        assertEquals(BRL, foodSummary.getCurrency());
+        assertEquals(2L, foodSummary.getCount());
+        assertEquals(Money.of("60.00"), foodSummary.getTotal());
+        assertEquals(Money.of("10.00"), foodSummary.getMin());
+        assertEquals(Money.of("50.00"), foodSummary.getMax());
+        assertEquals(Money.of("30.00"), foodSummary.getAverage());
+
+        SpendingSummaryDTO travelSummary = converted.get(1);
+        assertEquals(travel.getId(), travelSummary.getId());
+        assertEquals(Money.of("80.00"), travelSummary.getTotal());
+    }
+
+    @Test
+    void convert_Months() {
+        save(Money.of("10.00"), APRIL, food);
+        save(dollars("10.00"), MAY, food);
+
+        List<SpendingSummaryDTO> converted = summaryConverter.convert(
+                transactionRepository.summarizeByMonth(FROM, TO), Grouping.MONTH, FROM, TO, USD);
+
+        assertEquals(2, converted.size());
+        assertEquals(4, converted.get(0).getMonth());
+        assertEquals(dollars("2.00"), converted.get(0).getTotal());
+        assertEquals(5, converted.get(1).getMonth());
+        assertEquals(dollars("10.00"), converted.get(1).getTotal());
+    }
+
+    @Test
+    void convert_SingleCurrency() {
+        save(Money.of("10.00"), APRIL, food);
+        save(Money.of("20.00"), MAY, travel);
+
+        List<SpendingSummaryDTO> summaries = transactionRepository.summarizeByYear(FROM, TO);
+
+        assertSame(summaries, summaryConverter.convert(summaries, Grouping.YEAR, FROM, TO, BRL));
+    }
+
+    @Test
+    void convert_MissingRate() {
+        save(dollars("10.00"), APRIL.minusMonths(1), food);
+
+        List<SpendingSummaryDTO> summaries = transactionRepository.summarizeByYear(FROM, TO);
+
+        assertThrows(MissingExchangeRateException.class,
+                () -> summaryConverter.convert(summaries, Grouping.YEAR, FROM, TO, BRL));
+    }
+
+
+    // -------------- Helpers ----------------------------
+    private Money dollars(String amount) {
+        return Money.of(new BigDecimal(amount), USD);
+    }
+
+    private void save(Money amount, LocalDateTime date, Category category) {
+        testEntityManager.persist(new Transaction(amount, date, "Test", category, paymentMethod, vendor, new HashSet<>()));
+        testEntityManager.flush();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.summary;
+
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionRepository;
+import dev.mmussatto.expensetracker.exceptions.InvalidDateRangeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SummaryServiceImplTest {
+
+    // -------------- Constants ----------------------------
+    private static final Currency BRL = Money.DEFAULT_CURRENCY;
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final LocalDate FROM = LocalDate.of(2023, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2023, 12, 31);
+    private static final int FROM_PERIOD = 202301;
+    private static final int TO_PERIOD = 202312;
+
+    //Not whole months, so read from the transactions
+    private static final LocalDate PARTIAL_FROM = LocalDate.of(2023, 1, 15);
+    private static final LocalDate PARTIAL_TO = LocalDate.of(2023, 12, 15);
+    private static final LocalDateTime PARTIAL_FROM_DATE_TIME = LocalDateTime.of(2023, 1, 15, 0, 0, 0);
+    private static final LocalDateTime PARTIAL_TO_DATE_TIME = LocalDateTime.of(2023, 12, 15, 23, 59, 59);
+
+    @Mock
+    TransactionRepository transactionRepository;
+
+    @Mock
+    MonthlySpendingRepository monthlySpendingRepository;
+
+    @Mock
+    SpendingRollup spendingRollup;
+
+    @Mock
+    SummaryConverter summaryConverter;
+
+    @InjectMocks
+    SummaryServiceImpl summaryService;
+
+
+    //Summaries already in the currency asked for come back as they are
+    @BeforeEach
+    void setUp() {
+        lenient().when(summaryConverter.convert(anyList(), any(), any(), any(), eq(BRL)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void getYearlySummaries() {
+        List<SpendingSummaryDTO> summaries = List.of(new SpendingSummaryDTO(2023, BRL, 2L, 3000L, 1000L, 2000L));
+
+        when(monthlySpendingRepository.summarizeByYear(FROM_PERIOD, TO_PERIOD)).thenReturn(summaries);
+
+        assertEquals(summaries, summaryService.getYearlySummaries(FROM, TO, BRL));
+
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void getYearlySummaries_PartialMonths() {
+        List<SpendingSummaryDTO> summaries = List.of(new SpendingSummaryDTO(2023, BRL, 2L, 3000L, 1000L, 2000L));
+
+        when(transactionRepository.summarizeByYear(PARTIAL_FROM_DATE_TIME, PARTIAL_TO_DATE_TIME)).thenReturn(summaries);
+
+        assertEquals(summaries, summaryService.getYearlySummaries(PARTIAL_FROM, PARTIAL_TO, BRL));
+
+        verifyNoInteractions(monthlySpendingRepository);
+    }
+
+    @Test
+    void getMonthlySummaries() {
+        List<SpendingSummaryDTO> summaries = List.of(new SpendingSummaryDTO(2023, 4, BRL, 2L, 3000L, 1000L, 2000L));
+
+        when(monthlySpendingRepository.summarizeByMonth(FROM_PERIOD, TO_PERIOD)).thenReturn(summaries);
+
+        assertEquals(summaries, summaryService.getMonthlySummaries(FROM, TO, BRL));
+    }
+
+    @Test
+    void getMonthlySummaries_LeapFebruary() {
+        List<SpendingSummaryDTO> summaries = List.of(new SpendingSummaryDTO(2024, 2, BRL, 2L, 3000L, 1000L, 2000L));
+
+        when(monthlySpendingRepository.summarizeByMonth(202402, 202402)).thenReturn(summaries);
+
+        assertEquals(summaries, summaryService.getMonthlySummaries(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29), BRL));
+    }
+
+    @Test
+    void getMonthlySummaries_PartialMonths() {
+        List<SpendingSummaryDTO> summaries = List.of(new SpendingSummaryDTO(2023, 4, BRL, 2L, 3000L, 1000L, 2000L));
+
+        when(transactionRepository.summarizeByMonth(PARTIAL_FROM_DATE_TIME, PARTIAL_TO_DATE_TIME)).thenReturn(summaries);
+
+        assertEquals(summaries, summaryService.getMonthlySummaries(PARTIAL_FROM, PARTIAL_TO, BRL));
+
+        verifyNoInteractions(monthlySpendingRepository);
+    }
+
+    @Test
+    void getMonthlySummaries_InvalidRange() {
+
+        assertThrows(InvalidDateRangeException.class, () -> summaryService.getMonthlySummaries(TO, FROM, BRL));
+
+        verifyNoInteractions(transactionRepository, monthlySpendingRepository);
+    }
+
+    @Test
+    void getCategorySummaries() {
+        List<SpendingSummaryDTO> summaries = List.of(new SpendingSummaryDTO(1, "Test Category", BRL, 2L, 3000L, 1000L, 2000L));
+
+        when(monthlySpendingRepository.summarizeByCategory(FROM_PERIOD, TO_PERIOD)).thenReturn(summaries);
+
+        assertEquals(summaries, summaryService.getCategorySummaries(FROM, TO, BRL));
+    }
+
+    @Test
+    void getPaymentMethodSummaries() {
+        List<SpendingSummaryDTO> summaries = List.of(new SpendingSummaryDTO(1, "Test Payment Method", BRL, 2L, 3000L, 1000L, 2000L));
+
+        when(monthlySpendingRepository.summarizeByPaymentMethod(FROM_PERIOD, TO_PERIOD)).thenReturn(summaries);
+
+        assertEquals(summaries, summaryService.getPaymentMethodSummaries(FROM, TO, BRL));
+    }
+
+    @Test
+    void getVendorSummaries() {
+        List<SpendingSummaryDTO> summaries = List.of(new SpendingSummaryDTO(1, "Test Vendor", BRL, 2L, 3000L, 1000L, 2000L));
+
+        when(monthlySpendingRepository.summarizeByVendor(FROM_PERIOD, TO_PERIOD)).thenReturn(summaries);
+
+        assertEquals(summaries, summaryService.getVendorSummaries(FROM, TO, BRL));
+    }
+
+    @Test
+    void getVendorSummaries_PartialMonths() {
+        List<SpendingSummaryDTO> summaries = List.of(new SpendingSummaryDTO(1, "Test Vendor", BRL, 2L, 3000L, 1000L, 2000L));
+
+        when(transactionRepository.summarizeByVendor(PARTIAL_FROM_DATE_TIME, PARTIAL_TO_DATE_TIME)).thenReturn(summaries);
+
+        assertEquals(summaries, summaryService.getVendorSummaries(PARTIAL_FROM, PARTIAL_TO, BRL));
+    }
+
+    @Test
+    void getTagSummaries() {
+        List<SpendingSummaryDTO> summaries = List.of(new SpendingSummaryDTO(1, "Test Tag", BRL, 2L, 3000L, 1000L, 2000L));
+
+        when(transactionRepository.summarizeByTag(FROM.atStartOfDay(), TO.atTime(23, 59, 59))).thenReturn(summaries);
+
+        assertEquals(summaries, summaryService.getTagSummaries(FROM, TO, BRL));
+
+        verifyNoInteractions(monthlySpendingRepository);
+    }
+
+    @Test
+    void getCategorySummaries_InCurrency() {
+        List<SpendingSummaryDTO> summaries = List.of(new SpendingSummaryDTO(1, "Test Category", BRL, 2L, 3000L, 1000L, 2000L));
+        List<SpendingSummaryDTO> converted = List.of(new SpendingSummaryDTO(1, "Test Category", USD, 2L, 600L, 200L, 400L));
+
+        when(monthlySpendingRepository.summarizeByCategory(FROM_PERIOD, TO_PERIOD)).thenReturn(summaries);
+        when(summaryConverter.convert(summaries, SummaryConverter.Grouping.CATEGORY,
+                FROM.atStartOfDay(), TO.atTime(23, 59, 59), USD)).thenReturn(converted);
+
+        assertEquals(converted, summaryService.getCategorySummaries(FROM, TO, USD));
+    }
+
+    @Test
+    void rebuildRollup() {
+
+        summaryService.rebuildRollup();
+
+        verify(spendingRollup, times(1)).rebuild();
+    }
+}
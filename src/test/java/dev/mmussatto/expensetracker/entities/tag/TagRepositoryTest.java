@@ -4,19 +4,27 @@
 
 package dev.mmussatto.expensetracker.entities.tag;
 
+import dev.mmussatto.expensetracker.config.SqlStatementConfig;
+import dev.mmussatto.expensetracker.config.SqlStatementCountExtension;
 import dev.mmussatto.expensetracker.entities.helpers.Color;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
+@Import(SqlStatementConfig.class)
 class TagRepositoryTest {
 
+    @RegisterExtension
+    SqlStatementCountExtension sqlStatements = new SqlStatementCountExtension();
+
     @Autowired
     private TestEntityManager testEntityManager;
 
@@ -45,4 +53,18 @@ class TagRepositoryTest {
         assertThrows(ConstraintViolationException.class, () -> testEntityManager.persist(entity));
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void findAll_DoesNotLoadTransactions() {
+        for (int i = 0; i < 5; i++)
+            testEntityManager.persist(new Tag("Test " + i, Color.BLUE));
+        testEntityManager.flush();
+        testEntityManager.clear();
+        sqlStatements.reset();
+
+        //The transactions back-reference is lazy, reading the tags mustn't query it for each one
+        tagRepository.findAll().forEach(Tag::getName);
+
+        sqlStatements.assertAtMost(1);
+    }
+}
@@ -5,7 +5,9 @@
 package dev.mmussatto.expensetracker.entities.tag;
 
 import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
 import dev.mmussatto.expensetracker.entities.transaction.Transaction;
+import dev.mmussatto.expensetracker.entities.transaction.TransactionRepository;
 import dev.mmussatto.expensetracker.exceptions.ResourceAlreadyExistsException;
 import dev.mmussatto.expensetracker.exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeAll;
@@ -14,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 
 import java.util.Arrays;
@@ -22,6 +25,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +43,9 @@ class TagServiceImplTest {
     @Mock
     TagRepository tagRepository;
 
+    @Mock
+    TransactionRepository transactionRepository;
+
     @InjectMocks
     TagServiceImpl tagService;
 
@@ -110,7 +117,6 @@ class TagServiceImplTest {
     @Test
     void getTagByName_NotFound() {
 
-        when(tagRepository.findByName(NAME)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> tagService.getTagByName(NAME));
     }
@@ -127,8 +133,7 @@ class TagServiceImplTest {
         Tag savedTag = new Tag(passedEntity.getName(), passedEntity.getColor());
         savedTag.setId(ID);
 
-        when(tagRepository.findByName(passedEntity.getName())).thenReturn(Optional.empty());
-        when(tagRepository.save(passedEntity)).thenReturn(savedTag);
+        when(tagRepository.saveAndFlush(passedEntity)).thenReturn(savedTag);
 
 
         Tag returnedEntity = tagService.createNewTag(passedEntity);
@@ -151,6 +156,9 @@ class TagServiceImplTest {
 
         when(tagRepository.findByName(passedEntity.getName())).thenReturn(Optional.of(savedTag));
 
+        //The unique index rejects the write
+        when(tagRepository.saveAndFlush(any())).thenThrow(DataIntegrityViolationException.class);
+
         assertThrows(ResourceAlreadyExistsException.class, () -> tagService.createNewTag(passedEntity));
     }
 
@@ -175,8 +183,7 @@ class TagServiceImplTest {
         updatedTag.setTransactions(originalEntity.getTransactions());
 
         when(tagRepository.findById(originalEntity.getId())).thenReturn(Optional.of(originalEntity));
-        when(tagRepository.findByName(passedEntity.getName())).thenReturn(Optional.empty());
-        when(tagRepository.save(toUpdateEntity)).thenReturn(updatedTag);
+        when(tagRepository.saveAndFlush(toUpdateEntity)).thenReturn(updatedTag);
 
 
         Tag returnedEntity = tagService.updateTagById(originalEntity.getId(), passedEntity);
@@ -187,8 +194,8 @@ class TagServiceImplTest {
         assertEquals(passedEntity.getColor(), returnedEntity.getColor());
         assertEquals(originalEntity.getTransactions(), returnedEntity.getTransactions());
 
-        verify(tagRepository, times(1)).findByName(passedEntity.getName());
-        verify(tagRepository, times(1)).save(toUpdateEntity);
+        verify(tagRepository, never()).findByName(passedEntity.getName());
+        verify(tagRepository, times(1)).saveAndFlush(toUpdateEntity);
     }
 
     @Test
@@ -223,6 +230,9 @@ class TagServiceImplTest {
         when(tagRepository.findByName(passedEntity.getName())).thenReturn(Optional.of(nameAlreadyInUseEntity));
 
 
+        //The unique index rejects the write
+        when(tagRepository.saveAndFlush(any())).thenThrow(DataIntegrityViolationException.class);
+
         assertThrows(ResourceAlreadyExistsException.class,
                 () -> tagService.updateTagById(original.getId(), passedEntity));
     }
@@ -244,8 +254,7 @@ class TagServiceImplTest {
         updatedEntity.setTransactions(originalEntity.getTransactions());
 
         when(tagRepository.findById(originalEntity.getId())).thenReturn(Optional.of(originalEntity));
-        when(tagRepository.findByName(passedEntity.getName())).thenReturn(Optional.empty());
-        when(tagRepository.save(updatedEntity)).thenReturn(updatedEntity);
+        when(tagRepository.saveAndFlush(updatedEntity)).thenReturn(updatedEntity);
 
 
         Tag returnedEntity = tagService.patchTagById(originalEntity.getId(), passedEntity);
@@ -256,8 +265,8 @@ class TagServiceImplTest {
         assertEquals(passedEntity.getColor(), returnedEntity.getColor());
         assertEquals(originalEntity.getTransactions(),returnedEntity.getTransactions());
 
-        verify(tagRepository, times(1)).findByName(passedEntity.getName());
-        verify(tagRepository, times(1)).save(updatedEntity);
+        verify(tagRepository, never()).findByName(passedEntity.getName());
+        verify(tagRepository, times(1)).saveAndFlush(updatedEntity);
 
     }
 
@@ -278,8 +287,7 @@ class TagServiceImplTest {
         updatedEntity.setTransactions(originalEntity.getTransactions());
 
         when(tagRepository.findById(originalEntity.getId())).thenReturn(Optional.of(originalEntity));
-        when(tagRepository.findByName(passedEntity.getName())).thenReturn(Optional.empty());
-        when(tagRepository.save(updatedEntity)).thenReturn(updatedEntity);
+        when(tagRepository.saveAndFlush(updatedEntity)).thenReturn(updatedEntity);
 
 
         Tag returnedEntity = tagService.patchTagById(originalEntity.getId(), passedEntity);
@@ -290,8 +298,8 @@ class TagServiceImplTest {
         assertEquals(originalEntity.getColor(), returnedEntity.getColor());
         assertEquals(originalEntity.getTransactions(), returnedEntity.getTransactions());
 
-        verify(tagRepository, times(1)).findByName(passedEntity.getName());
-        verify(tagRepository, times(1)).save(updatedEntity);
+        verify(tagRepository, never()).findByName(passedEntity.getName());
+        verify(tagRepository, times(1)).saveAndFlush(updatedEntity);
 
     }
 
@@ -312,7 +320,7 @@ class TagServiceImplTest {
         updatedEntity.setTransactions(originalEntity.getTransactions());
 
         when(tagRepository.findById(originalEntity.getId())).thenReturn(Optional.of(originalEntity));
-        when(tagRepository.save(updatedEntity)).thenReturn(updatedEntity);
+        when(tagRepository.saveAndFlush(updatedEntity)).thenReturn(updatedEntity);
 
 
         Tag returnedEntity = tagService.patchTagById(originalEntity.getId(), passedEntity);
@@ -324,7 +332,7 @@ class TagServiceImplTest {
         assertEquals(originalEntity.getTransactions(), returnedEntity.getTransactions());
 
         verify(tagRepository, never()).findByName(passedEntity.getName());
-        verify(tagRepository, times(1)).save(updatedEntity);
+        verify(tagRepository, times(1)).saveAndFlush(updatedEntity);
     }
 
     @Test
@@ -362,6 +370,9 @@ class TagServiceImplTest {
         when(tagRepository.findByName(passedEntity.getName())).thenReturn(Optional.of(anotherSavedEntity));
 
 
+        //The unique index rejects the write
+        when(tagRepository.saveAndFlush(any())).thenThrow(DataIntegrityViolationException.class);
+
         assertThrows(ResourceAlreadyExistsException.class,
                 () -> tagService.patchTagById(original.getId(), passedEntity));
     }
@@ -399,12 +410,12 @@ class TagServiceImplTest {
         //Create transactions
         Transaction t1 = new Transaction();
         t1.setId(1);
-        t1.setAmount(53.00);
+        t1.setAmount(Money.of("53.00"));
         t1.setDescription("Test Transaction 1");
 
         Transaction t2 = new Transaction();
         t2.setId(2);
-        t2.setAmount(123.00);
+        t2.setAmount(Money.of("123.00"));
         t2.setDescription("Test Transaction 2");
 
         List<Transaction> transactions = Arrays.asList(t1, t2);
@@ -416,22 +427,19 @@ class TagServiceImplTest {
         t2.getTags().add(tag);
         tag.setTransactions(transactions);
 
-        //Create page returned by the service
+        //Create page returned by the repository
         Pageable pageable = PageRequest.of(DEFAULT_PAGE, DEFAULT_SIZE, Sort.by("date"));
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), transactions.size());
-
         Page<Transaction> pagedTransactions = new PageImpl<>(
-                transactions.subList(start, end), pageable, transactions.size());
-
+                transactions.subList(0, DEFAULT_SIZE), pageable, transactions.size());
 
-
-        when(tagRepository.findById(tag.getId())).thenReturn(Optional.of(tag));
+        when(tagRepository.existsById(tag.getId())).thenReturn(true);
+        when(transactionRepository.findByTagsId(pageable, tag.getId())).thenReturn(pagedTransactions);
 
         Page<Transaction> returnPagedTransactions = tagService.getTransactionsByTagId(tag.getId(), DEFAULT_PAGE, DEFAULT_SIZE);
 
         assertEquals(DEFAULT_SIZE, returnPagedTransactions.getContent().size(), "Wrong number of transactions");
         assertEquals(pagedTransactions, returnPagedTransactions);
+        verify(tagRepository, never()).findById(anyInt());
     }
 
     @Test
@@ -439,7 +447,7 @@ class TagServiceImplTest {
 
         Integer notFoundId = 123;
 
-        when(tagRepository.findById(notFoundId)).thenReturn(Optional.empty());
+        when(tagRepository.existsById(notFoundId)).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class, () ->
                 tagService.getTransactionsByTagId(notFoundId, DEFAULT_PAGE, DEFAULT_SIZE));
@@ -0,0 +1,85 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.transaction;
+
+import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
+import dev.mmussatto.expensetracker.entities.tag.Tag;
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
+import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.dao.PersistenceExceptionTranslationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Translation is part of the application context, but not of the @DataJpaTest slice
+@DataJpaTest
+@Import(TransactionBatchWriter.class)
+@ImportAutoConfiguration(PersistenceExceptionTranslationAutoConfiguration.class)
+class TransactionBatchWriterTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private TransactionBatchWriter transactionBatchWriter;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+
+    @Test
+    void persistAll() {
+        Category category = testEntityManager.persist(new Category("Test Category", Color.BLUE));
+        PaymentMethod paymentMethod = testEntityManager.persist(new PaymentMethod("Test Payment Method", PaymentType.CASH));
+        Vendor vendor = testEntityManager.persist(new OnlineStore("Test Online Store", "www.test.com"));
+        Tag tag = testEntityManager.persist(new Tag("Test Tag", Color.RED));
+
+        //More than one batch worth of transactions
+        List<Transaction> transactions = IntStream.range(0, 120)
+                .mapToObj(i -> new Transaction(Money.ofMinor(1000 + i * 100L), LocalDateTime.now().withNano(0), "Imported " + i,
+                        category, paymentMethod, vendor, Stream.of(tag).collect(Collectors.toSet())))
+                .collect(Collectors.toList());
+
+        int importedCount = transactionBatchWriter.persistAll(transactions);
+
+        assertEquals(transactions.size(), importedCount);
+        assertEquals(transactions.size(), transactionRepository.count());
+        transactions.forEach(transaction -> assertNotNull(transaction.getId()));
+        assertEquals(transactions.size(), transactionRepository.findByTagsId(
+                PageRequest.of(0, 1), tag.getId()).getTotalElements());
+    }
+
+    @Test
+    void persistAll_MissingReference() {
+        Category category = testEntityManager.getEntityManager().getReference(Category.class, 999);
+        PaymentMethod paymentMethod = testEntityManager.persist(new PaymentMethod("Test Payment Method", PaymentType.CASH));
+        Vendor vendor = testEntityManager.persist(new OnlineStore("Test Online Store", "www.test.com"));
+
+        List<Transaction> transactions = Collections.singletonList(new Transaction(Money.ofMinor(1000),
+                LocalDateTime.now().withNano(0), "Imported", category, paymentMethod, vendor, new HashSet<>()));
+
+        //Translated like the Spring Data repositories, so the service can answer it
+        assertThrows(DataIntegrityViolationException.class, () -> transactionBatchWriter.persistAll(transactions));
+    }
+}
@@ -6,13 +6,16 @@ package dev.mmussatto.expensetracker.entities.transaction;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.exchangerate.ExchangeRates;
 import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
 import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
 import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
 import dev.mmussatto.expensetracker.entities.tag.Tag;
 import dev.mmussatto.expensetracker.entities.vendor.Vendor;
 import dev.mmussatto.expensetracker.entities.vendor.defaultvendor.DefaultVendor;
 import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
+import dev.mmussatto.expensetracker.exceptions.InvalidMonthException;
 import dev.mmussatto.expensetracker.exceptions.ResourceNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeAll;
@@ -24,22 +27,32 @@ import org.springframework.data.domain.*;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -48,7 +61,7 @@ class TransactionControllerTest {
 
     // -------------- Constants ----------------------------
     private static final Integer ID = 1;
-    private static final Double AMOUNT = 115.00;
+    private static final Money AMOUNT = Money.of("115.00");
     private static final LocalDateTime DATE = LocalDateTime.now().withNano(0);
     private static final String DESCRIPTION = "Description";
     private static final Category CATEGORY = new Category("Test Category", Color.BLUE);
@@ -69,6 +82,9 @@ class TransactionControllerTest {
     @MockBean
     private TransactionMapper transactionMapper;
 
+    @MockBean
+    private ExchangeRates exchangeRates;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -128,6 +144,110 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.content[0].path", equalTo("/api/transactions/1")));
     }
 
+    @Test
+    void getPaginatedTransactions_InCurrency() throws Exception {
+
+        Currency dollar = Currency.getInstance("USD");
+        Money converted = Money.of(new BigDecimal("23.00"), dollar);
+
+        Transaction t1 = new Transaction(AMOUNT, DATE, DESCRIPTION, CATEGORY, PAYMENT_METHOD, VENDOR, new HashSet<>());
+        t1.setId(1);
+        Transaction t2 = new Transaction(AMOUNT, DATE, DESCRIPTION, CATEGORY, PAYMENT_METHOD, VENDOR, new HashSet<>());
+        t2.setId(2);
+
+        TransactionDTO dto1 = new TransactionDTO(AMOUNT, DATE, DESCRIPTION, CATEGORY, PAYMENT_METHOD, VENDOR, new HashSet<>());
+        dto1.setId(t1.getId());
+
+        Pageable pageable = PageRequest.of(DEFAULT_PAGE, DEFAULT_SIZE, Sort.by("date"));
+        Page<Transaction> pagedTransactions = new PageImpl<>(List.of(t1), pageable, 2);
+
+        ExchangeRates.Conversion conversion = mock(ExchangeRates.Conversion.class);
+
+        when(transactionService.getPaginated(DEFAULT_PAGE, DEFAULT_SIZE)).thenReturn(pagedTransactions);
+        when(transactionMapper.convertToDTO(t1)).thenReturn(dto1);
+        when(exchangeRates.to(dollar)).thenReturn(conversion);
+        when(conversion.convert(AMOUNT, DATE.toLocalDate())).thenReturn(converted);
+
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("currency", "USD")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextPage", equalTo("/api/transactions?currency=USD&page=1&size=1")))
+                .andExpect(jsonPath("$.content[0].amount", equalTo(115.0)))
+                .andExpect(jsonPath("$.content[0].currency", equalTo("BRL")))
+                .andExpect(jsonPath("$.content[0].convertedAmount", equalTo(23.0)));
+    }
+
+    @Test
+    void getPaginatedTransactionSummaries() throws Exception {
+
+        //Create summaries
+        TransactionSummaryDTO summary1 = new TransactionSummaryDTO(1, AMOUNT.getMinorUnits(), AMOUNT.getCurrency(), DATE, DESCRIPTION,
+                CATEGORY.getId(), CATEGORY.getName(), PAYMENT_METHOD.getId(), PAYMENT_METHOD.getName(),
+                VENDOR.getId(), VENDOR.getName());
+        summary1.setTagIds(Set.of(TAG1.getId(), TAG2.getId()));
+
+        TransactionSummaryDTO summary2 = new TransactionSummaryDTO();
+        summary2.setId(2);
+
+        List<TransactionSummaryDTO> summaries = Arrays.asList(summary1, summary2);
+
+        //Create page
+        Pageable pageable = PageRequest.of(DEFAULT_PAGE, DEFAULT_SIZE, Sort.by("date"));
+        Page<TransactionSummaryDTO> pagedSummaries = new PageImpl<>(summaries.subList(0, 1), pageable, summaries.size());
+
+
+        when(transactionService.getSummariesByYear(DEFAULT_PAGE, DEFAULT_SIZE, 2023)).thenReturn(pagedSummaries);
+
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("view", "compact")
+                        .param("year", "2023")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", equalTo(summaries.size())))
+                .andExpect(jsonPath("$.nextPage", equalTo("/api/transactions?view=compact&year=2023&page=1&size=1")))
+                .andExpect(jsonPath("$.content", hasSize(DEFAULT_SIZE)))
+                .andExpect(jsonPath("$.content[0].path", equalTo("/api/transactions/1")))
+                .andExpect(jsonPath("$.content[0].currency", equalTo(AMOUNT.getCurrency().getCurrencyCode())))
+                .andExpect(jsonPath("$.content[0].categoryName", equalTo(CATEGORY.getName())))
+                .andExpect(jsonPath("$.content[0].vendorId", equalTo(VENDOR.getId())))
+                .andExpect(jsonPath("$.content[0].tagIds", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].category").doesNotExist());
+
+        verify(transactionService, never()).getTransactionsByYear(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getTransactionSummariesAfterCursor() throws Exception {
+
+        //Create summaries
+        TransactionSummaryDTO summary = new TransactionSummaryDTO();
+        summary.setId(1);
+        summary.setDate(DATE);
+
+        //Create slice, there are more transactions after the summary
+        Pageable pageable = PageRequest.of(0, DEFAULT_SIZE, Sort.by("date", "id"));
+        Slice<TransactionSummaryDTO> slicedSummaries = new SliceImpl<>(List.of(summary), pageable, true);
+
+        String nextCursor = TransactionCursor.of(summary).encode();
+
+        when(transactionService.getSummariesPaginatedAfter(null, DEFAULT_SIZE)).thenReturn(slicedSummaries);
+
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("after", "")
+                        .param("view", "compact")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor", equalTo(nextCursor)))
+                .andExpect(jsonPath("$.nextPage", equalTo("/api/transactions?view=compact&after=" + nextCursor + "&size=1")))
+                .andExpect(jsonPath("$.content[0].path", equalTo("/api/transactions/1")));
+
+        verify(transactionService, never()).getPaginatedAfter(any(), anyInt());
+    }
+
     @Test
     void getPaginatedTransactions_PreviousAndNextPage() throws Exception {
 
@@ -269,6 +389,153 @@ class TransactionControllerTest {
         verify(transactionService).getTransactionsByMonth(DEFAULT_PAGE, DEFAULT_SIZE, 2023, 4);
     }
 
+    @Test
+    void getTransactionsAfterCursor_FirstPage() throws Exception {
+
+        //Create entities
+        Transaction t1 = new Transaction();
+        t1.setId(1);
+        t1.setDate(DATE);
+        Transaction t2 = new Transaction();
+        t2.setId(2);
+        t2.setDate(DATE);
+
+        //Create dtos
+        TransactionDTO dto1 = new TransactionDTO();
+        dto1.setId(t1.getId());
+
+        //Create slice, there are more transactions after t1
+        Pageable pageable = PageRequest.of(0, DEFAULT_SIZE, Sort.by("date", "id"));
+        Slice<Transaction> slicedTransactions = new SliceImpl<>(Arrays.asList(t1), pageable, true);
+
+        String nextCursor = TransactionCursor.of(t1).encode();
+
+        when(transactionService.getPaginatedAfter(null, DEFAULT_SIZE)).thenReturn(slicedTransactions);
+        when(transactionMapper.convertToDTO(t1)).thenReturn(dto1);
+
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("after", "")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pageSize", equalTo(DEFAULT_SIZE)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor", equalTo(nextCursor)))
+                .andExpect(jsonPath("$.nextPage", equalTo("/api/transactions?after=" + nextCursor + "&size=1")))
+                .andExpect(jsonPath("$.content", hasSize(DEFAULT_SIZE)))
+                .andExpect(jsonPath("$.content[0].path", equalTo("/api/transactions/1")));
+
+        verify(transactionService, never()).getPaginated(anyInt(), anyInt());
+    }
+
+    @Test
+    void getTransactionsAfterCursor_LastPage() throws Exception {
+
+        //Create entities
+        Transaction t1 = new Transaction();
+        t1.setId(1);
+        t1.setDate(DATE);
+        Transaction t2 = new Transaction();
+        t2.setId(2);
+        t2.setDate(DATE);
+
+        //Create dtos
+        TransactionDTO dto2 = new TransactionDTO();
+        dto2.setId(t2.getId());
+
+        //Create slice, t2 is the last transaction of the year
+        Pageable pageable = PageRequest.of(0, DEFAULT_SIZE, Sort.by("date", "id"));
+        Slice<Transaction> slicedTransactions = new SliceImpl<>(Arrays.asList(t2), pageable, false);
+
+        TransactionCursor cursor = TransactionCursor.of(t1);
+
+        when(transactionService.getTransactionsByYearAfter(cursor, DEFAULT_SIZE, 2023)).thenReturn(slicedTransactions);
+        when(transactionMapper.convertToDTO(t2)).thenReturn(dto2);
+
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("after", cursor.encode())
+                        .param("year", "2023")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor", equalTo(null)))
+                .andExpect(jsonPath("$.nextPage", equalTo(null)))
+                .andExpect(jsonPath("$.content", hasSize(DEFAULT_SIZE)))
+                .andExpect(jsonPath("$.content[0].path", equalTo("/api/transactions/2")));
+    }
+
+    @Test
+    void getTransactionsAfterCursor_InvalidCursor() throws Exception {
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("after", "not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportTransactions() throws Exception {
+
+        Range<LocalDateTime> range = Range.closed(LocalDateTime.of(2023, 4, 1, 0, 0, 0),
+                LocalDateTime.of(2023, 4, 30, 23, 59, 59));
+
+        when(transactionService.getExportRange(2023, 4)).thenReturn(range);
+        doAnswer(invocation -> {
+            java.io.OutputStream outputStream = invocation.getArgument(2);
+            outputStream.write("id,date\n".getBytes());
+            return 0L;
+        }).when(transactionService).exportTransactions(eq(TransactionExportFormat.CSV), eq(range), any());
+
+
+        mockMvc.perform(get("/api/transactions/export")
+                        .param("format", "CSV")
+                        .param("year", "2023")
+                        .param("month", "4"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("text/csv")))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.csv\""))
+                .andExpect(content().string("id,date\n"));
+    }
+
+    @Test
+    void exportTransactions_DefaultFormat() throws Exception {
+
+        when(transactionService.getExportRange(null, null)).thenReturn(Range.unbounded());
+
+        mockMvc.perform(get("/api/transactions/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("application/x-ndjson")));
+
+        verify(transactionService).exportTransactions(eq(TransactionExportFormat.NDJSON), eq(Range.unbounded()), any());
+    }
+
+    @Test
+    void exportTransactions_InvalidFormat() throws Exception {
+
+        mockMvc.perform(get("/api/transactions/export")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(transactionService, never()).exportTransactions(any(), any(), any());
+    }
+
+    @Test
+    void exportTransactions_InvalidMonth() throws Exception {
+
+        when(transactionService.getExportRange(2023, 13))
+                .thenThrow(new InvalidMonthException("Invalid value for MonthOfYear: 13"));
+
+        mockMvc.perform(get("/api/transactions/export")
+                        .param("year", "2023")
+                        .param("month", "13"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string("Content-Type", startsWith("application/json")))
+                .andExpect(header().doesNotExist("Content-Disposition"))
+                .andExpect(jsonPath("$.message", equalTo("Invalid value for MonthOfYear: 13")));
+
+        verify(transactionService, never()).exportTransactions(any(), any(), any());
+    }
+
     @Test
     void getTransactionById() throws Exception {
 
@@ -352,6 +619,49 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.messages", hasSize(7)));
     }
 
+    @Test
+    void createNewTransaction_AmountWithTooManyDecimals() throws Exception {
+
+        mockMvc.perform(post("/api/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":12.345,\"date\":\"2023-04-24T08:30:00\",\"description\":\"Test\"," +
+                                "\"categoryId\":1,\"paymentMethodId\":1,\"vendorId\":1,\"tagIds\":[1]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.messages", hasItem("amount has more decimal places than its currency")));
+
+        verify(transactionService, never()).createNewTransaction(any());
+    }
+
+    @Test
+    void createNewTransaction_AmountWithDecimalsInCurrencyWithout() throws Exception {
+
+        mockMvc.perform(post("/api/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":12.5,\"currency\":\"JPY\",\"date\":\"2023-04-24T08:30:00\"," +
+                                "\"description\":\"Test\",\"categoryId\":1,\"paymentMethodId\":1,\"vendorId\":1,\"tagIds\":[1]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.messages", hasItem("amount has more decimal places than its currency")));
+
+        verify(transactionService, never()).createNewTransaction(any());
+    }
+
+    @Test
+    void createNewTransaction_AmountWithThreeDecimalsInCurrencyWithThree() throws Exception {
+
+        Transaction savedEntity = new Transaction();
+        savedEntity.setId(1);
+
+        when(transactionMapper.convertRequestToEntity(any())).thenReturn(savedEntity);
+        when(transactionService.createNewTransaction(savedEntity)).thenReturn(savedEntity);
+        when(transactionMapper.convertToDTO(savedEntity)).thenReturn(new TransactionDTO());
+
+        mockMvc.perform(post("/api/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":1.234,\"currency\":\"KWD\",\"date\":\"2023-04-24T08:30:00\"," +
+                                "\"description\":\"Test\",\"categoryId\":1,\"paymentMethodId\":1,\"vendorId\":1,\"tagIds\":[1]}"))
+                .andExpect(status().isCreated());
+    }
+
     @Test
     void createNewTransaction_EntityNotFound() throws Exception {
 
@@ -373,6 +683,58 @@ class TransactionControllerTest {
     }
 
 
+    @Test
+    void createNewTransactions() throws Exception {
+
+        RequestTransactionDTO requestDTO = createRequestTransactionDTO();
+        List<RequestTransactionDTO> requestDTOs = Arrays.asList(requestDTO, requestDTO);
+
+        Transaction toSaveEntity = convertRequestToEntity(requestDTO);
+
+        when(transactionMapper.convertRequestToEntity(requestDTO)).thenReturn(toSaveEntity);
+        when(transactionService.createNewTransactions(Arrays.asList(toSaveEntity, toSaveEntity))).thenReturn(requestDTOs.size());
+
+        mockMvc.perform(post("/api/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTOs)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.importedCount", equalTo(requestDTOs.size())));
+    }
+
+    @Test
+    void createNewTransactions_MissingFields() throws Exception {
+
+        List<RequestTransactionDTO> requestDTOs = Arrays.asList(createRequestTransactionDTO(), new RequestTransactionDTO());
+
+        mockMvc.perform(post("/api/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTOs)))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertThat(result.getResolvedException(),
+                        instanceOf(ConstraintViolationException.class)))
+                .andExpect(jsonPath("$.messages", hasSize(7)));
+
+        verify(transactionService, never()).createNewTransactions(anyList());
+    }
+
+    @Test
+    void createNewTransactions_TooManyTransactions() throws Exception {
+
+        List<RequestTransactionDTO> requestDTOs = Collections.nCopies(TransactionController.MAX_BATCH_SIZE + 1,
+                createRequestTransactionDTO());
+
+        mockMvc.perform(post("/api/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTOs)))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertThat(result.getResolvedException(),
+                        instanceOf(ConstraintViolationException.class)))
+                .andExpect(jsonPath("$.messages", hasSize(1)));
+
+        verify(transactionService, never()).createNewTransactions(anyList());
+    }
+
+
     // -------------- UPDATE ----------------------------
     @Test
     void updateTransactionById() throws Exception {
@@ -501,6 +863,18 @@ class TransactionControllerTest {
                         instanceOf(ResourceNotFoundException.class)));
     }
 
+    @Test
+    void patchTransactionById_CurrencyWithoutAmount() throws Exception {
+
+        mockMvc.perform(patch("/api/transactions/{id}", ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currency\":\"USD\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.messages", hasItem("currency must be sent together with an amount")));
+
+        verify(transactionService, never()).patchTransactionById(any(), any());
+    }
+
 
     // -------------- DELETE ----------------------------
     @Test
@@ -535,7 +909,7 @@ class TransactionControllerTest {
     // -------------------- Helpers ---------------------------
     private RequestTransactionDTO createRequestTransactionDTO() {
 
-        return new RequestTransactionDTO(AMOUNT, DATE,
+        return new RequestTransactionDTO(AMOUNT.toBigDecimal(), DATE,
                 DESCRIPTION, CATEGORY.getId(), PAYMENT_METHOD.getId(), VENDOR.getId(),
                 Stream.of(TAG1.getId(), TAG2.getId()).collect(Collectors.toSet()));
     }
@@ -546,7 +920,7 @@ class TransactionControllerTest {
             tags.add(new Tag(tagId));
         }
 
-        Transaction toUpdateEntity = new Transaction(requestDTO.getAmount(), requestDTO.getDate(),
+        Transaction toUpdateEntity = new Transaction(Money.of(requestDTO.getAmount()), requestDTO.getDate(),
                 requestDTO.getDescription(), new Category(requestDTO.getCategoryId()),
                 new PaymentMethod(requestDTO.getPaymentMethodId()), new DefaultVendor(requestDTO.getVendorId()), tags);
         toUpdateEntity.setId(1);
@@ -0,0 +1,120 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.transaction;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
+import dev.mmussatto.expensetracker.entities.tag.Tag;
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
+import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(TransactionExporter.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class TransactionExporterTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private TransactionExporter transactionExporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Category category;
+    private PaymentMethod paymentMethod;
+    private Vendor vendor;
+    private Tag tag1;
+    private Tag tag2;
+
+
+    @BeforeEach
+    void setUp() {
+        category = testEntityManager.persist(new Category("Test, Category", Color.BLUE));
+        paymentMethod = testEntityManager.persist(new PaymentMethod("Test Payment Method", PaymentType.CASH));
+        vendor = testEntityManager.persist(new OnlineStore("Test Online Store", "www.test.com"));
+        tag1 = testEntityManager.persist(new Tag("Test Tag 1", Color.RED));
+        tag2 = testEntityManager.persist(new Tag("Test Tag 2", Color.GREEN));
+    }
+
+    @Test
+    void export_Ndjson() throws Exception {
+        //More than one chunk worth of transactions
+        int count = TransactionExporter.CHUNK_SIZE + 10;
+
+        for (int i = 0; i < count; i++)
+            persistTransaction(LocalDateTime.of(2023, 4, 1, 0, 0, 0).plusMinutes(i), Set.of(tag1, tag2));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long exportedCount = transactionExporter.export(TransactionExportFormat.NDJSON, null, null, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(count, exportedCount);
+        assertEquals(count, lines.length);
+
+        //Rows of the second chunk also get their tags
+        JsonNode last = objectMapper.readTree(lines[count - 1]);
+        assertEquals("2023-04-01T08:29:00", last.get("date").asText());
+        assertEquals(category.getName(), last.get("categoryName").asText());
+        assertEquals(2, last.get("tagIds").size());
+    }
+
+    @Test
+    void export_CsvBetweenDates() {
+        Transaction april = persistTransaction(LocalDateTime.of(2023, 4, 2, 10, 0, 0), Set.of(tag1, tag2));
+        persistTransaction(LocalDateTime.of(2023, 5, 2, 10, 0, 0), Set.of(tag1));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long exportedCount = transactionExporter.export(TransactionExportFormat.CSV,
+                LocalDateTime.of(2023, 4, 1, 0, 0, 0), LocalDateTime.of(2023, 4, 30, 23, 59, 59), outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(1, exportedCount);
+        assertEquals(2, lines.length, "Header and one row expected");
+        assertTrue(lines[0].startsWith("id,date,amount,currency"));
+
+        String tagIds = tag1.getId() < tag2.getId()
+                ? tag1.getId() + ";" + tag2.getId()
+                : tag2.getId() + ";" + tag1.getId();
+
+        assertEquals(april.getId() + ",2023-04-02T10:00:00,10.00,BRL,\"Exported \"\"quoted\"\"\"," +
+                category.getId() + ",\"Test, Category\"," +
+                paymentMethod.getId() + ",Test Payment Method," +
+                vendor.getId() + ",Test Online Store," + tagIds, lines[1]);
+    }
+
+
+    // -------------- Helpers ----------------------------
+    private Transaction persistTransaction(LocalDateTime date, Set<Tag> tags) {
+        return testEntityManager.persist(new Transaction(Money.of("10.00"), date, "Exported \"quoted\"",
+                category, paymentMethod, vendor, new HashSet<>(tags)));
+    }
+}
@@ -6,6 +6,7 @@ package dev.mmussatto.expensetracker.entities.transaction;
 
 import dev.mmussatto.expensetracker.entities.category.Category;
 import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
 import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
 import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
 import dev.mmussatto.expensetracker.entities.tag.Tag;
@@ -15,8 +16,10 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Currency;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -28,7 +31,7 @@ class TransactionMapperTest {
 
     // -------------- Constants ----------------------------
     public static final Integer ID = 1;
-    public static final Double AMOUNT = 500.00;
+    public static final Money AMOUNT = Money.of("500.00");
     public static final LocalDateTime TIME = LocalDateTime.now();
     public static final String DESCRIPTION = "TestDescription";
     public static final Category CATEGORY = new Category("TestCategory", Color.BLUE);
@@ -133,7 +136,7 @@ class TransactionMapperTest {
 
         //Create Request
         RequestTransactionDTO request = new RequestTransactionDTO();
-        request.setAmount(AMOUNT);
+        request.setAmount(AMOUNT.toBigDecimal());
         request.setDate(TIME);
         request.setDescription(DESCRIPTION);
 
@@ -146,7 +149,7 @@ class TransactionMapperTest {
         Transaction transaction = transactionMapper.convertRequestToEntity(request);
 
 
-        assertEquals(request.getAmount(), transaction.getAmount());
+        assertEquals(AMOUNT, transaction.getAmount());
         assertEquals(request.getDate(), transaction.getDate());
         assertEquals(request.getDescription(), transaction.getDescription());
         assertEquals(CATEGORY.getId(), transaction.getCategory().getId());
@@ -155,6 +158,19 @@ class TransactionMapperTest {
         assertEquals(VENDOR.getId(), transaction.getVendor().getId());
     }
 
+    @Test
+    void convertRequestToEntity_AmountInCurrencyWithThreeDecimals() {
+
+        RequestTransactionDTO request = new RequestTransactionDTO();
+        request.setAmount(new BigDecimal("1.234"));
+        request.setCurrency(Currency.getInstance("KWD"));
+
+        Transaction transaction = transactionMapper.convertRequestToEntity(request);
+
+        assertEquals(Currency.getInstance("KWD"), transaction.getAmount().getCurrency());
+        assertEquals(1234L, transaction.getAmount().getMinorUnits());
+    }
+
     @Test
     void mapCategory() {
         Integer categoryId = 1;
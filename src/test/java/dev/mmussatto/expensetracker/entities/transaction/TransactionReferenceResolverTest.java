@@ -0,0 +1,199 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.transaction;
+
+import dev.mmussatto.expensetracker.config.CacheConfig;
+import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.category.CategoryRepository;
+import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethodRepository;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
+import dev.mmussatto.expensetracker.entities.tag.Tag;
+import dev.mmussatto.expensetracker.entities.tag.TagRepository;
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
+import dev.mmussatto.expensetracker.entities.vendor.VendorRepository;
+import dev.mmussatto.expensetracker.entities.vendor.defaultvendor.DefaultVendor;
+import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
+import dev.mmussatto.expensetracker.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionReferenceResolverTest {
+
+    // -------------- Constants ----------------------------
+    private static final Category CATEGORY = new Category("Test Category", Color.BLUE);
+    private static final PaymentMethod PAYMENT_METHOD = new PaymentMethod("Test Payment Method", PaymentType.CASH);
+    private static final Vendor VENDOR = new OnlineStore("Test Online Store", "www.test.com");
+    private static final Tag TAG1 = new Tag("Test Tag 1", Color.BLUE);
+    private static final Tag TAG2 = new Tag("Test Tag 2", Color.RED);
+
+    @Mock CategoryRepository categoryRepository;
+    @Mock PaymentMethodRepository paymentMethodRepository;
+    @Mock VendorRepository<Vendor> vendorRepository;
+    @Mock TagRepository tagRepository;
+
+    CacheManager cacheManager;
+
+    TransactionReferenceResolver referenceResolver;
+
+
+    @BeforeEach
+    void setUp() {
+        CATEGORY.setId(1);
+        PAYMENT_METHOD.setId(1);
+        VENDOR.setId(1);
+        TAG1.setId(1);
+        TAG2.setId(2);
+
+        cacheManager = new ConcurrentMapCacheManager();
+        referenceResolver = new TransactionReferenceResolver(categoryRepository, paymentMethodRepository,
+                vendorRepository, tagRepository, cacheManager, false);
+    }
+
+
+    @Test
+    void resolveAll() {
+
+        List<Transaction> transactions = Arrays.asList(
+                createRequestEntity(CATEGORY.getId(), TAG1.getId(), TAG2.getId()),
+                createRequestEntity(CATEGORY.getId(), TAG2.getId()));
+
+        when(categoryRepository.findAllById(Collections.singleton(CATEGORY.getId()))).thenReturn(Arrays.asList(CATEGORY));
+        when(paymentMethodRepository.findAllById(Collections.singleton(PAYMENT_METHOD.getId()))).thenReturn(Arrays.asList(PAYMENT_METHOD));
+        when(vendorRepository.findAllById(Collections.singleton(VENDOR.getId()))).thenReturn(Arrays.asList(VENDOR));
+        when(tagRepository.findAllById(Stream.of(TAG1.getId(), TAG2.getId()).collect(Collectors.toSet())))
+                .thenReturn(Arrays.asList(TAG1, TAG2));
+
+        referenceResolver.resolveAll(transactions);
+
+        assertSame(CATEGORY, transactions.get(0).getCategory());
+        assertSame(PAYMENT_METHOD, transactions.get(0).getPaymentMethod());
+        assertSame(VENDOR, transactions.get(0).getVendor());
+        assertEquals(Stream.of(TAG1, TAG2).collect(Collectors.toSet()), transactions.get(0).getTags());
+        assertEquals(Stream.of(TAG2).collect(Collectors.toSet()), transactions.get(1).getTags());
+
+        //One query per entity type, whatever the number of transactions and tags
+        verify(categoryRepository, times(1)).findAllById(anyIterable());
+        verify(paymentMethodRepository, times(1)).findAllById(anyIterable());
+        verify(vendorRepository, times(1)).findAllById(anyIterable());
+        verify(tagRepository, times(1)).findAllById(anyIterable());
+        verify(tagRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void resolveAll_UsesReferencesForCachedIds() {
+
+        cacheManager.getCache(CacheConfig.CATEGORIES).put(CATEGORY.getId(), new Category("Cached Copy", Color.BLUE));
+        cacheManager.getCache(CacheConfig.TAGS).put(TAG1.getId(), new Tag("Cached Copy", Color.BLUE));
+
+        Transaction transaction = createRequestEntity(CATEGORY.getId(), TAG1.getId(), TAG2.getId());
+
+        when(categoryRepository.getReferenceById(CATEGORY.getId())).thenReturn(CATEGORY);
+        when(tagRepository.getReferenceById(TAG1.getId())).thenReturn(TAG1);
+        when(paymentMethodRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(PAYMENT_METHOD));
+        when(vendorRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(VENDOR));
+        when(tagRepository.findAllById(Collections.singleton(TAG2.getId()))).thenReturn(Arrays.asList(TAG2));
+
+        referenceResolver.resolveAll(Collections.singletonList(transaction));
+
+        //Cached ids become references of the current session, never the cached copies
+        assertSame(CATEGORY, transaction.getCategory());
+        assertEquals(Stream.of(TAG1, TAG2).collect(Collectors.toSet()), transaction.getTags());
+
+        //Only the tag that wasn't cached is loaded, and a copy of it is cached for the next lookup
+        verify(categoryRepository, never()).findAllById(anyIterable());
+        verify(tagRepository, times(1)).findAllById(Collections.singleton(TAG2.getId()));
+        Object cachedTag = cacheManager.getCache(CacheConfig.TAGS).get(TAG2.getId()).get();
+        assertEquals(TAG2, cachedTag);
+        assertNotSame(TAG2, cachedTag);
+    }
+
+    @Test
+    void resolve_ReportsAllMissingEntities() {
+
+        Transaction transaction = createRequestEntity(123, TAG1.getId(), 456, 789);
+
+        when(categoryRepository.findAllById(anyIterable())).thenReturn(Collections.emptyList());
+        when(paymentMethodRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(PAYMENT_METHOD));
+        when(vendorRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(VENDOR));
+        when(tagRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(TAG1));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> referenceResolver.resolve(transaction));
+
+        assertEquals("Category 123, Tags [456, 789] not found!", exception.getMessage());
+    }
+
+    @Test
+    void getTags() {
+
+        Set<Tag> passedTags = Stream.of(new Tag(TAG1.getId()), new Tag(TAG2.getId())).collect(Collectors.toSet());
+
+        when(tagRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(TAG1, TAG2));
+
+        assertEquals(Stream.of(TAG1, TAG2).collect(Collectors.toSet()), referenceResolver.getTags(passedTags));
+        verify(tagRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void getCategory_NotFound() {
+
+        when(categoryRepository.findById(123)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> referenceResolver.getCategory(123));
+    }
+
+    @Test
+    void resolve_ConstraintOnlyValidation() {
+
+        referenceResolver = new TransactionReferenceResolver(categoryRepository, paymentMethodRepository,
+                vendorRepository, tagRepository, cacheManager, true);
+
+        Transaction transaction = createRequestEntity(CATEGORY.getId(), TAG1.getId());
+
+        when(categoryRepository.getReferenceById(CATEGORY.getId())).thenReturn(CATEGORY);
+        when(paymentMethodRepository.getReferenceById(PAYMENT_METHOD.getId())).thenReturn(PAYMENT_METHOD);
+        when(vendorRepository.getReferenceById(VENDOR.getId())).thenReturn(VENDOR);
+        when(tagRepository.getReferenceById(TAG1.getId())).thenReturn(TAG1);
+
+        referenceResolver.resolve(transaction);
+
+        assertSame(CATEGORY, transaction.getCategory());
+        assertSame(VENDOR, transaction.getVendor());
+        assertEquals(Stream.of(TAG1).collect(Collectors.toSet()), transaction.getTags());
+
+        //No entity is loaded
+        verify(categoryRepository, never()).findAllById(anyIterable());
+        verify(tagRepository, never()).findAllById(anyIterable());
+    }
+
+
+    // -------------- Helpers ----------------------------
+    private static Transaction createRequestEntity(Integer categoryId, Integer... tagIds) {
+        Set<Tag> tags = Arrays.stream(tagIds).map(Tag::new).collect(Collectors.toSet());
+
+        return new Transaction(Money.of("10.00"), LocalDateTime.now().withNano(0), "Description",
+                new Category(categoryId), new PaymentMethod(PAYMENT_METHOD.getId()),
+                new DefaultVendor(VENDOR.getId()), tags);
+    }
+}
@@ -6,12 +6,17 @@ package dev.mmussatto.expensetracker.entities.transaction;
 
 import dev.mmussatto.expensetracker.entities.category.Category;
 import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
 import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
 import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
+import dev.mmussatto.expensetracker.entities.summary.SpendingSummaryDTO;
 import dev.mmussatto.expensetracker.entities.tag.Tag;
 import dev.mmussatto.expensetracker.entities.vendor.Vendor;
 import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.validation.ConstraintViolationException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -19,16 +24,17 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class TransactionRepositoryTest {
 
     @Autowired
@@ -37,6 +43,12 @@ class TransactionRepositoryTest {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    //Names are unique, so every call to createTransactionEntity() gets its own references
+    private int referenceCount = 0;
+
 
 
     @Test
@@ -65,31 +77,403 @@ class TransactionRepositoryTest {
         assertEquals(2,returnPage.getTotalElements(), "Wrong number of entities returned");
     }
 
+    @Test
+    void findAllByDateBetweenAfter() {
+        LocalDateTime date = LocalDateTime.of(2023, 4, 2, 0, 0, 0).withNano(0);
+
+        Transaction t1 = createTransactionEntity();
+        t1.setDate(date);
+        testEntityManager.persist(t1);
+
+        //Same date as t1, ordered after it by id
+        Transaction t2 = createTransactionEntity();
+        t2.setDate(date);
+        testEntityManager.persist(t2);
+
+        Transaction t3 = createTransactionEntity();
+        t3.setDate(LocalDateTime.of(2023, 4, 3, 0, 0, 0).withNano(0));
+        testEntityManager.persist(t3);
+
+        //Outside the date range
+        Transaction t4 = createTransactionEntity();
+        t4.setDate(LocalDateTime.of(2023, 5, 3, 0, 0, 0).withNano(0));
+        testEntityManager.persist(t4);
+
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("date", "id"));
+
+        LocalDateTime from = LocalDateTime.of(2023, 4, 1, 0, 0, 0).withNano(0);
+        LocalDateTime to = LocalDateTime.of(2023, 4, 30, 23, 59, 59).withNano(0);
+
+        Slice<Transaction> firstSlice = transactionRepository.findAllByDateBetweenAfter(pageable, from, to,
+                t1.getDate(), t1.getId());
+
+        assertEquals(t2.getId(), firstSlice.getContent().get(0).getId(), "Wrong entity returned");
+        assertTrue(firstSlice.hasNext());
+
+        Slice<Transaction> secondSlice = transactionRepository.findAllByDateBetweenAfter(pageable, from, to,
+                t2.getDate(), t2.getId());
+
+        assertEquals(t3.getId(), secondSlice.getContent().get(0).getId(), "Wrong entity returned");
+        assertFalse(secondSlice.hasNext());
+    }
+
+    @Test
+    void findByCategoryId() {
+        Transaction t1 = createTransactionEntity();
+        t1.setDate(LocalDateTime.of(2023, 4, 3, 0, 0, 0).withNano(0));
+        testEntityManager.persist(t1);
+
+        Transaction t2 = createTransactionEntity();
+        t2.setCategory(t1.getCategory());
+        t2.setDate(LocalDateTime.of(2023, 4, 2, 0, 0, 0).withNano(0));
+        testEntityManager.persist(t2);
+
+        //Transaction from another category
+        Transaction t3 = createTransactionEntity();
+        testEntityManager.persist(t3);
+
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("date"));
+
+        Page<Transaction> returnPage = transactionRepository.findByCategoryId(pageable, t1.getCategory().getId());
+
+        assertEquals(2, returnPage.getTotalElements(), "Wrong number of entities returned");
+        assertEquals(1, returnPage.getContent().size(), "Wrong page size");
+        assertEquals(t2.getId(), returnPage.getContent().get(0).getId(), "Page not sorted by date");
+    }
+
+    @Test
+    void findByPaymentMethodId() {
+        Transaction t1 = createTransactionEntity();
+        testEntityManager.persist(t1);
+
+        Transaction t2 = createTransactionEntity();
+        t2.setPaymentMethod(t1.getPaymentMethod());
+        testEntityManager.persist(t2);
+
+        //Transaction from another payment method
+        Transaction t3 = createTransactionEntity();
+        testEntityManager.persist(t3);
+
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("date"));
+
+        Page<Transaction> returnPage = transactionRepository.findByPaymentMethodId(pageable, t1.getPaymentMethod().getId());
+
+        assertEquals(2, returnPage.getTotalElements(), "Wrong number of entities returned");
+    }
+
+    @Test
+    void findByVendorId() {
+        Transaction t1 = createTransactionEntity();
+        testEntityManager.persist(t1);
+
+        Transaction t2 = createTransactionEntity();
+        t2.setVendor(t1.getVendor());
+        testEntityManager.persist(t2);
+
+        //Transaction from another vendor
+        Transaction t3 = createTransactionEntity();
+        testEntityManager.persist(t3);
+
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("date"));
+
+        Page<Transaction> returnPage = transactionRepository.findByVendorId(pageable, t1.getVendor().getId());
+
+        assertEquals(2, returnPage.getTotalElements(), "Wrong number of entities returned");
+    }
+
+    @Test
+    void findByTagsId() {
+        Transaction t1 = createTransactionEntity();
+        testEntityManager.persist(t1);
+
+        Tag tag = t1.getTags().iterator().next();
+
+        Transaction t2 = createTransactionEntity();
+        t2.getTags().add(tag);
+        testEntityManager.persist(t2);
+
+        //Transaction without the tag
+        Transaction t3 = createTransactionEntity();
+        testEntityManager.persist(t3);
+
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("date"));
+
+        Page<Transaction> returnPage = transactionRepository.findByTagsId(pageable, tag.getId());
+
+        assertEquals(2, returnPage.getTotalElements(), "Wrong number of entities returned");
+        assertEquals(2, returnPage.getContent().size(), "Wrong number of entities returned");
+    }
+
+    @Test
+    void findAll_PageLoadsWithBoundedStatements() {
+        //Every transaction has its own category, payment method, vendor and tags
+        for (int i = 0; i < 20; i++)
+            testEntityManager.persist(createTransactionEntity());
+
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("date"));
+
+        Page<Transaction> returnPage = transactionRepository.findAll(pageable);
+
+        returnPage.getContent().forEach(transaction -> {
+            transaction.getCategory().getName();
+            transaction.getPaymentMethod().getName();
+            transaction.getVendor().getName();
+            transaction.getTags().forEach(Tag::getName);
+        });
+
+        //Page query, count query and a single batch for the tags
+        assertEquals(10, returnPage.getContent().size(), "Wrong page size");
+        assertEquals(3, statistics.getPrepareStatementCount(), "Page rendered with extra statements");
+    }
+
+    @Test
+    void findByCategoryId_TagsLoadedInOneBatch() {
+        Transaction t1 = createTransactionEntity();
+        testEntityManager.persist(t1);
+
+        for (int i = 0; i < 5; i++) {
+            Transaction transaction = createTransactionEntity();
+            transaction.setCategory(t1.getCategory());
+            testEntityManager.persist(transaction);
+        }
+
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("date"));
+
+        Page<Transaction> returnPage = transactionRepository.findByCategoryId(pageable, t1.getCategory().getId());
+
+        returnPage.getContent().forEach(transaction -> transaction.getTags().forEach(Tag::getName));
+
+        //Last page, so no count query is needed
+        assertEquals(6, returnPage.getContent().size(), "Wrong number of entities returned");
+        assertEquals(2, statistics.getPrepareStatementCount(), "Tags not loaded in a single batch");
+    }
+
+    @Test
+    void findSummariesByCategoryId() {
+        Transaction t1 = createTransactionEntity();
+        testEntityManager.persist(t1);
+
+        Transaction t2 = createTransactionEntity();
+        t2.setCategory(t1.getCategory());
+        testEntityManager.persist(t2);
+
+        //Transaction from another category
+        Transaction t3 = createTransactionEntity();
+        testEntityManager.persist(t3);
+
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("date"));
+
+        Page<TransactionSummaryDTO> returnPage = transactionRepository.attachTagIds(
+                transactionRepository.findSummariesByCategoryId(pageable, t1.getCategory().getId()));
+
+        assertEquals(2, returnPage.getTotalElements(), "Wrong number of entities returned");
+
+        TransactionSummaryDTO summary = returnPage.getContent().stream()
+                .filter(s -> s.getId().equals(t1.getId()))
+                .findFirst().orElseThrow();
+
+        assertEquals(t1.getCategory().getName(), summary.getCategoryName());
+        assertEquals(t1.getPaymentMethod().getId(), summary.getPaymentMethodId());
+        assertEquals(t1.getVendor().getName(), summary.getVendorName());
+        assertEquals(t1.getTags().stream().map(Tag::getId).collect(Collectors.toSet()), summary.getTagIds());
+
+        //Summary rows and tag ids, no entity is hydrated
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findSummariesByTagsId() {
+        Transaction t1 = createTransactionEntity();
+        testEntityManager.persist(t1);
+
+        Tag tag = t1.getTags().iterator().next();
+
+        //Transaction without the tag
+        Transaction t2 = createTransactionEntity();
+        testEntityManager.persist(t2);
+
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("date"));
+
+        Page<TransactionSummaryDTO> returnPage = transactionRepository.attachTagIds(
+                transactionRepository.findSummariesByTagsId(pageable, tag.getId()));
+
+        assertEquals(1, returnPage.getTotalElements(), "Wrong number of entities returned");
+        assertEquals(2, returnPage.getContent().get(0).getTagIds().size(), "Other tags of the transaction missing");
+    }
+
+    @Test
+    void findSummarySliceAfter() {
+        LocalDateTime date = LocalDateTime.of(2023, 4, 2, 0, 0, 0).withNano(0);
+
+        Transaction t1 = createTransactionEntity();
+        t1.setDate(date);
+        testEntityManager.persist(t1);
+
+        Transaction t2 = createTransactionEntity();
+        t2.setDate(date);
+        testEntityManager.persist(t2);
+
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("date", "id"));
+
+        Slice<TransactionSummaryDTO> slice = transactionRepository.findSummarySliceAfter(pageable, date, t1.getId());
+
+        assertEquals(t2.getId(), slice.getContent().get(0).getId(), "Wrong entity returned");
+        assertFalse(slice.hasNext());
+    }
+
+    @Test
+    void summarizeByMonth() {
+        Transaction t1 = createTransactionEntity();
+        t1.setAmount(Money.of("10.00"));
+        t1.setDate(LocalDateTime.of(2023, 4, 2, 0, 0, 0).withNano(0));
+        testEntityManager.persist(t1);
+
+        Transaction t2 = createTransactionEntity();
+        t2.setAmount(Money.of("30.00"));
+        t2.setDate(LocalDateTime.of(2023, 4, 20, 0, 0, 0).withNano(0));
+        testEntityManager.persist(t2);
+
+        Transaction t3 = createTransactionEntity();
+        t3.setAmount(Money.of("5.00"));
+        t3.setDate(LocalDateTime.of(2023, 5, 3, 0, 0, 0).withNano(0));
+        testEntityManager.persist(t3);
+
+        //Out of range
+        Transaction t4 = createTransactionEntity();
+        t4.setDate(LocalDateTime.of(2024, 1, 3, 0, 0, 0).withNano(0));
+        testEntityManager.persist(t4);
+
+        List<SpendingSummaryDTO> summaries = transactionRepository.summarizeByMonth(
+                LocalDateTime.of(2023, 1, 1, 0, 0, 0), LocalDateTime.of(2023, 12, 31, 23, 59, 59));
+
+        assertEquals(2, summaries.size(), "Wrong number of months");
+
+        SpendingSummaryDTO april = summaries.get(0);
+        assertEquals(2023, april.getYear());
+        assertEquals(4, april.getMonth());
+        assertEquals(2, april.getCount());
+        assertEquals(Money.of("40.00"), april.getTotal());
+        assertEquals(Money.of("10.00"), april.getMin());
+        assertEquals(Money.of("30.00"), april.getMax());
+        assertEquals(Money.of("20.00"), april.getAverage());
+
+        assertEquals(5, summaries.get(1).getMonth());
+    }
+
+    @Test
+    void summarizeByYear() {
+        Transaction t1 = createTransactionEntity();
+        t1.setDate(LocalDateTime.of(2022, 4, 2, 0, 0, 0).withNano(0));
+        testEntityManager.persist(t1);
+
+        Transaction t2 = createTransactionEntity();
+        t2.setDate(LocalDateTime.of(2023, 4, 2, 0, 0, 0).withNano(0));
+        testEntityManager.persist(t2);
+
+        List<SpendingSummaryDTO> summaries = transactionRepository.summarizeByYear(
+                LocalDateTime.of(2022, 1, 1, 0, 0, 0), LocalDateTime.of(2023, 12, 31, 23, 59, 59));
+
+        assertEquals(2, summaries.size(), "Wrong number of years");
+        assertEquals(2022, summaries.get(0).getYear());
+        assertNull(summaries.get(0).getMonth());
+    }
+
+    @Test
+    void summarizeByCategory() {
+        Transaction t1 = createTransactionEntity();
+        t1.setAmount(Money.of("10.00"));
+        testEntityManager.persist(t1);
+
+        Transaction t2 = createTransactionEntity();
+        t2.setAmount(Money.of("20.00"));
+        t2.setCategory(t1.getCategory());
+        testEntityManager.persist(t2);
+
+        List<SpendingSummaryDTO> summaries = transactionRepository.summarizeByCategory(
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+
+        assertEquals(1, summaries.size(), "Wrong number of categories");
+        assertEquals(t1.getCategory().getId(), summaries.get(0).getId());
+        assertEquals(t1.getCategory().getName(), summaries.get(0).getName());
+        assertEquals(2, summaries.get(0).getCount());
+        assertEquals(Money.of("30.00"), summaries.get(0).getTotal());
+    }
+
+    @Test
+    void summarizeByTag() {
+        //Both tags of the transaction get its amount
+        Transaction t1 = createTransactionEntity();
+        t1.setAmount(Money.of("10.00"));
+        testEntityManager.persist(t1);
+
+        List<SpendingSummaryDTO> summaries = transactionRepository.summarizeByTag(
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+
+        assertEquals(2, summaries.size(), "Wrong number of tags");
+        summaries.forEach(summary -> assertEquals(Money.of("10.00"), summary.getTotal()));
+    }
+
+    @Test
+    void summarizeByPaymentMethodAndVendor() {
+        Transaction t1 = createTransactionEntity();
+        testEntityManager.persist(t1);
+
+        Transaction t2 = createTransactionEntity();
+        testEntityManager.persist(t2);
+
+        LocalDateTime from = LocalDateTime.now().minusDays(1);
+        LocalDateTime to = LocalDateTime.now().plusDays(1);
+
+        assertEquals(2, transactionRepository.summarizeByPaymentMethod(from, to).size());
+        assertEquals(2, transactionRepository.summarizeByVendor(from, to).size());
+    }
+
     @Test
     void preventNull() {
         Transaction transaction = new Transaction();
 
-        assertThrows(ConstraintViolationException.class, () -> testEntityManager.persist(transaction));
+        assertThrows(ConstraintViolationException.class, () -> testEntityManager.persistAndFlush(transaction));
     }
 
     // -------------- Helpers ----------------------------
     private Transaction createTransactionEntity() {
 
-        Category category = new Category("Test Category", Color.BLUE);
+        int n = ++referenceCount;
+
+        Category category = new Category("Test Category " + n, Color.BLUE);
         testEntityManager.persist(category);
 
-        PaymentMethod payment_method = new PaymentMethod("Test Payment Method", PaymentType.CASH);
+        PaymentMethod payment_method = new PaymentMethod("Test Payment Method " + n, PaymentType.CASH);
         testEntityManager.persist(payment_method);
 
-        Vendor vendor_os = new OnlineStore("Test Online Store", "www.test.com");
+        Vendor vendor_os = new OnlineStore("Test Online Store " + n, "www.test" + n + ".com");
         testEntityManager.persist(vendor_os);
 
-        Tag tag1 = new Tag("Test Tag 1", Color.BLUE);
+        Tag tag1 = new Tag("Test Tag 1." + n, Color.BLUE);
         testEntityManager.persist(tag1);
-        Tag tag2 = new Tag("Test Tag 2", Color.RED);
+        Tag tag2 = new Tag("Test Tag 2." + n, Color.RED);
         testEntityManager.persist(tag2);
 
-        return new Transaction(10.0, LocalDateTime.now().withNano(0),
+        return new Transaction(Money.of("10.00"), LocalDateTime.now().withNano(0),
                 "Test Transaction Description", category, payment_method, vendor_os,
                 Stream.of(tag1, tag2).collect(Collectors.toSet()));
     }
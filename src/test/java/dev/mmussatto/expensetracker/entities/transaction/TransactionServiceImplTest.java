@@ -6,15 +6,14 @@
 package dev.mmussatto.expensetracker.entities.transaction;
 
 import dev.mmussatto.expensetracker.entities.category.Category;
-import dev.mmussatto.expensetracker.entities.category.CategoryService;
 import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
 import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
-import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethodService;
 import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
+import dev.mmussatto.expensetracker.entities.summary.MonthlySpendingKey;
+import dev.mmussatto.expensetracker.entities.summary.SpendingRollup;
 import dev.mmussatto.expensetracker.entities.tag.Tag;
-import dev.mmussatto.expensetracker.entities.tag.TagService;
 import dev.mmussatto.expensetracker.entities.vendor.Vendor;
-import dev.mmussatto.expensetracker.entities.vendor.VendorService;
 import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
 import dev.mmussatto.expensetracker.entities.vendor.physicalstore.PhysicalStore;
 import dev.mmussatto.expensetracker.exceptions.InvalidMonthException;
@@ -25,8 +24,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -41,7 +43,7 @@ import static org.mockito.Mockito.*;
 class TransactionServiceImplTest {
 
     // -------------- Constants ----------------------------
-    private static final Double AMOUNT = 115.00;
+    private static final Money AMOUNT = Money.of("115.00");
     private static final LocalDateTime DATE = LocalDateTime.now();
     private static final String DESCRIPTION = "Description";
     private static final Category CATEGORY = new Category("Test Category", Color.BLUE);
@@ -54,12 +56,12 @@ class TransactionServiceImplTest {
     private static final int DEFAULT_SIZE = 1;
 
     @Mock TransactionRepository transactionRepository;
+    @Mock TransactionBatchWriter transactionBatchWriter;
+    @Mock TransactionExporter transactionExporter;
 
-    //Mock services
-    @Mock CategoryService categoryService;
-    @Mock PaymentMethodService paymentMethodService;
-    @Mock VendorService vendorService;
-    @Mock TagService tagService;
+    @Mock TransactionReferenceResolver referenceResolver;
+
+    @Mock SpendingRollup spendingRollup;
 
     @InjectMocks
     TransactionServiceImpl transactionService;
@@ -111,6 +113,28 @@ class TransactionServiceImplTest {
         assertEquals(pagedTransactions, returnedList);
     }
 
+    @Test
+    void getSummariesPaginated() {
+
+        TransactionSummaryDTO summary = new TransactionSummaryDTO();
+        summary.setId(1);
+
+        //Create pageable
+        Pageable pageable = PageRequest.of(DEFAULT_PAGE, DEFAULT_SIZE, Sort.by("date"));
+
+        //Create page
+        Page<TransactionSummaryDTO> pagedSummaries = new PageImpl<>(List.of(summary), pageable, 1);
+
+
+        when(transactionRepository.findSummaries(pageable)).thenReturn(pagedSummaries);
+        when(transactionRepository.attachTagIds(pagedSummaries)).thenReturn(pagedSummaries);
+
+        Page<TransactionSummaryDTO> returnedPage = transactionService.getSummariesPaginated(DEFAULT_PAGE, DEFAULT_SIZE);
+
+        assertEquals(pagedSummaries, returnedPage);
+        verify(transactionRepository, never()).findAll(any(Pageable.class));
+    }
+
     @Test
     void getTransactionsByYear() {
         int year = 2023;
@@ -169,6 +193,103 @@ class TransactionServiceImplTest {
                 () ->  transactionService.getTransactionsByMonth(DEFAULT_PAGE, DEFAULT_SIZE, year, month));
     }
 
+    @Test
+    void getPaginatedAfter_FirstPage() {
+
+        List<Transaction> transactions = createTransactionList();
+
+        Pageable pageable = PageRequest.of(0, DEFAULT_SIZE, Sort.by("date", "id"));
+        Slice<Transaction> slicedTransactions = new SliceImpl<>(transactions.subList(0, DEFAULT_SIZE), pageable, true);
+
+        when(transactionRepository.findAllBy(pageable)).thenReturn(slicedTransactions);
+
+        Slice<Transaction> returnedSlice = transactionService.getPaginatedAfter(null, DEFAULT_SIZE);
+
+        assertEquals(slicedTransactions, returnedSlice);
+        verify(transactionRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void getPaginatedAfter() {
+
+        List<Transaction> transactions = createTransactionList();
+        TransactionCursor cursor = TransactionCursor.of(transactions.get(0));
+
+        Pageable pageable = PageRequest.of(0, DEFAULT_SIZE, Sort.by("date", "id"));
+        Slice<Transaction> slicedTransactions = new SliceImpl<>(transactions.subList(1, 2), pageable, false);
+
+        when(transactionRepository.findAllAfter(pageable, cursor.getDate(), cursor.getId())).thenReturn(slicedTransactions);
+
+        Slice<Transaction> returnedSlice = transactionService.getPaginatedAfter(cursor, DEFAULT_SIZE);
+
+        assertEquals(slicedTransactions, returnedSlice);
+    }
+
+    @Test
+    void getTransactionsByMonthAfter() {
+        int year = 2023;
+        int month = 2;
+
+        List<Transaction> transactions = createTransactionList();
+        TransactionCursor cursor = TransactionCursor.of(transactions.get(0));
+
+        Pageable pageable = PageRequest.of(0, DEFAULT_SIZE, Sort.by("date", "id"));
+        Slice<Transaction> slicedTransactions = new SliceImpl<>(transactions.subList(1, 2), pageable, false);
+
+        LocalDateTime from = LocalDateTime.of(year, month, 1, 0, 0, 0).withNano(0);
+        LocalDateTime to = LocalDateTime.of(year, month, 28, 23, 59, 59).withNano(0);
+
+        when(transactionRepository.findAllByDateBetweenAfter(pageable, from, to, cursor.getDate(), cursor.getId()))
+                .thenReturn(slicedTransactions);
+
+        Slice<Transaction> returnedSlice = transactionService.getTransactionsByMonthAfter(cursor, DEFAULT_SIZE, year, month);
+
+        assertEquals(slicedTransactions, returnedSlice);
+    }
+
+    @Test
+    void getTransactionsByMonthAfter_InvalidMonth() {
+
+        assertThrows(InvalidMonthException.class,
+                () -> transactionService.getTransactionsByMonthAfter(null, DEFAULT_SIZE, 2023, 13));
+    }
+
+    @Test
+    void exportTransactions_ByMonth() {
+        int year = 2024;
+        int month = 2;
+
+        OutputStream outputStream = new ByteArrayOutputStream();
+
+        //Leap year
+        LocalDateTime from = LocalDateTime.of(year, month, 1, 0, 0, 0).withNano(0);
+        LocalDateTime to = LocalDateTime.of(year, month, 29, 23, 59, 59).withNano(0);
+
+        Range<LocalDateTime> range = transactionService.getExportRange(year, month);
+        assertEquals(Range.closed(from, to), range);
+
+        when(transactionExporter.export(TransactionExportFormat.CSV, from, to, outputStream)).thenReturn(3L);
+
+        assertEquals(3L, transactionService.exportTransactions(TransactionExportFormat.CSV, range, outputStream));
+    }
+
+    @Test
+    void exportTransactions_All() {
+
+        OutputStream outputStream = new ByteArrayOutputStream();
+
+        transactionService.exportTransactions(TransactionExportFormat.NDJSON,
+                transactionService.getExportRange(null, null), outputStream);
+
+        verify(transactionExporter).export(TransactionExportFormat.NDJSON, null, null, outputStream);
+    }
+
+    @Test
+    void exportTransactions_InvalidMonth() {
+
+        assertThrows(InvalidMonthException.class, () -> transactionService.getExportRange(2023, 13));
+    }
+
     @Test
     void getTransactionById() {
         Transaction savedEntity = createTransactionEntity();
@@ -212,11 +333,6 @@ class TransactionServiceImplTest {
                 passedEntity.getVendor(), passedEntity.getTags());
         savedEntity.setId(1);
 
-        when(categoryService.getCategoryById(CATEGORY.getId())).thenReturn(CATEGORY);
-        when(paymentMethodService.getPaymentMethodById(PAYMENT_METHOD.getId())).thenReturn(PAYMENT_METHOD);
-        when(vendorService.getVendorById(VENDOR_OS.getId())).thenReturn(VENDOR_OS);
-        when(tagService.getTagById(TAG1.getId())).thenReturn(TAG1);
-        when(tagService.getTagById(TAG2.getId())).thenReturn(TAG2);
         when(transactionRepository.save(passedEntity)).thenReturn(savedEntity);
 
         Transaction returnedEntity = transactionService.createNewTransaction(passedEntity);
@@ -230,6 +346,78 @@ class TransactionServiceImplTest {
         assertEquals(passedEntity.getVendor(), returnedEntity.getVendor());
         assertEquals(passedEntity.getTags(), returnedEntity.getTags());
 
+        verify(referenceResolver, times(1)).resolve(passedEntity);
+        verify(spendingRollup, times(1)).add(savedEntity);
+    }
+
+    @Test
+    void createNewTransaction_EntityNotFound() {
+
+        Transaction passedEntity = new Transaction(AMOUNT, DATE, DESCRIPTION, CATEGORY,
+                PAYMENT_METHOD, VENDOR_OS, Stream.of(TAG1, TAG2).collect(Collectors.toSet()));
+
+        doThrow(ResourceNotFoundException.class).when(referenceResolver).resolve(passedEntity);
+
+        assertThrows(ResourceNotFoundException.class, () -> transactionService.createNewTransaction(passedEntity));
+
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verifyNoInteractions(spendingRollup);
+    }
+
+
+    @Test
+    void createNewTransactions() {
+
+        List<Transaction> passedEntities = createTransactionList();
+
+        when(transactionBatchWriter.persistAll(passedEntities)).thenReturn(passedEntities.size());
+
+        int importedCount = transactionService.createNewTransactions(passedEntities);
+
+        assertEquals(passedEntities.size(), importedCount);
+
+        //References for the whole batch are resolved together
+        verify(referenceResolver, times(1)).resolveAll(passedEntities);
+        verify(referenceResolver, never()).resolve(any(Transaction.class));
+        verify(spendingRollup, times(1)).addAll(passedEntities);
+    }
+
+    @Test
+    void createNewTransactions_EntityNotFound() {
+
+        List<Transaction> passedEntities = createTransactionList();
+
+        doThrow(ResourceNotFoundException.class).when(referenceResolver).resolveAll(passedEntities);
+
+        assertThrows(ResourceNotFoundException.class, () -> transactionService.createNewTransactions(passedEntities));
+
+        verify(transactionBatchWriter, never()).persistAll(anyList());
+    }
+
+    @Test
+    void createNewTransactions_ConstraintOnlyValidation_MissingReference() {
+
+        List<Transaction> passedEntities = createTransactionList();
+
+        when(referenceResolver.isConstraintOnlyValidation()).thenReturn(true);
+        when(transactionBatchWriter.persistAll(passedEntities)).thenThrow(DataIntegrityViolationException.class);
+
+        assertThrows(ResourceNotFoundException.class, () -> transactionService.createNewTransactions(passedEntities));
+
+        verifyNoInteractions(spendingRollup);
+    }
+
+    @Test
+    void createNewTransactions_DataIntegrityViolation() {
+
+        List<Transaction> passedEntities = createTransactionList();
+
+        when(referenceResolver.isConstraintOnlyValidation()).thenReturn(false);
+        when(transactionBatchWriter.persistAll(passedEntities)).thenThrow(DataIntegrityViolationException.class);
+
+        assertThrows(DataIntegrityViolationException.class, () -> transactionService.createNewTransactions(passedEntities));
+
+        verifyNoInteractions(spendingRollup);
     }
 
 
@@ -240,10 +428,11 @@ class TransactionServiceImplTest {
         Category updatedCategory = new Category("Updated Category", Color.BLUE);
         updatedCategory.setId(123);
 
-        Transaction passedEntity = new Transaction(10.0, DATE, "Test Update", updatedCategory,
+        Transaction passedEntity = new Transaction(Money.of("10.00"), DATE, "Test Update", updatedCategory,
                 PAYMENT_METHOD, VENDOR_PS, Stream.of(TAG2).collect(Collectors.toSet()));
 
         Transaction originalEntity = createTransactionEntity();
+        MonthlySpendingKey originalKey = MonthlySpendingKey.of(originalEntity);
 
         Transaction updatedEntity = new Transaction(passedEntity.getAmount(), passedEntity.getDate(),
                 passedEntity.getDescription(), passedEntity.getCategory(), passedEntity.getPaymentMethod(),
@@ -251,10 +440,6 @@ class TransactionServiceImplTest {
         updatedEntity.setId(originalEntity.getId());
 
 
-        when(categoryService.getCategoryById(updatedCategory.getId())).thenReturn(updatedCategory);
-        when(paymentMethodService.getPaymentMethodById(PAYMENT_METHOD.getId())).thenReturn(PAYMENT_METHOD);
-        when(vendorService.getVendorById(VENDOR_PS.getId())).thenReturn(VENDOR_PS);
-        when(tagService.getTagById(TAG2.getId())).thenReturn(TAG2);
         when(transactionRepository.findById(originalEntity.getId())).thenReturn(Optional.of(originalEntity));
         when(transactionRepository.save(updatedEntity)).thenReturn(updatedEntity);
 
@@ -271,6 +456,9 @@ class TransactionServiceImplTest {
         assertEquals(passedEntity.getPaymentMethod(), returnedEntity.getPaymentMethod());
         assertEquals(passedEntity.getVendor(), returnedEntity.getVendor());
         assertEquals(passedEntity.getTags(), returnedEntity.getTags());
+
+        verify(referenceResolver, times(1)).resolve(passedEntity);
+        verify(spendingRollup, times(1)).move(originalKey, AMOUNT, updatedEntity);
     }
 
     @Test
@@ -278,7 +466,7 @@ class TransactionServiceImplTest {
 
         Integer notFoundId = 123;
 
-        Transaction passedEntity = new Transaction(10.0, DATE, "Test Update", new Category(),
+        Transaction passedEntity = new Transaction(Money.of("10.00"), DATE, "Test Update", new Category(),
                 PAYMENT_METHOD, VENDOR_PS, Stream.of(TAG2).collect(Collectors.toSet()));
 
         when(transactionRepository.findById(notFoundId)).thenReturn(Optional.empty());
@@ -298,19 +486,20 @@ class TransactionServiceImplTest {
         PaymentMethod modifiedPM = new PaymentMethod();
         modifiedPM.setId(123);
 
-        Transaction passedEntity = new Transaction(10.0, LocalDateTime.now(), "Test Update",
+        Transaction passedEntity = new Transaction(Money.of("10.00"), LocalDateTime.now(), "Test Update",
                 modifiedCategory, modifiedPM, null, Stream.of(TAG2).collect(Collectors.toSet()));
 
         Transaction originalEntity = createTransactionEntity();
+        MonthlySpendingKey originalKey = MonthlySpendingKey.of(originalEntity);
 
         Transaction updatedEntity = new Transaction(passedEntity.getAmount(), passedEntity.getDate(),
                 passedEntity.getDescription(), passedEntity.getCategory(), passedEntity.getPaymentMethod(),
                 originalEntity.getVendor(), passedEntity.getTags());
         updatedEntity.setId(originalEntity.getId());
 
-        when(categoryService.getCategoryById(modifiedCategory.getId())).thenReturn(modifiedCategory);
-        when(paymentMethodService.getPaymentMethodById(modifiedPM.getId())).thenReturn(modifiedPM);
-        when(tagService.getTagById(TAG2.getId())).thenReturn(TAG2);
+        when(referenceResolver.getCategory(modifiedCategory.getId())).thenReturn(modifiedCategory);
+        when(referenceResolver.getPaymentMethod(modifiedPM.getId())).thenReturn(modifiedPM);
+        when(referenceResolver.getTags(passedEntity.getTags())).thenReturn(Stream.of(TAG2).collect(Collectors.toSet()));
         when(transactionRepository.findById(originalEntity.getId())).thenReturn(Optional.of(originalEntity));
         when(transactionRepository.save(updatedEntity)).thenReturn(updatedEntity);
 
@@ -324,13 +513,16 @@ class TransactionServiceImplTest {
         assertEquals(passedEntity.getPaymentMethod(), returnedEntity.getPaymentMethod());
         assertEquals(originalEntity.getVendor(), returnedEntity.getVendor());
         assertEquals(passedEntity.getTags(), returnedEntity.getTags());
+
+        //Moved out of the cell and amount it had before the patch
+        verify(spendingRollup, times(1)).move(originalKey, AMOUNT, updatedEntity);
     }
 
     @Test
     void patchTransactionById_UpdateOnlyAmount() {
 
         Transaction passedEntity = new Transaction();
-        passedEntity.setAmount(10.0);
+        passedEntity.setAmount(Money.of("10.00"));
 
         Transaction originalEntity = createTransactionEntity();
 
@@ -428,7 +620,7 @@ class TransactionServiceImplTest {
                 originalEntity.getVendor(), originalEntity.getTags());
         updatedEntity.setId(originalEntity.getId());
 
-        when(categoryService.getCategoryById(modifiedCategory.getId())).thenReturn(modifiedCategory);
+        when(referenceResolver.getCategory(modifiedCategory.getId())).thenReturn(modifiedCategory);
         when(transactionRepository.findById(originalEntity.getId())).thenReturn(Optional.of(originalEntity));
         when(transactionRepository.save(updatedEntity)).thenReturn(updatedEntity);
 
@@ -462,7 +654,7 @@ class TransactionServiceImplTest {
                 originalEntity.getVendor(), originalEntity.getTags());
         updatedEntity.setId(originalEntity.getId());
 
-        when(paymentMethodService.getPaymentMethodById(modifiedPaymentMethod.getId())).thenReturn(modifiedPaymentMethod);
+        when(referenceResolver.getPaymentMethod(modifiedPaymentMethod.getId())).thenReturn(modifiedPaymentMethod);
         when(transactionRepository.findById(originalEntity.getId())).thenReturn(Optional.of(originalEntity));
         when(transactionRepository.save(updatedEntity)).thenReturn(updatedEntity);
 
@@ -493,7 +685,7 @@ class TransactionServiceImplTest {
                 passedEntity.getVendor(), originalEntity.getTags());
         updatedEntity.setId(originalEntity.getId());
 
-        when(vendorService.getVendorById(passedEntity.getVendor().getId())).thenReturn(VENDOR_PS);
+        when(referenceResolver.getVendor(passedEntity.getVendor().getId())).thenReturn(VENDOR_PS);
         when(transactionRepository.findById(originalEntity.getId())).thenReturn(Optional.of(originalEntity));
         when(transactionRepository.save(updatedEntity)).thenReturn(updatedEntity);
 
@@ -524,7 +716,7 @@ class TransactionServiceImplTest {
                 originalEntity.getVendor(), passedEntity.getTags());
         updatedEntity.setId(originalEntity.getId());
 
-        when(tagService.getTagById(TAG1.getId())).thenReturn(TAG1);
+        when(referenceResolver.getTags(passedEntity.getTags())).thenReturn(Stream.of(TAG1).collect(Collectors.toSet()));
         when(transactionRepository.findById(originalEntity.getId())).thenReturn(Optional.of(originalEntity));
         when(transactionRepository.save(updatedEntity)).thenReturn(updatedEntity);
 
@@ -547,7 +739,7 @@ class TransactionServiceImplTest {
 
         Integer notFoundId = 123;
 
-        Transaction passedEntity = new Transaction(10.0, LocalDateTime.now(), "Test Update",
+        Transaction passedEntity = new Transaction(Money.of("10.00"), LocalDateTime.now(), "Test Update",
                 CATEGORY, PAYMENT_METHOD, VENDOR_PS, Stream.of(TAG2).collect(Collectors.toSet()));
 
 
@@ -563,12 +755,14 @@ class TransactionServiceImplTest {
     @Test
     void deleteTransactionById() {
         Integer ID = 1;
+        Transaction savedEntity = new Transaction();
 
-        when(transactionRepository.findById(ID)).thenReturn(Optional.of(new Transaction()));
+        when(transactionRepository.findById(ID)).thenReturn(Optional.of(savedEntity));
         doNothing().when(transactionRepository).deleteById(ID);
 
         transactionService.deleteTransactionById(ID);
 
+        verify(spendingRollup, times(1)).remove(savedEntity);
         verify(transactionRepository, times(1)).deleteById(ID);
     }
 
@@ -0,0 +1,296 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.entities.transaction;
+
+import dev.mmussatto.expensetracker.config.ReactiveApiServer;
+import dev.mmussatto.expensetracker.entities.category.Category;
+import dev.mmussatto.expensetracker.entities.category.CategoryRepository;
+import dev.mmussatto.expensetracker.entities.helpers.Color;
+import dev.mmussatto.expensetracker.entities.helpers.Money;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethod;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentMethodRepository;
+import dev.mmussatto.expensetracker.entities.paymentmethod.PaymentType;
+import dev.mmussatto.expensetracker.entities.tag.Tag;
+import dev.mmussatto.expensetracker.entities.tag.TagRepository;
+import dev.mmussatto.expensetracker.entities.vendor.Vendor;
+import dev.mmussatto.expensetracker.entities.vendor.VendorRepository;
+import dev.mmussatto.expensetracker.entities.vendor.onlinestore.OnlineStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//The transactions span more than one page of the stream, so following the keyset is tested too
+@SpringBootTest(properties = "expensetracker.reactive.port=0")
+class TransactionStreamHandlerTest {
+
+    private static final int APRIL_COUNT = TransactionStreamRepository.PAGE_SIZE + 50;
+    private static final int MAY_COUNT = 5;
+
+    @Autowired
+    private ReactiveApiServer reactiveApiServer;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PaymentMethodRepository paymentMethodRepository;
+
+    @Autowired
+    private VendorRepository<Vendor> vendorRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    private WebTestClient webTestClient;
+    private Category category;
+    private Tag tag;
+    private List<Transaction> transactions;
+
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + reactiveApiServer.getPort())
+                .build();
+
+        category = categoryRepository.save(new Category("Stream Category", Color.BLUE));
+        PaymentMethod paymentMethod = paymentMethodRepository.save(new PaymentMethod("Stream Payment Method", PaymentType.CASH));
+        Vendor vendor = vendorRepository.save(new OnlineStore("Stream Online Store", "www.stream.com"));
+        tag = tagRepository.save(new Tag("Stream Tag", Color.RED));
+
+        LocalDateTime april = LocalDateTime.of(2023, 4, 1, 8, 0, 0);
+        LocalDateTime may = LocalDateTime.of(2023, 5, 1, 8, 0, 0);
+
+        //Every other transaction is tagged
+        transactions = transactionRepository.saveAll(IntStream.range(0, APRIL_COUNT + MAY_COUNT)
+                .mapToObj(i -> new Transaction(Money.ofMinor(1000 + i * 100L),
+                        i < APRIL_COUNT ? april.plusMinutes(i) : may.plusMinutes(i),
+                        "Stream " + i, category, paymentMethod, vendor,
+                        i % 2 == 0 ? new HashSet<>(Collections.singleton(tag)) : new HashSet<>()))
+                .collect(Collectors.toList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        categoryRepository.deleteAll();
+        paymentMethodRepository.deleteAll();
+        vendorRepository.deleteAll();
+        tagRepository.deleteAll();
+    }
+
+
+    @Test
+    void getTransactions() {
+        List<TransactionDTO> returnedTransactions = streamTransactions("/api/transactions");
+
+        assertEquals(transactions.size(), returnedTransactions.size());
+
+        TransactionDTO first = returnedTransactions.get(0);
+        assertEquals(transactions.get(0).getId(), first.getId());
+        assertEquals("/api/transactions/" + first.getId(), first.getPath());
+        assertEquals(category.getName(), first.getCategory().getName());
+        assertEquals("www.stream.com", ((OnlineStore) first.getVendor()).getUrl());
+        assertEquals(1, first.getTags().size());
+
+        //Ordered across the page boundary
+        for (int i = 1; i < returnedTransactions.size(); i++)
+            assertTrue(returnedTransactions.get(i - 1).getDate().isBefore(returnedTransactions.get(i).getDate()));
+    }
+
+    @Test
+    void getTransactions_ByMonth() {
+        List<TransactionDTO> returnedTransactions = streamTransactions("/api/transactions?year=2023&month=5");
+
+        assertEquals(MAY_COUNT, returnedTransactions.size());
+    }
+
+    @Test
+    void getTransactions_ByYear() {
+        assertEquals(transactions.size(), streamTransactions("/api/transactions?year=2023").size());
+        assertEquals(0, streamTransactions("/api/transactions?year=2022").size());
+    }
+
+    @Test
+    void getTransactions_AfterCursor() {
+        String after = TransactionCursor.of(transactions.get(APRIL_COUNT - 1)).encode();
+
+        List<TransactionDTO> returnedTransactions = streamTransactions("/api/transactions?after=" + after);
+
+        assertEquals(MAY_COUNT, returnedTransactions.size());
+        assertEquals(transactions.get(APRIL_COUNT).getId(), returnedTransactions.get(0).getId());
+    }
+
+    @Test
+    void getTransactions_InvalidMonth() {
+        webTestClient.get().uri("/api/transactions?year=2023&month=13")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid value for MonthOfYear: 13")
+                .jsonPath("$.path").isEqualTo("/api/transactions");
+    }
+
+    @Test
+    void getTransactions_InvalidCursor() {
+        webTestClient.get().uri("/api/transactions?after=invalid")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getTransactionsByCategoryId() {
+        List<TransactionDTO> returnedTransactions = streamTransactions("/api/categories/" + category.getId() + "/transactions");
+
+        assertEquals(transactions.size(), returnedTransactions.size());
+    }
+
+    @Test
+    void getTransactionsByCategoryId_ByMonth() {
+        String uri = "/api/categories/" + category.getId() + "/transactions";
+
+        assertEquals(MAY_COUNT, streamTransactions(uri + "?year=2023&month=5").size());
+        assertEquals(0, streamTransactions(uri + "?year=2022").size());
+    }
+
+    @Test
+    void getTransactionsByCategoryId_InvalidMonth() {
+        webTestClient.get().uri("/api/categories/{id}/transactions?year=2023&month=13", category.getId())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid value for MonthOfYear: 13");
+    }
+
+    @Test
+    void getTransactionsByVendorId_AfterCursor() {
+        Transaction lastOfApril = transactions.get(APRIL_COUNT - 1);
+        String after = TransactionCursor.of(lastOfApril).encode();
+
+        List<TransactionDTO> returnedTransactions = streamTransactions("/api/vendors/"
+                + lastOfApril.getVendor().getId() + "/transactions?after=" + after);
+
+        assertEquals(MAY_COUNT, returnedTransactions.size());
+        assertEquals(transactions.get(APRIL_COUNT).getId(), returnedTransactions.get(0).getId());
+    }
+
+    @Test
+    void getTransactionsByCategoryId_NotFound() {
+        webTestClient.get().uri("/api/categories/{id}/transactions", 999)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Category 999 not found!");
+    }
+
+    @Test
+    void getTransactionsByCategoryId_InvalidId() {
+        webTestClient.get().uri("/api/categories/abc/transactions")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid value 'abc' for id")
+                .jsonPath("$.path").isEqualTo("/api/categories/abc/transactions");
+    }
+
+    @Test
+    void getTransactions_InvalidYear() {
+        webTestClient.get().uri("/api/transactions?year=abc")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid value 'abc' for year");
+    }
+
+    @Test
+    void getTransactionsByPaymentMethodId_ReportsCurrency() {
+        PaymentMethod dollarCard = new PaymentMethod("Stream Dollar Card", PaymentType.CREDIT_CARD);
+        dollarCard.setCurrency(Currency.getInstance("USD"));
+        dollarCard = paymentMethodRepository.save(dollarCard);
+
+        Transaction template = transactions.get(0);
+        transactionRepository.save(new Transaction(Money.of(new BigDecimal("12.34"), dollarCard.getCurrency()),
+                template.getDate(), "Stream Dollar", category, dollarCard, template.getVendor(), new HashSet<>()));
+
+        List<TransactionDTO> returnedTransactions = streamTransactions("/api/payment-methods/" + dollarCard.getId() + "/transactions");
+
+        assertEquals(1, returnedTransactions.size());
+        assertEquals(Currency.getInstance("USD"), returnedTransactions.get(0).getPaymentMethod().getCurrency());
+        assertEquals(Money.DEFAULT_CURRENCY, streamTransactions("/api/transactions?year=2023&month=5").get(0)
+                .getPaymentMethod().getCurrency());
+    }
+
+    @Test
+    void getTransactionsByTagId() {
+        List<TransactionDTO> returnedTransactions = streamTransactions("/api/tags/" + tag.getId() + "/transactions");
+
+        assertEquals((transactions.size() + 1) / 2, returnedTransactions.size());
+        returnedTransactions.forEach(transaction -> assertEquals(1, transaction.getTags().size()));
+    }
+
+    @Test
+    void getTransactionsByTagId_ByMonthAfterCursor() {
+        String after = TransactionCursor.of(transactions.get(APRIL_COUNT)).encode();
+
+        List<TransactionDTO> returnedTransactions = streamTransactions("/api/tags/" + tag.getId()
+                + "/transactions?year=2023&month=5&after=" + after);
+
+        //Tagged May transactions past the first one
+        assertEquals((int) IntStream.range(APRIL_COUNT + 1, APRIL_COUNT + MAY_COUNT).filter(i -> i % 2 == 0).count(),
+                returnedTransactions.size());
+    }
+
+    @Test
+    void getTransactionsByPaymentMethodId_ByYear() {
+        Integer paymentMethodId = transactions.get(0).getPaymentMethod().getId();
+
+        assertEquals(transactions.size(), streamTransactions("/api/payment-methods/" + paymentMethodId
+                + "/transactions?year=2023").size());
+        assertEquals(0, streamTransactions("/api/payment-methods/" + paymentMethodId
+                + "/transactions?year=2022").size());
+    }
+
+    @Test
+    void getTransactions_AsJsonArray() {
+        webTestClient.get().uri("/api/transactions?year=2023&month=5")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(MAY_COUNT);
+    }
+
+
+    private List<TransactionDTO> streamTransactions(String uri) {
+        return webTestClient.get().uri(uri)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TransactionDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mmussatto.expensetracker.ExpenseTrackerApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives mixed read and write traffic against every controller of the application and checks the latency
+ * of each endpoint against the SLOs in load-slo.properties. The application runs on an in-memory H2 database,
+ * or on the database given by load.datasource.url (with load.datasource.username and load.datasource.password),
+ * and is seeded by the DataLoader with a generated dataset of load.transactions transactions (an already seeded
+ * database is reused as it is).
+ * <p>
+ * Excluded from the regular build, run it with {@code mvn test -P load-test -Dtest=EndpointLoadTest}. The run is
+ * tuned with the load.transactions, load.concurrency, load.warmup and load.duration (seconds) system properties,
+ * and each endpoint's share of the traffic with load.weight.&lt;endpoint&gt;. The results are printed and written
+ * to target/load-tests/endpoint-report.csv.
+ */
+@Tag("load")
+class EndpointLoadTest {
+
+    private static final int TRANSACTIONS = Integer.getInteger("load.transactions", 200_000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 32);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup", 15);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration", 60);
+    private static final long SEED = Long.getLong("load.seed", 42L);
+
+    private static final Path REPORT = Paths.get("target", "load-tests", "endpoint-report.csv");
+
+    private static ConfigurableApplicationContext context;
+    private static LoadDataset dataset;
+    private static String baseUrl;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    //Transactions created by this run, the only ones it deletes
+    private final Queue<Integer> createdTransactionIds = new ConcurrentLinkedQueue<>();
+
+    @BeforeAll
+    static void startApplication() {
+        List<String> args = new ArrayList<>(Arrays.asList(
+                "--server.port=0",
+                "--expensetracker.sample-data.enabled=true",
+                "--expensetracker.sample-data.transactions=" + TRANSACTIONS,
+                "--expensetracker.sample-data.seed=" + SEED,
+                "--expensetracker.sample-data.categories=40",
+                "--expensetracker.sample-data.payment-methods=8",
+                "--expensetracker.sample-data.vendors=200",
+                "--expensetracker.sample-data.tags=30",
+                "--spring.jmx.enabled=false",
+                "--logging.level.root=WARN"));
+
+        String url = System.getProperty("load.datasource.url");
+        if (url != null) {
+            args.add("--spring.datasource.url=" + url);
+            args.add("--spring.datasource.username=" + System.getProperty("load.datasource.username", ""));
+            args.add("--spring.datasource.password=" + System.getProperty("load.datasource.password", ""));
+        } else {
+            args.add("--spring.datasource.url=jdbc:h2:mem:load-endpoints;DB_CLOSE_DELAY=-1");
+        }
+
+        long started = System.nanoTime();
+        context = new SpringApplicationBuilder(ExpenseTrackerApplication.class).run(args.toArray(new String[0]));
+        baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+        dataset = LoadDataset.read(context);
+        System.out.printf("Dataset ready with %d transactions in %d s%n", dataset.transactionIds.length,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+    }
+
+    @AfterAll
+    static void stopApplication() {
+        if (context != null)
+            context.close();
+    }
+
+
+    @Test
+    void mixedTrafficMeetsSlos() throws Exception {
+        List<Endpoint> endpoints = endpoints();
+
+        run(endpoints, WARMUP_SECONDS);
+        endpoints.forEach(Endpoint::reset);
+        long elapsed = run(endpoints, DURATION_SECONDS);
+
+        report(endpoints, elapsed);
+        checkSlos(endpoints, loadSlos());
+    }
+
+
+    // -------------- Traffic ----------------------------
+    private List<Endpoint> endpoints() {
+        int year = dataset.end.getYear() - 1;
+        String lastYear = "from=" + LocalDate.of(year, 1, 1) + "&to=" + LocalDate.of(year, 12, 31);
+
+        List<Endpoint> endpoints = new ArrayList<>();
+
+        //Transactions
+        endpoints.add(get("transactions.page", 12, "/api/transactions", r -> "/api/transactions?page=" + r.nextInt(10) + "&size=20"));
+        endpoints.add(get("transactions.month", 8, "/api/transactions?year&month", r -> {
+            LocalDate month = LocalDate.of(year, 1 + r.nextInt(12), 1);
+            return "/api/transactions?year=" + month.getYear() + "&month=" + month.getMonthValue() + "&page=0&size=20";
+        }));
+        endpoints.add(get("transactions.cursor", 6, "/api/transactions?after", r -> "/api/transactions?after=&size=20"));
+        endpoints.add(get("transactions.compact", 6, "/api/transactions?view=compact", r -> "/api/transactions?view=compact&page=" + r.nextInt(10) + "&size=50"));
+        endpoints.add(get("transactions.get", 15, "/api/transactions/{id}",
+                r -> "/api/transactions/" + dataset.transactionIds[r.nextInt(dataset.transactionIds.length)]));
+        endpoints.add(new Endpoint("transactions.create", 6, "POST", "/api/transactions", this::createTransaction));
+        endpoints.add(new Endpoint("transactions.update", 3, "PATCH", "/api/transactions/{id}", r -> send(HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/api/transactions/" + dataset.transactionIds[r.nextInt(dataset.transactionIds.length)]))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"description\":\"Patched " + r.nextInt() + "\"}")))));
+        endpoints.add(new Endpoint("transactions.delete", 2, "DELETE", "/api/transactions/{id}", this::deleteTransaction));
+
+        //References and their transactions
+        addReferenceEndpoints(endpoints, "categories", dataset.categoryIds);
+        addReferenceEndpoints(endpoints, "payment-methods", dataset.paymentMethodIds);
+        addReferenceEndpoints(endpoints, "vendors", dataset.vendorIds);
+        addReferenceEndpoints(endpoints, "tags", dataset.tagIds);
+        endpoints.add(new Endpoint("tags.create", 1, "POST", "/api/tags", r -> send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/tags"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Load " + UUID.randomUUID() + "\",\"color\":\"RED\"}")))));
+
+        //Summaries, whole months so the rollup is used
+        endpoints.add(get("summaries.months", 3, "/api/summaries/months", r -> "/api/summaries/months?" + lastYear));
+        endpoints.add(get("summaries.categories", 3, "/api/summaries/categories", r -> "/api/summaries/categories?" + lastYear));
+        endpoints.add(get("summaries.vendors", 2, "/api/summaries/vendors", r -> "/api/summaries/vendors?" + lastYear));
+        endpoints.add(get("summaries.tags", 1, "/api/summaries/tags", r -> "/api/summaries/tags?" + lastYear));
+
+        endpoints.removeIf(endpoint -> endpoint.weight <= 0);
+        return endpoints;
+    }
+
+    private void addReferenceEndpoints(List<Endpoint> endpoints, String resource, List<Integer> ids) {
+        String path = "/api/" + resource;
+        endpoints.add(get(resource + ".list", 2, path, r -> path));
+        endpoints.add(get(resource + ".get", 3, path + "/{id}", r -> path + "/" + LoadDataset.any(r, ids)));
+        endpoints.add(get(resource + ".transactions", 3, path + "/{id}/transactions",
+                r -> path + "/" + LoadDataset.any(r, ids) + "/transactions?page=0&size=20"));
+    }
+
+    private Endpoint get(String name, int weight, String path, Function<Random, String> uri) {
+        return new Endpoint(name, weight, "GET", path,
+                r -> send(HttpRequest.newBuilder(URI.create(baseUrl + uri.apply(r))).GET()));
+    }
+
+    private boolean createTransaction(Random random) throws Exception {
+        String body = String.format(Locale.ROOT, "{\"amount\":%.2f,\"date\":\"%s\",\"description\":\"Load write\"," +
+                        "\"categoryId\":%d,\"paymentMethodId\":%d,\"vendorId\":%d,\"tagIds\":[%d]}",
+                1 + random.nextDouble() * 200, dataset.end.minusDays(random.nextInt(365)),
+                LoadDataset.any(random, dataset.categoryIds), LoadDataset.any(random, dataset.paymentMethodIds),
+                LoadDataset.any(random, dataset.vendorIds), LoadDataset.any(random, dataset.tagIds));
+
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/transactions"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+
+        if (response.statusCode() != 201)
+            return false;
+
+        createdTransactionIds.add(objectMapper.readTree(response.body()).get("id").asInt());
+        return true;
+    }
+
+    private boolean deleteTransaction(Random random) throws Exception {
+        Integer id = createdTransactionIds.poll();
+
+        //Nothing created yet to delete, so create instead of shrinking the dataset
+        if (id == null)
+            return createTransaction(random);
+
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/transactions/" + id)).DELETE());
+    }
+
+    private boolean send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+    }
+
+    private long run(List<Endpoint> endpoints, int seconds) throws InterruptedException {
+        int totalWeight = endpoints.stream().mapToInt(endpoint -> endpoint.weight).sum();
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+
+        for (int i = 0; i < CONCURRENCY; i++) {
+            clients.execute(() -> {
+                Random random = ThreadLocalRandom.current();
+
+                while (System.nanoTime() < deadline) {
+                    Endpoint endpoint = pick(endpoints, random.nextInt(totalWeight));
+
+                    long sent = System.nanoTime();
+                    boolean success = false;
+                    try {
+                        success = endpoint.call.apply(random);
+                    } catch (Exception exception) {
+                        //Counted as an error
+                    } finally {
+                        endpoint.recorder.record(System.nanoTime() - sent, success);
+                    }
+                }
+            });
+        }
+
+        clients.shutdown();
+        clients.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        return System.nanoTime() - start;
+    }
+
+    private static Endpoint pick(List<Endpoint> endpoints, int value) {
+        for (Endpoint endpoint : endpoints) {
+            value -= endpoint.weight;
+            if (value < 0)
+                return endpoint;
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+
+    // -------------- Reporting ----------------------------
+    private void report(List<Endpoint> endpoints, long elapsed) throws IOException {
+        Files.createDirectories(REPORT.getParent());
+
+        int total = endpoints.stream().mapToInt(endpoint -> endpoint.recorder.count()).sum();
+        System.out.printf("%n%d requests in %d s, %.1f req/s with %d clients%n", total,
+                TimeUnit.NANOSECONDS.toSeconds(elapsed), total / (elapsed / 1e9), CONCURRENCY);
+        System.out.printf("%-26s %-6s %-36s %9s %9s %9s %9s %9s %7s%n",
+                "endpoint", "method", "path", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(REPORT))) {
+            csv.println("endpoint,method,path,requests,throughput,p50_ms,p99_ms,p999_ms,max_ms,errors");
+
+            for (Endpoint endpoint : endpoints) {
+                LatencyRecorder recorder = endpoint.recorder;
+                System.out.printf(Locale.ROOT, "%-26s %-6s %-36s %9d %9.1f %9.2f %9.2f %9.2f %7d%n",
+                        endpoint.name, endpoint.method, endpoint.path, recorder.count(), recorder.throughput(elapsed),
+                        recorder.percentileMillis(0.50), recorder.percentileMillis(0.99),
+                        recorder.percentileMillis(0.999), recorder.errors());
+                csv.printf(Locale.ROOT, "%s,%s,%s,%d,%.2f,%.3f,%.3f,%.3f,%.3f,%d%n",
+                        endpoint.name, endpoint.method, endpoint.path, recorder.count(), recorder.throughput(elapsed),
+                        recorder.percentileMillis(0.50), recorder.percentileMillis(0.99),
+                        recorder.percentileMillis(0.999), recorder.maxMillis(), recorder.errors());
+            }
+        }
+
+        System.out.println("Report written to " + REPORT.toAbsolutePath());
+    }
+
+    private static Properties loadSlos() throws IOException {
+        Properties slos = new Properties();
+        try (InputStream input = EndpointLoadTest.class.getResourceAsStream("/load-slo.properties")) {
+            slos.load(input);
+        }
+
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith("load.slo."))
+                .forEach(key -> slos.setProperty(key.substring("load.slo.".length()), System.getProperty(key)));
+
+        return slos;
+    }
+
+    private static void checkSlos(List<Endpoint> endpoints, Properties slos) {
+        List<Executable> checks = new ArrayList<>();
+
+        for (Endpoint endpoint : endpoints) {
+            LatencyRecorder recorder = endpoint.recorder;
+            if (recorder.count() == 0)
+                continue;
+
+            checkLatency(checks, slos, endpoint, "p50", recorder.percentileMillis(0.50));
+            checkLatency(checks, slos, endpoint, "p99", recorder.percentileMillis(0.99));
+            checkLatency(checks, slos, endpoint, "p999", recorder.percentileMillis(0.999));
+
+            double maxErrorRate = Double.parseDouble(slo(slos, endpoint.name, "error-rate"));
+            checks.add(() -> assertTrue(recorder.errorRate() <= maxErrorRate, String.format(Locale.ROOT,
+                    "%s error rate %.4f is above the SLO of %.4f", endpoint.name, recorder.errorRate(), maxErrorRate)));
+        }
+
+        assertAll("SLOs", checks);
+    }
+
+    private static void checkLatency(List<Executable> checks, Properties slos, Endpoint endpoint, String percentile, double millis) {
+        double limit = Double.parseDouble(slo(slos, endpoint.name, percentile));
+
+        checks.add(() -> assertTrue(millis <= limit, String.format(Locale.ROOT,
+                "%s %s latency %.2f ms is above the SLO of %.0f ms", endpoint.name, percentile, millis, limit)));
+    }
+
+    private static String slo(Properties slos, String endpoint, String key) {
+        return slos.getProperty(endpoint + "." + key, slos.getProperty("default." + key));
+    }
+
+
+    private static class Endpoint {
+
+        private final String name;
+        private final int weight;
+        private final String method;
+        private final String path;
+        private final Call call;
+        private LatencyRecorder recorder = new LatencyRecorder();
+
+        Endpoint(String name, int weight, String method, String path, Call call) {
+            this.name = name;
+            this.weight = Integer.getInteger("load.weight." + name, weight);
+            this.method = method;
+            this.path = path;
+            this.call = call;
+        }
+
+        void reset() {
+            recorder = new LatencyRecorder();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        boolean apply(Random random) throws Exception;
+    }
+}
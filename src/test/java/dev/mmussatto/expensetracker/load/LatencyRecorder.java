@@ -0,0 +1,60 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.load;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one kind of request, recorded from many client threads. Every sample is kept, so the
+ * percentiles are exact.
+ */
+class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    synchronized void record(long latencyNanos, boolean success) {
+        if (count == latencies.length)
+            latencies = Arrays.copyOf(latencies, count * 2);
+
+        latencies[count++] = latencyNanos;
+        if (!success)
+            errors++;
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    synchronized int errors() {
+        return errors;
+    }
+
+    synchronized double errorRate() {
+        return count == 0 ? 0 : (double) errors / count;
+    }
+
+    double throughput(long elapsedNanos) {
+        return count() / (elapsedNanos / 1e9);
+    }
+
+    //Nearest-rank percentile in milliseconds, 0 when nothing was recorded
+    synchronized double percentileMillis(double percentile) {
+        if (count == 0)
+            return 0;
+
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return sorted[Math.max(0, (int) Math.ceil(percentile * count) - 1)] / 1e6;
+    }
+
+    synchronized double maxMillis() {
+        long max = 0;
+        for (int i = 0; i < count; i++)
+            max = Math.max(max, latencies[i]);
+        return max / 1e6;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.load;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Ids of the dataset the DataLoader generated at startup, so requests can target existing references and
+ * transactions. The transactions span the years up to today.
+ */
+class LoadDataset {
+
+    final List<Integer> categoryIds;
+    final List<Integer> paymentMethodIds;
+    final List<Integer> vendorIds;
+    final List<Integer> tagIds;
+    final int[] transactionIds;
+    final LocalDateTime end;
+
+    private LoadDataset(ApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        this.categoryIds = jdbcTemplate.queryForList("select id from category", Integer.class);
+        this.paymentMethodIds = jdbcTemplate.queryForList("select id from payment_method", Integer.class);
+        this.vendorIds = jdbcTemplate.queryForList("select id from vendor", Integer.class);
+        this.tagIds = jdbcTemplate.queryForList("select id from tag", Integer.class);
+        this.transactionIds = jdbcTemplate.queryForList("select id from transaction", Integer.class)
+                .stream().mapToInt(Integer::intValue).toArray();
+        this.end = LocalDateTime.now().withNano(0);
+    }
+
+
+    static LoadDataset read(ApplicationContext context) {
+        return new LoadDataset(context);
+    }
+
+    static <T> T any(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Created by murilo.mussatto on 17/10/2026
+ */
+
+package dev.mmussatto.expensetracker.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mmussatto.expensetracker.ExpenseTrackerApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the default platform thread pool with the virtual-threads profile on the transaction list and
+ * create endpoints. Each mode boots the application on a random port with its own in-memory database and
+ * the same Hikari pool, so the only difference between the runs is the thread model.
+ * <p>
+ * Excluded from the regular build, run it with {@code mvn test -P load-test}. The load is tuned with the
+ * load.requests, load.concurrency and load.pool-size system properties.
+ */
+@Tag("load")
+class ThreadModeLoadTest {
+
+    private static final int REQUESTS = Integer.getInteger("load.requests", 2000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 200);
+    private static final int POOL_SIZE = Integer.getInteger("load.pool-size", 20);
+
+    private static final Map<String, Result> results = new LinkedHashMap<>();
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void platformThreads() throws Exception {
+        run("platform");
+    }
+
+    @Test
+    void virtualThreads() throws Exception {
+        assumeTrue(virtualThreadsAvailable(), "virtual threads are not available on this JVM");
+        run("virtual-threads");
+    }
+
+    @AfterAll
+    static void printComparison() {
+        System.out.printf("%n%-16s %-6s %10s %10s %10s %10s %8s%n",
+                "mode", "method", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        results.forEach((name, result) -> System.out.println(result.format(name)));
+    }
+
+
+    private void run(String mode) throws Exception {
+        List<String> args = new ArrayList<>(Arrays.asList(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "--spring.jmx.enabled=false",
+                "--logging.level.root=WARN"));
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ExpenseTrackerApplication.class);
+        if (!"platform".equals(mode))
+            builder.profiles(mode);
+
+        try (ConfigurableApplicationContext context = builder.run(args.toArray(new String[0]))) {
+            String baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String transactionBody = seedReferences(baseUrl);
+
+            IntFunction<HttpRequest> post = i -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/transactions"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(transactionBody)).build();
+            IntFunction<HttpRequest> get = i -> HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/api/transactions?page=" + (i % 10) + "&size=20")).GET().build();
+
+            //Warm up the JIT and the connection pool, and leave enough rows for the list pages
+            fire(post, REQUESTS / 10);
+            fire(get, REQUESTS / 10);
+
+            Result posts = fire(post, REQUESTS);
+            Result gets = fire(get, REQUESTS);
+            results.put(mode + " POST", posts);
+            results.put(mode + " GET", gets);
+
+            assertEquals(0, posts.recorder.errors(), "POST requests failed in " + mode + " mode");
+            assertEquals(0, gets.recorder.errors(), "GET requests failed in " + mode + " mode");
+        }
+    }
+
+    private String seedReferences(String baseUrl) throws Exception {
+        int categoryId = create(baseUrl + "/api/categories", "{\"name\":\"Load\",\"color\":\"BLUE\"}");
+        int paymentMethodId = create(baseUrl + "/api/payment-methods", "{\"name\":\"Load\",\"type\":\"CASH\"}");
+        int vendorId = create(baseUrl + "/api/vendors", "{\"name\":\"Load\",\"url\":\"load.example.com\"}");
+        int tagId = create(baseUrl + "/api/tags", "{\"name\":\"Load\",\"color\":\"GREEN\"}");
+
+        return "{\"amount\":12.5,\"date\":\"2026-10-17T08:30:00\",\"description\":\"Load test\","
+                + "\"categoryId\":" + categoryId + ",\"paymentMethodId\":" + paymentMethodId
+                + ",\"vendorId\":" + vendorId + ",\"tagIds\":[" + tagId + "]}";
+    }
+
+    private int create(String url, String body) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(201, response.statusCode(), response.body());
+        JsonNode json = objectMapper.readTree(response.body());
+        return json.get("id").asInt();
+    }
+
+    private Result fire(IntFunction<HttpRequest> requests, int count) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        CountDownLatch done = new CountDownLatch(count);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            clients.execute(() -> {
+                long sent = System.nanoTime();
+                boolean success = false;
+                try {
+                    HttpResponse<Void> response = client.send(requests.apply(index), HttpResponse.BodyHandlers.discarding());
+                    success = response.statusCode() < 400;
+                } catch (Exception exception) {
+                    //Counted as an error
+                } finally {
+                    recorder.record(System.nanoTime() - sent, success);
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        clients.shutdown();
+        return new Result(recorder, elapsed);
+    }
+
+    private static boolean virtualThreadsAvailable() {
+        try {
+            ((ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null)).shutdown();
+            return true;
+        } catch (ReflectiveOperationException exception) {
+            return false;
+        }
+    }
+
+
+    private static class Result {
+
+        private final LatencyRecorder recorder;
+        private final long elapsed;
+
+        Result(LatencyRecorder recorder, long elapsed) {
+            this.recorder = recorder;
+            this.elapsed = elapsed;
+        }
+
+        String format(String name) {
+            String[] parts = name.split(" ");
+            return String.format("%-16s %-6s %10.1f %10.2f %10.2f %10.2f %8d", parts[0], parts[1],
+                    recorder.throughput(elapsed), recorder.percentileMillis(0.50), recorder.percentileMillis(0.99),
+                    recorder.maxMillis(), recorder.errors());
+        }
+    }
+}
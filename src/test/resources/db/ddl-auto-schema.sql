@@ -0,0 +1,18 @@
+-- Schema ddl-auto=update created from the entities before the Flyway migrations, for the H2 migration tests.
+-- Identity ids everywhere, double amounts, no id sequence and no rollup table.
+
+create table category (id integer generated by default as identity, color varchar(255) not null, name varchar(255) not null, primary key (id));
+create table online_store (url varchar(255), id integer not null, primary key (id));
+create table payment_method (id integer generated by default as identity, name varchar(255) not null, type varchar(255) not null, primary key (id));
+create table physical_store (address varchar(255), id integer not null, primary key (id));
+create table tag (id integer generated by default as identity, color varchar(255) not null, name varchar(255) not null, primary key (id));
+create table transaction (id integer generated by default as identity, amount float(53) not null, date timestamp(6) not null, description TEXT, category_id integer not null, payment_method_id integer not null, vendor_id integer not null, primary key (id));
+create table transaction_tags (transaction_id integer not null, tag_id integer not null, primary key (transaction_id, tag_id));
+create table vendor (id integer generated by default as identity, name varchar(255) not null, primary key (id));
+alter table if exists online_store add constraint FK3d5gkg8b5ab0hsxfp1bp3uqc7 foreign key (id) references vendor;
+alter table if exists physical_store add constraint FKjw1mevxbhdxd0qno8i6r7yrgx foreign key (id) references vendor;
+alter table if exists transaction add constraint FKlec8w0x82bmwevw3ka1y9gcxd foreign key (category_id) references category;
+alter table if exists transaction add constraint FKsb4e1iimj1d2eg6qjgsk5iaa3 foreign key (payment_method_id) references payment_method;
+alter table if exists transaction add constraint FK1ej4tmbkhoc4c9fnuntdhtjvu foreign key (vendor_id) references vendor;
+alter table if exists transaction_tags add constraint FK5eqpx6q3tcdnnnijy4kp6e2rt foreign key (tag_id) references tag;
+alter table if exists transaction_tags add constraint FKo8pui6l0ku9j23n2oicmo0p0f foreign key (transaction_id) references transaction;